@@ -0,0 +1,198 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import hudson.EnvVars;
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.console.LineTransformationOutputStream;
+import hudson.util.ArgumentListBuilder;
+import jenkins.util.SystemProperties;
+
+/**
+ * Lists the specifications of a repository by running the CLI <code>list</code> command.
+ * <p>
+ * The command prints one <code>name type</code> line per specification, optionally followed by the tags of the
+ * specification as <code>tags=tag1,tag2</code>, preceded by a <code>Revision:</code> line.
+ * When a revision is passed and the repository has not changed since, it prints <code>Not modified</code> instead of
+ * the specifications.
+ * <p>
+ * The command, its <code>-revision</code> option and its output are not documented for any released CLI. Listing is
+ * only attempted with a CLI of at least the <code>minimumRelease</code> system property, and a CLI that exits with an
+ * error without printing a <code>Revision:</code> line is taken not to support the command. In both cases a
+ * <code>ListingUnsupportedException</code> is thrown and the specifications are not discovered.
+ */
+public class CLISpecificationSource implements ISpecificationSource, IExecutionCommandArguments {
+
+	private static final String LIST_COMMAND = "list"; //$NON-NLS-1$
+	private static final String REVISION_PREFIX = "Revision:"; //$NON-NLS-1$
+	private static final String NOT_MODIFIED = "Not modified"; //$NON-NLS-1$
+	private static final String TAGS_PREFIX = "tags="; //$NON-NLS-1$
+
+	/**
+	 * The first CLI release listing specifications.
+	 */
+	public static final String MINIMUM_RELEASE = SystemProperties.getString(CLISpecificationSource.class.getName() + ".minimumRelease", //$NON-NLS-1$
+			TEDExecutionRunnerUtils.TED_MINIMUM_CLI_VERSION);
+
+	private final Launcher launcher;
+	private final FilePath cliScriptPath;
+	private final ArgumentListBuilder connectionArgs;
+	private final EnvVars env;
+	private final FilePath workDir;
+	private final String scope;
+	private final Charset charset;
+	private volatile boolean supported;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param launcher
+	 *            The launcher to run the CLI with.
+	 * @param cliScriptPath
+	 *            The path of the CLI script.
+	 * @param connectionArgs
+	 *            The arguments the CLI needs to connect to the execution server.
+	 * @param env
+	 *            The environment of the build.
+	 * @param workDir
+	 *            The working directory of the CLI.
+	 * @param scope
+	 *            The scope of the listings, identifying the execution server.
+	 * @param charset
+	 *            The charset of the output of the CLI, the one of the node.
+	 * @param supported
+	 *            If the CLI is at least <code>MINIMUM_RELEASE</code>.
+	 */
+	public CLISpecificationSource(Launcher launcher, FilePath cliScriptPath, ArgumentListBuilder connectionArgs, EnvVars env,
+			FilePath workDir, String scope, Charset charset, boolean supported) {
+		this.launcher = launcher;
+		this.cliScriptPath = cliScriptPath;
+		this.connectionArgs = connectionArgs;
+		this.env = env;
+		this.workDir = workDir;
+		this.scope = scope;
+		this.charset = charset;
+		this.supported = supported;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see com.compuware.jenkins.ted.ISpecificationSource#getScope()
+	 */
+	@Override
+	public String getScope() {
+		return scope;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see com.compuware.jenkins.ted.ISpecificationSource#list(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public SpecificationListing list(String repositoryName, String revision) throws IOException, InterruptedException {
+		if (!supported) {
+			throw new ListingUnsupportedException("The Topaz Workbench CLI does not list the specifications of a repository"); //$NON-NLS-1$
+		}
+
+		ArgumentListBuilder args = new ArgumentListBuilder();
+		args.add(cliScriptPath.getRemote());
+		args.add(COMMAND[1]).add(LIST_COMMAND);
+		args.add(REPOSITORY[1]).add(TEDExecutionRunnerUtils.escapeForScript(repositoryName));
+		if (revision != null) {
+			args.add(REVISION[1]).add(revision);
+		}
+		TEDExecutionRunnerUtils.appendArguments(args, connectionArgs, false);
+
+		ListingParser parser = new ListingParser(charset);
+		int exitValue;
+		try {
+			exitValue = launcher.launch().cmds(args).envs(env).stdout(parser).pwd(workDir).quiet(true).join();
+		} finally {
+			parser.close();
+		}
+
+		if (exitValue != 0 && parser.revision == null && !parser.notModified) {
+			supported = false;
+			throw new ListingUnsupportedException("The Topaz Workbench CLI does not list the specifications of a repository, " //$NON-NLS-1$
+					+ "the list command exited with exit value = " + exitValue); //$NON-NLS-1$
+		}
+		if (exitValue != 0) {
+			throw new IOException("Unable to list the specifications of repository " + repositoryName //$NON-NLS-1$
+					+ ", CLI exited with exit value = " + exitValue); //$NON-NLS-1$
+		}
+		if (parser.notModified) {
+			return null;
+		}
+
+		return new SpecificationListing(repositoryName, parser.revision, parser.specifications, parser.taggedSpecifications);
+	}
+
+	/**
+	 * Parses the output of the <code>list</code> command line by line.
+	 */
+	private static class ListingParser extends LineTransformationOutputStream {
+		private final Map<SpecificationType, SortedSet<String>> specifications = new EnumMap<>(SpecificationType.class);
+		private final Map<String, List<Specification>> taggedSpecifications = new HashMap<>();
+		private final Charset charset;
+		private String revision;
+		private boolean notModified;
+
+		ListingParser(Charset charset) {
+			this.charset = charset;
+		}
+
+		@Override
+		protected void eol(byte[] b, int len) throws IOException {
+			String line = trimEOL(new String(b, 0, len, charset)).trim();
+
+			if (line.startsWith(REVISION_PREFIX)) {
+				revision = line.substring(REVISION_PREFIX.length()).trim();
+			} else if (line.equalsIgnoreCase(NOT_MODIFIED)) {
+				notModified = true;
+			} else {
+				String[] tokens = line.split("\\s+"); //$NON-NLS-1$
+				boolean tagged = tokens.length == 3 && tokens[2].startsWith(TAGS_PREFIX);
+				SpecificationType type = tokens.length == 2 || tagged ? SpecificationType.fromValue(tokens[1]) : null;
+				if (type != null) {
+					specifications.computeIfAbsent(type, t -> new TreeSet<>()).add(tokens[0]);
+				}
+				if (type != null && tagged) {
+					Specification specification = new Specification(tokens[0], type);
+					for (String tag : tokens[2].substring(TAGS_PREFIX.length()).split(",")) { //$NON-NLS-1$
+						if (!tag.isEmpty()) {
+							taggedSpecifications.computeIfAbsent(tag, t -> new ArrayList<>()).add(specification);
+						}
+					}
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,201 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A range of CLI versions, as a comma separated list of conditions which all have to hold: <code>&gt;=20.09.03</code>,
+ * <code>&gt;20.09</code>, <code>&lt;=21.01</code>, <code>&lt;21</code>, an exact version such as <code>20.09.03</code>,
+ * or a version prefix such as <code>20.09.*</code>. Versions are compared part by part, numerically. Parts mixing digits
+ * and letters are compared run by run, the runs of digits numerically, so <code>1a</code> is lower than <code>1b</code>
+ * and <code>10</code>.
+ */
+public final class CLIVersionRange {
+
+	private static final Pattern RUN = Pattern.compile("[0-9]+|[^0-9]+"); //$NON-NLS-1$
+
+	private static final Pattern CONDITION = Pattern.compile("(>=|<=|>|<|=)?\\s*([0-9][0-9A-Za-z.-]*?)(\\.\\*)?"); //$NON-NLS-1$
+
+	private final String text;
+	private final List<String[]> conditions;
+
+	private CLIVersionRange(String text, List<String[]> conditions) {
+		this.text = text;
+		this.conditions = conditions;
+	}
+
+	/**
+	 * Parses a range.
+	 * 
+	 * @param text
+	 *            The range.
+	 * 
+	 * @return The <code>CLIVersionRange</code>, or <code>null</code> if the text is blank
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the text is not a range.
+	 */
+	public static CLIVersionRange parse(String text) {
+		if (text == null || text.trim().isEmpty()) {
+			return null;
+		}
+		List<String[]> conditions = new ArrayList<>();
+		for (String condition : text.split(",")) { //$NON-NLS-1$
+			Matcher matcher = CONDITION.matcher(condition.trim());
+			if (!matcher.matches()) {
+				throw new IllegalArgumentException("Invalid CLI version range: " + text); //$NON-NLS-1$
+			}
+			String operator = matcher.group(3) != null ? "*" : matcher.group(1) != null ? matcher.group(1) : "="; //$NON-NLS-1$ //$NON-NLS-2$
+			if (matcher.group(3) != null && matcher.group(1) != null) {
+				throw new IllegalArgumentException("Invalid CLI version range: " + text); //$NON-NLS-1$
+			}
+			conditions.add(new String[] { operator, matcher.group(2) });
+		}
+		return new CLIVersionRange(text.trim(), conditions);
+	}
+
+	/**
+	 * Returns if a version is in the range.
+	 * 
+	 * @param version
+	 *            The version.
+	 * 
+	 * @return <code>boolean</code>
+	 */
+	public boolean matches(String version) {
+		if (version == null) {
+			return false;
+		}
+		for (String[] condition : conditions) {
+			int comparison = compare(version, condition[1]);
+			boolean holds;
+			switch (condition[0]) {
+			case ">=": //$NON-NLS-1$
+				holds = comparison >= 0;
+				break;
+			case ">": //$NON-NLS-1$
+				holds = comparison > 0;
+				break;
+			case "<=": //$NON-NLS-1$
+				holds = comparison <= 0;
+				break;
+			case "<": //$NON-NLS-1$
+				holds = comparison < 0;
+				break;
+			case "*": //$NON-NLS-1$
+				holds = compare(getPrefix(version, condition[1].split("[.-]").length), condition[1]) == 0; //$NON-NLS-1$
+				break;
+			default:
+				holds = comparison == 0;
+				break;
+			}
+			if (!holds) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Compares two versions part by part, numerically when both parts are numbers, whatever their length. Missing parts
+	 * count as zero, so <code>21</code> equals <code>21.00.00</code>.
+	 * 
+	 * @param a
+	 *            A version.
+	 * @param b
+	 *            Another version.
+	 * 
+	 * @return A negative number, zero or a positive number as the first version is lower, equal or higher
+	 */
+	public static int compare(String a, String b) {
+		String[] partsA = a.split("[.-]"); //$NON-NLS-1$
+		String[] partsB = b.split("[.-]"); //$NON-NLS-1$
+		for (int i = 0; i < Math.max(partsA.length, partsB.length); i++) {
+			String partA = i < partsA.length ? partsA[i] : "0"; //$NON-NLS-1$
+			String partB = i < partsB.length ? partsB[i] : "0"; //$NON-NLS-1$
+			int comparison = comparePart(partA, partB);
+			if (comparison != 0) {
+				return comparison;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Compares two parts run by run, the runs of digits numerically and the other runs as text.
+	 */
+	private static int comparePart(String a, String b) {
+		Matcher runsA = RUN.matcher(a);
+		Matcher runsB = RUN.matcher(b);
+		while (true) {
+			boolean foundA = runsA.find();
+			boolean foundB = runsB.find();
+			if (!foundA || !foundB) {
+				return Boolean.compare(foundA, foundB);
+			}
+			String runA = runsA.group();
+			String runB = runsB.group();
+			int comparison = isDigit(runA.charAt(0)) && isDigit(runB.charAt(0)) ? compareNumbers(runA, runB) : runA.compareTo(runB);
+			if (comparison != 0) {
+				return comparison;
+			}
+		}
+	}
+
+	/**
+	 * Compares two numbers of any length, without parsing them.
+	 */
+	private static int compareNumbers(String a, String b) {
+		String numberA = stripLeadingZeros(a);
+		String numberB = stripLeadingZeros(b);
+		if (numberA.length() != numberB.length()) {
+			return Integer.compare(numberA.length(), numberB.length());
+		}
+		return numberA.compareTo(numberB);
+	}
+
+	private static String stripLeadingZeros(String number) {
+		int start = 0;
+		while (start < number.length() - 1 && number.charAt(start) == '0') {
+			start++;
+		}
+		return number.substring(start);
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private static String getPrefix(String version, int parts) {
+		String[] versionParts = version.split("[.-]"); //$NON-NLS-1$
+		StringBuilder prefix = new StringBuilder();
+		for (int i = 0; i < Math.min(parts, versionParts.length); i++) {
+			prefix.append(i > 0 ? "." : "").append(versionParts[i]); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return prefix.toString();
+	}
+
+	@Override
+	public String toString() {
+		return text;
+	}
+
+}
@@ -0,0 +1,256 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import hudson.FilePath;
+import hudson.Util;
+import hudson.model.Computer;
+import hudson.model.Node;
+import hudson.remoting.VirtualChannel;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import jenkins.model.Jenkins;
+import jenkins.security.MasterToSlaveCallable;
+import jenkins.util.SystemProperties;
+
+/**
+ * Deletes the files the executions leave behind, such as argument files and temporary directories, in the background
+ * so the builds do not wait for it.
+ * <p>
+ * Deletions are queued and carried out in batches of up to <code>batchSize</code> files per node, each batch with a
+ * single call to the node. A deletion that fails, for instance because the file is still held by a process or the
+ * node is disconnected, is retried with a doubling delay, up to <code>maxAttempts</code> times. Every attempt looks up
+ * the current channel of the node, so deletions resume once a disconnected node is back. The calls are made from a
+ * thread of the service, not from the shared Jenkins timer, as they block until the node answers.
+ */
+public final class CleanupService {
+
+	private static final Logger LOGGER = Logger.getLogger(CleanupService.class.getName());
+
+	private static final int BATCH_SIZE = SystemProperties.getInteger(CleanupService.class.getName() + ".batchSize", 50); //$NON-NLS-1$
+	private static final int MAX_ATTEMPTS = SystemProperties.getInteger(CleanupService.class.getName() + ".maxAttempts", 5); //$NON-NLS-1$
+	private static final long RETRY_DELAY = TimeUnit.SECONDS.toMillis(10);
+	private static final long BATCH_DELAY = 500;
+
+	private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(
+			new NamingThreadFactory(new DaemonThreadFactory(), "TED cleanup")); //$NON-NLS-1$
+	private static final List<Deletion> PENDING = new ArrayList<>();
+	private static boolean scheduled;
+
+	private CleanupService() {
+	}
+
+	/**
+	 * Deletes a file, or a directory with its content, in the background.
+	 * 
+	 * @param path
+	 *            The file or directory.
+	 */
+	public static void delete(FilePath path) {
+		enqueue(new Deletion(path, false, null), 0);
+	}
+
+	/**
+	 * Deletes the content of a directory in the background.
+	 * 
+	 * @param directory
+	 *            The directory.
+	 * @param then
+	 *            Run once the content is deleted, or the deletion given up, may be <code>null</code>.
+	 */
+	public static void deleteContents(FilePath directory, Runnable then) {
+		enqueue(new Deletion(directory, true, then), 0);
+	}
+
+	private static void enqueue(Deletion deletion, long delay) {
+		synchronized (PENDING) {
+			deletion.due = System.currentTimeMillis() + delay;
+			PENDING.add(deletion);
+			scheduleDrain();
+		}
+	}
+
+	/**
+	 * Schedules the next batch for the earliest pending deletion, unless one is scheduled already.
+	 */
+	private static void scheduleDrain() {
+		if (scheduled || PENDING.isEmpty()) {
+			return;
+		}
+		long due = Long.MAX_VALUE;
+		for (Deletion deletion : PENDING) {
+			due = Math.min(due, deletion.due);
+		}
+		scheduled = true;
+		EXECUTOR.schedule(CleanupService::drain, Math.max(BATCH_DELAY, due - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+	}
+
+	private static void drain() {
+		Map<VirtualChannel, List<Deletion>> batches = new IdentityHashMap<>();
+		synchronized (PENDING) {
+			long now = System.currentTimeMillis();
+			for (Iterator<Deletion> it = PENDING.iterator(); it.hasNext();) {
+				Deletion deletion = it.next();
+				if (deletion.due <= now) {
+					it.remove();
+					batches.computeIfAbsent(deletion.getChannel(), c -> new ArrayList<>()).add(deletion);
+				}
+			}
+		}
+		List<Deletion> offline = batches.remove(null);
+		if (offline != null) {
+			retryOrGiveUp(offline, new boolean[offline.size()]);
+		}
+
+		try {
+			for (Map.Entry<VirtualChannel, List<Deletion>> batch : batches.entrySet()) {
+				List<Deletion> deletions = batch.getValue();
+				for (int from = 0; from < deletions.size(); from += BATCH_SIZE) {
+					delete(batch.getKey(), deletions.subList(from, Math.min(from + BATCH_SIZE, deletions.size())));
+				}
+			}
+		} finally {
+			synchronized (PENDING) {
+				scheduled = false;
+				scheduleDrain();
+			}
+		}
+	}
+
+	private static void delete(VirtualChannel channel, List<Deletion> deletions) {
+		List<String> paths = new ArrayList<>();
+		boolean[] contentsOnly = new boolean[deletions.size()];
+		for (int i = 0; i < deletions.size(); i++) {
+			paths.add(deletions.get(i).path.getRemote());
+			contentsOnly[i] = deletions.get(i).contentsOnly;
+		}
+
+		boolean[] deleted;
+		try {
+			deleted = channel.call(new DeleteBatch(paths, contentsOnly));
+		} catch (IOException | RuntimeException e) {
+			LOGGER.log(Level.FINE, "Unable to delete " + paths, e); //$NON-NLS-1$
+			deleted = new boolean[deletions.size()];
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			deleted = new boolean[deletions.size()];
+		}
+
+		retryOrGiveUp(deletions, deleted);
+	}
+
+	private static void retryOrGiveUp(List<Deletion> deletions, boolean[] deleted) {
+		for (int i = 0; i < deletions.size(); i++) {
+			Deletion deletion = deletions.get(i);
+			if (!deleted[i] && ++deletion.attempts < MAX_ATTEMPTS) {
+				enqueue(deletion, RETRY_DELAY << (deletion.attempts - 1));
+				continue;
+			}
+			if (!deleted[i]) {
+				LOGGER.log(Level.WARNING, "Gave up deleting {0} after {1} attempts", new Object[] { deletion.path.getRemote(), deletion.attempts }); //$NON-NLS-1$
+			}
+			if (deletion.then != null) {
+				deletion.then.run();
+			}
+		}
+	}
+
+	/**
+	 * A queued deletion.
+	 */
+	private static final class Deletion {
+		private final FilePath path;
+		private final String nodeName;
+		private final boolean contentsOnly;
+		private final Runnable then;
+		private int attempts;
+		private long due;
+
+		Deletion(FilePath path, boolean contentsOnly, Runnable then) {
+			Computer computer = path.isRemote() ? path.toComputer() : null;
+			this.path = path;
+			this.nodeName = computer != null ? computer.getName() : null;
+			this.contentsOnly = contentsOnly;
+			this.then = then;
+		}
+
+		/**
+		 * Returns the current channel of the node of the file.
+		 * 
+		 * @return <code>VirtualChannel</code>, or <code>null</code> if the node is offline or no longer exists
+		 */
+		VirtualChannel getChannel() {
+			if (!path.isRemote()) {
+				return FilePath.localChannel;
+			}
+			if (nodeName == null) {
+				// the node was not known when the deletion was queued, the channel of the file is all there is
+				return path.getChannel();
+			}
+			Node node = nodeName.isEmpty() ? Jenkins.get() : Jenkins.get().getNode(nodeName);
+			return node != null ? node.getChannel() : null;
+		}
+	}
+
+	/**
+	 * Deletes a batch of files on a node.
+	 */
+	private static final class DeleteBatch extends MasterToSlaveCallable<boolean[], IOException> {
+		private static final long serialVersionUID = 1L;
+
+		private final List<String> paths;
+		private final boolean[] contentsOnly;
+
+		DeleteBatch(List<String> paths, boolean[] contentsOnly) {
+			this.paths = paths;
+			this.contentsOnly = contentsOnly;
+		}
+
+		@Override
+		public boolean[] call() {
+			boolean[] deleted = new boolean[paths.size()];
+			for (int i = 0; i < paths.size(); i++) {
+				File file = new File(paths.get(i));
+				try {
+					if (contentsOnly[i]) {
+						Util.deleteContentsRecursive(file);
+					} else {
+						Util.deleteRecursive(file);
+					}
+					deleted[i] = true;
+				} catch (IOException e) {
+					deleted[i] = false;
+				}
+			}
+			return deleted;
+		}
+	}
+
+}
@@ -0,0 +1,248 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import hudson.remoting.VirtualChannel;
+import jenkins.security.MasterToSlaveCallable;
+import jenkins.util.SystemProperties;
+
+/**
+ * Bounds the sessions open from the nodes to the Communication Managers.
+ * <p>
+ * Sessions are opened by the CLI itself, so they cannot be kept open across CLI launches. The number of sessions open at
+ * the same time from a node to a Communication Manager can instead be bounded with <code>maxSessions</code>, for
+ * Communication Managers limiting their sessions. It is not bounded by default.
+ * <p>
+ * With <code>healthCheck</code>, a launch also checks that the Communication Manager is reachable from the node, warning
+ * in the build log when it is not. The check is off by default. A successful check is trusted for
+ * <code>healthCheckInterval</code> and a failed one for <code>healthCheckFailureInterval</code>, and launches never wait
+ * for a check already running for another launch. Endpoints not used for a while are evicted.
+ */
+public final class CommunicationManagerSessions {
+
+	/**
+	 * Maximum number of sessions open at the same time from a node to a Communication Manager, <code>0</code> for no
+	 * maximum.
+	 */
+	private static final int MAX_SESSIONS = SystemProperties.getInteger(CommunicationManagerSessions.class.getName() + ".maxSessions", 0); //$NON-NLS-1$
+	private static final boolean HEALTH_CHECK = SystemProperties.getBoolean(CommunicationManagerSessions.class.getName() + ".healthCheck"); //$NON-NLS-1$
+	private static final long HEALTH_CHECK_INTERVAL = SystemProperties.getLong(CommunicationManagerSessions.class.getName() + ".healthCheckInterval", //$NON-NLS-1$
+			TimeUnit.MINUTES.toMillis(1));
+	private static final long HEALTH_CHECK_FAILURE_INTERVAL = SystemProperties.getLong(
+			CommunicationManagerSessions.class.getName() + ".healthCheckFailureInterval", TimeUnit.SECONDS.toMillis(30)); //$NON-NLS-1$
+	private static final long IDLE_TIMEOUT = TimeUnit.MINUTES.toMillis(10);
+	private static final int CONNECT_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(5);
+
+	private static final Map<String, Endpoint> ENDPOINTS = new HashMap<>();
+
+	private CommunicationManagerSessions() {
+	}
+
+	/**
+	 * Acquires a session to a Communication Manager, waiting while the maximum number of sessions from the node, if
+	 * any, is open.
+	 * 
+	 * @param channel
+	 *            The channel of the node the CLI runs on.
+	 * @param nodeName
+	 *            The name of the node the CLI runs on.
+	 * @param host
+	 *            The host of the Communication Manager.
+	 * @param port
+	 *            The port of the Communication Manager.
+	 * @param logger
+	 *            The logger to report waiting and health check failures to.
+	 * 
+	 * @return The <code>Session</code> to close once the CLI has finished, or <code>null</code> if sessions are neither
+	 *         bounded nor checked
+	 * 
+	 * @throws InterruptedException
+	 *             If interrupted while waiting.
+	 */
+	public static Session acquire(VirtualChannel channel, String nodeName, String host, int port, PrintStream logger)
+			throws InterruptedException {
+		if (MAX_SESSIONS <= 0 && !HEALTH_CHECK) {
+			return null;
+		}
+
+		Endpoint endpoint = getEndpoint(nodeName + '|' + host + ':' + port);
+
+		try {
+			if (HEALTH_CHECK) {
+				endpoint.checkHealth(channel, host, port, logger);
+			}
+			if (endpoint.sessions != null && !endpoint.sessions.tryAcquire()) {
+				logger.println("Waiting for a session to Communication Manager " + host + ':' + port + ", " + MAX_SESSIONS //$NON-NLS-1$ //$NON-NLS-2$
+						+ " session(s) are open from this node."); //$NON-NLS-1$
+				endpoint.sessions.acquire();
+			}
+		} catch (InterruptedException e) {
+			endpoint.release(false);
+			throw e;
+		}
+
+		return new Session(endpoint);
+	}
+
+	private static Endpoint getEndpoint(String key) {
+		long now = System.currentTimeMillis();
+
+		synchronized (ENDPOINTS) {
+			Iterator<Endpoint> iterator = ENDPOINTS.values().iterator();
+			while (iterator.hasNext()) {
+				Endpoint endpoint = iterator.next();
+				if (endpoint.users == 0 && now - endpoint.lastUsed > IDLE_TIMEOUT) {
+					iterator.remove();
+				}
+			}
+
+			Endpoint endpoint = ENDPOINTS.computeIfAbsent(key, k -> new Endpoint());
+			endpoint.users++;
+			endpoint.lastUsed = now;
+			return endpoint;
+		}
+	}
+
+	/**
+	 * A session to a Communication Manager.
+	 */
+	public static final class Session implements AutoCloseable {
+		private final Endpoint endpoint;
+		private boolean released;
+
+		private Session(Endpoint endpoint) {
+			this.endpoint = endpoint;
+		}
+
+		/**
+		 * Releases the session.
+		 */
+		@Override
+		public synchronized void close() {
+			if (!released) {
+				released = true;
+				endpoint.release(true);
+			}
+		}
+	}
+
+	/**
+	 * A Communication Manager as seen from a node.
+	 */
+	private static final class Endpoint {
+		private final Semaphore sessions = MAX_SESSIONS > 0 ? new Semaphore(MAX_SESSIONS, true) : null;
+		private int users;
+		private long lastUsed;
+		private long reachableAt;
+		private long failedAt;
+		private String failure;
+		private boolean checking;
+
+		/**
+		 * Checks that the Communication Manager is reachable, unless the last check is still trusted or another launch is
+		 * checking it. The monitor is not held while the node connects.
+		 */
+		private void checkHealth(VirtualChannel channel, String host, int port, PrintStream logger) throws InterruptedException {
+			synchronized (this) {
+				long now = System.currentTimeMillis();
+				if (reachableAt != 0 && now - reachableAt <= HEALTH_CHECK_INTERVAL) {
+					return;
+				}
+				if (failure != null && now - failedAt <= HEALTH_CHECK_FAILURE_INTERVAL) {
+					logUnreachable(host, port, failure, logger);
+					return;
+				}
+				if (checking) {
+					return;
+				}
+				checking = true;
+			}
+
+			String error = null;
+			boolean checked = false;
+			try {
+				channel.call(new ReachabilityCheck(host, port));
+				checked = true;
+			} catch (IOException e) {
+				error = String.valueOf(e.getMessage());
+				checked = true;
+			} finally {
+				synchronized (this) {
+					checking = false;
+					if (checked) {
+						long now = System.currentTimeMillis();
+						reachableAt = error == null ? now : 0;
+						failedAt = error == null ? 0 : now;
+						failure = error;
+					}
+				}
+			}
+
+			if (error != null) {
+				logUnreachable(host, port, error, logger);
+			}
+		}
+
+		private static void logUnreachable(String host, int port, String error, PrintStream logger) {
+			logger.println("Warning: Communication Manager " + host + ':' + port + " is not reachable from this node: " + error); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+
+		private void release(boolean acquired) {
+			if (acquired && sessions != null) {
+				sessions.release();
+			}
+			synchronized (ENDPOINTS) {
+				users--;
+				lastUsed = System.currentTimeMillis();
+			}
+		}
+	}
+
+	/**
+	 * Connects to the Communication Manager from the node the CLI runs on.
+	 */
+	private static final class ReachabilityCheck extends MasterToSlaveCallable<Void, IOException> {
+		private static final long serialVersionUID = -2236018437165309913L;
+
+		private final String host;
+		private final int port;
+
+		private ReachabilityCheck(String host, int port) {
+			this.host = host;
+			this.port = port;
+		}
+
+		@Override
+		public Void call() throws IOException {
+			try (Socket socket = new Socket()) {
+				socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT);
+			}
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,341 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.tools.ant.DirectoryScanner;
+
+import hudson.Util;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+/**
+ * Summarizes the Compare results exported from the results repository, on the node holding them, so only the
+ * summary is sent to the controller.
+ * <p>
+ * The reports are delimited text files, separated by commas, semicolons, tabs or bars, whose first line names the
+ * columns. A row is counted for the table in its <code>TABLE</code>, <code>RECORD</code> or <code>LAYOUT</code>
+ * column, and classified by its <code>STATUS</code> or <code>RESULT</code> column as matched, mismatched or missing,
+ * column names being compared whole and regardless of case. A status is classified by its words, negated words such
+ * as <code>UNCHANGED</code> or <code>NOT MATCHED</code> first. The reports are read line by line, and the keys of the differing rows, in the <code>KEY</code> column, are counted
+ * with a fixed number of counters, so reports of any size are summarized in bounded memory.
+ */
+public final class CompareResultSummarizer extends MasterToSlaveFileCallable<CompareSummary> {
+	private static final long serialVersionUID = 1L;
+
+	private static final int MAX_TABLES = 1000;
+	private static final String OTHER_TABLES = "(other tables)"; //$NON-NLS-1$
+	private static final String NO_TABLE = "(all)"; //$NON-NLS-1$
+	private static final char[] DELIMITERS = { ',', ';', '\t', '|' };
+	private static final Set<String> NEGATIONS = words("NO", "NOT", "NON"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	private static final String NEGATION_PREFIX = "UN"; //$NON-NLS-1$
+	private static final Set<String> MATCHED_WORDS = words("MATCH", "MATCHED", "MATCHES", "MATCHING", "EQUAL", "EQUALS", "SAME"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+	private static final Set<String> MISMATCHED_WORDS = words("MISMATCH", "MISMATCHED", "MISMATCHES", "DIFF", "DIFFS", "DIFFERENT", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+			"DIFFERS", "DIFFERENCE", "DIFFERENCES", "CHANGE", "CHANGED", "CHANGES"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+	private static final Set<String> MISSING_WORDS = words("MISSING", "ONLY", "INSERT", "INSERTED", "DELETE", "DELETED", "EXTRA"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+
+	/**
+	 * The classification of a row.
+	 */
+	enum Status {
+		MATCHED, MISMATCHED, MISSING
+	}
+
+	private final String includes;
+	private final int topKeys;
+	private final String charset;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param includes
+	 *            The Ant pattern of the reports, relative to the workspace.
+	 * @param topKeys
+	 *            The number of keys with the most differences to return.
+	 * @param charset
+	 *            The charset of the reports.
+	 */
+	public CompareResultSummarizer(String includes, int topKeys, Charset charset) {
+		this.includes = includes;
+		this.topKeys = topKeys;
+		this.charset = charset.name();
+	}
+
+	@Override
+	public CompareSummary invoke(File workspace, VirtualChannel channel) throws IOException, InterruptedException {
+		Map<String, CompareSummary.TableSummary> tables = new LinkedHashMap<>();
+		KeyCounter keys = new KeyCounter(topKeys * 10);
+		CompareSummary summary = new CompareSummary();
+
+		DirectoryScanner scanner = Util.createFileSet(workspace, includes).getDirectoryScanner();
+		String[] files = scanner.getIncludedFiles();
+		for (String file : files) {
+			if (Thread.interrupted()) {
+				throw new InterruptedException();
+			}
+			if (!summarize(new File(workspace, file), tables, keys)) {
+				summary.addSkippedFile(file);
+			}
+		}
+
+		summary.setFiles(files.length);
+		for (CompareSummary.TableSummary table : tables.values()) {
+			summary.addTable(table);
+		}
+		for (CompareSummary.KeyCount key : keys.getTop(topKeys)) {
+			summary.addTopKey(key);
+		}
+		return summary;
+	}
+
+	/**
+	 * Summarizes a report.
+	 * 
+	 * @return <code>false</code> if the report has no status column
+	 */
+	private boolean summarize(File file, Map<String, CompareSummary.TableSummary> tables, KeyCounter keys) throws IOException {
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(file.toPath()), charset))) {
+			String header = reader.readLine();
+			while (header != null && header.trim().isEmpty()) {
+				header = reader.readLine();
+			}
+			if (header == null) {
+				return false;
+			}
+
+			char delimiter = getDelimiter(header);
+			List<String> columns = split(header, delimiter);
+			int tableColumn = indexOf(columns, "TABLE", "RECORD", "LAYOUT"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			int keyColumn = indexOf(columns, "KEY"); //$NON-NLS-1$
+			int statusColumn = indexOf(columns, "STATUS", "RESULT"); //$NON-NLS-1$ //$NON-NLS-2$
+			if (statusColumn < 0) {
+				return false;
+			}
+
+			String line;
+			while ((line = reader.readLine()) != null) {
+				List<String> fields = split(line, delimiter);
+				if (statusColumn >= fields.size()) {
+					continue;
+				}
+				Status status = classify(fields.get(statusColumn));
+				if (status == null) {
+					continue;
+				}
+				String table = tableColumn >= 0 && tableColumn < fields.size() ? fields.get(tableColumn) : NO_TABLE;
+
+				getTable(tables, table).add(status == Status.MATCHED ? 1 : 0, status == Status.MISMATCHED ? 1 : 0,
+						status == Status.MISSING ? 1 : 0);
+				if (status != Status.MATCHED && keyColumn >= 0 && keyColumn < fields.size()) {
+					keys.add(table, fields.get(keyColumn));
+				}
+			}
+			return true;
+		}
+	}
+
+	private static CompareSummary.TableSummary getTable(Map<String, CompareSummary.TableSummary> tables, String name) {
+		CompareSummary.TableSummary table = tables.get(name);
+		if (table == null) {
+			String key = tables.size() < MAX_TABLES ? name : OTHER_TABLES;
+			table = tables.computeIfAbsent(key, CompareSummary.TableSummary::new);
+		}
+		return table;
+	}
+
+	/**
+	 * Returns the delimiter occurring most often in the header.
+	 */
+	private static char getDelimiter(String header) {
+		char delimiter = DELIMITERS[0];
+		int max = 0;
+		for (char candidate : DELIMITERS) {
+			int count = 0;
+			for (int i = 0; i < header.length(); i++) {
+				if (header.charAt(i) == candidate) {
+					count++;
+				}
+			}
+			if (count > max) {
+				max = count;
+				delimiter = candidate;
+			}
+		}
+		return delimiter;
+	}
+
+	/**
+	 * Classifies the status of a row. Negated words are looked at first, so <code>UNCHANGED</code> or
+	 * <code>NO DIFFERENCES</code> is matched and <code>UNMATCHED</code> or <code>NOT EQUAL</code> is mismatched.
+	 * 
+	 * @param status
+	 *            The status of the row.
+	 * 
+	 * @return <code>Status</code>, or <code>null</code> if the status is not recognized
+	 */
+	static Status classify(String status) {
+		String[] words = status.toUpperCase(Locale.ENGLISH).split("[^A-Z0-9]+"); //$NON-NLS-1$
+		for (int i = 0; i < words.length; i++) {
+			String negated = null;
+			if (NEGATIONS.contains(words[i]) && i + 1 < words.length) {
+				negated = words[i + 1];
+			} else if (words[i].startsWith(NEGATION_PREFIX)) {
+				negated = words[i].substring(NEGATION_PREFIX.length());
+			}
+			if (MATCHED_WORDS.contains(negated)) {
+				return Status.MISMATCHED;
+			}
+			if (MISMATCHED_WORDS.contains(negated)) {
+				return Status.MATCHED;
+			}
+		}
+
+		if (containsAny(words, MISMATCHED_WORDS)) {
+			return Status.MISMATCHED;
+		}
+		if (containsAny(words, MISSING_WORDS)) {
+			return Status.MISSING;
+		}
+		if (containsAny(words, MATCHED_WORDS)) {
+			return Status.MATCHED;
+		}
+		return null;
+	}
+
+	private static boolean containsAny(String[] words, Set<String> set) {
+		for (String word : words) {
+			if (set.contains(word)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static Set<String> words(String... words) {
+		return new HashSet<>(Arrays.asList(words));
+	}
+
+	/**
+	 * Returns the index of the first column named after one of the names, regardless of case.
+	 */
+	static int indexOf(List<String> columns, String... names) {
+		for (String name : names) {
+			for (int i = 0; i < columns.size(); i++) {
+				if (columns.get(i).equalsIgnoreCase(name)) {
+					return i;
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Splits a line into its trimmed fields, a field can be quoted with double quotes.
+	 */
+	static List<String> split(String line, char delimiter) {
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (c == '"') {
+				if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					field.append(c);
+					i++;
+				} else {
+					quoted = !quoted;
+				}
+			} else if (c == delimiter && !quoted) {
+				fields.add(field.toString().trim());
+				field.setLength(0);
+			} else {
+				field.append(c);
+			}
+		}
+		fields.add(field.toString().trim());
+		return fields;
+	}
+
+	/**
+	 * Counts the differences per key with a fixed number of counters, with the Space-Saving algorithm: when all the
+	 * counters are taken, the counter of the least differing key is handed over to the new key, keeping its count. The
+	 * keys differing most often are kept, with counts that are at most overestimated by the count handed over.
+	 */
+	private static final class KeyCounter {
+		private final int capacity;
+		private final Map<String, long[]> counters = new HashMap<>();
+
+		KeyCounter(int capacity) {
+			this.capacity = Math.max(1, capacity);
+		}
+
+		void add(String table, String key) {
+			String id = table + '\u0000' + key;
+			long[] counter = counters.get(id);
+			if (counter == null) {
+				if (counters.size() < capacity) {
+					counter = new long[1];
+				} else {
+					counter = removeMin();
+				}
+				counters.put(id, counter);
+			}
+			counter[0]++;
+		}
+
+		private long[] removeMin() {
+			Map.Entry<String, long[]> min = null;
+			for (Map.Entry<String, long[]> entry : counters.entrySet()) {
+				if (min == null || entry.getValue()[0] < min.getValue()[0]) {
+					min = entry;
+				}
+			}
+			counters.remove(min.getKey());
+			return min.getValue();
+		}
+
+		List<CompareSummary.KeyCount> getTop(int count) {
+			List<Map.Entry<String, long[]>> entries = new ArrayList<>(counters.entrySet());
+			entries.sort((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]));
+			List<CompareSummary.KeyCount> top = new ArrayList<>();
+			for (Iterator<Map.Entry<String, long[]>> it = entries.iterator(); it.hasNext() && top.size() < count;) {
+				Map.Entry<String, long[]> entry = it.next();
+				int separator = entry.getKey().indexOf('\u0000');
+				top.add(new CompareSummary.KeyCount(entry.getKey().substring(0, separator), entry.getKey().substring(separator + 1),
+						entry.getValue()[0]));
+			}
+			return top;
+		}
+	}
+
+}
@@ -0,0 +1,183 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.io.PrintStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.kohsuke.stapler.export.Exported;
+import org.kohsuke.stapler.export.ExportedBean;
+
+/**
+ * The summary of the Compare results of a build, see <code>CompareResultSummarizer</code>: the number of matched,
+ * mismatched and missing rows per table, and the keys with the most differences. The summary is exported through the
+ * API of the <code>TEDExecutionAction</code>.
+ */
+@ExportedBean(defaultVisibility = 2)
+public class CompareSummary implements Serializable {
+	private static final long serialVersionUID = 7094815209712346051L;
+
+	private final List<TableSummary> tables = new ArrayList<>();
+	private final List<KeyCount> topKeys = new ArrayList<>();
+	private final List<String> skippedFiles = new ArrayList<>();
+	private int files;
+
+	@Exported
+	public int getFiles() {
+		return files;
+	}
+
+	void setFiles(int files) {
+		this.files = files;
+	}
+
+	@Exported(inline = true)
+	public List<TableSummary> getTables() {
+		return Collections.unmodifiableList(tables);
+	}
+
+	void addTable(TableSummary table) {
+		tables.add(table);
+	}
+
+	@Exported(inline = true)
+	public List<KeyCount> getTopKeys() {
+		return Collections.unmodifiableList(topKeys);
+	}
+
+	void addTopKey(KeyCount key) {
+		topKeys.add(key);
+	}
+
+	/**
+	 * Returns the report files which were not recognized as Compare results.
+	 * 
+	 * @return <code>List</code> of <code>String</code>
+	 */
+	@Exported
+	public List<String> getSkippedFiles() {
+		return Collections.unmodifiableList(skippedFiles);
+	}
+
+	void addSkippedFile(String file) {
+		skippedFiles.add(file);
+	}
+
+	/**
+	 * Prints the summary.
+	 * 
+	 * @param logger
+	 *            The logger of the build.
+	 */
+	public void print(PrintStream logger) {
+		logger.println("Compare results of " + files + " report(s):"); //$NON-NLS-1$ //$NON-NLS-2$
+		for (TableSummary table : tables) {
+			logger.println("  " + table.getName() + ": " + table.getMatched() + " matched, " + table.getMismatched() + " mismatched, " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+					+ table.getMissing() + " missing"); //$NON-NLS-1$
+		}
+		if (!topKeys.isEmpty()) {
+			logger.println("Keys with the most differences:"); //$NON-NLS-1$
+			for (KeyCount key : topKeys) {
+				logger.println("  " + key.getTable() + " " + key.getKey() + ": " + key.getDifferences()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+		}
+		for (String file : skippedFiles) {
+			logger.println("Skipped " + file + ", no status column found"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/**
+	 * The row counts of a compared table.
+	 */
+	@ExportedBean(defaultVisibility = 2)
+	public static class TableSummary implements Serializable {
+		private static final long serialVersionUID = -3175028466239617294L;
+
+		private final String name;
+		private long matched;
+		private long mismatched;
+		private long missing;
+
+		TableSummary(String name) {
+			this.name = name;
+		}
+
+		@Exported
+		public String getName() {
+			return name;
+		}
+
+		@Exported
+		public long getMatched() {
+			return matched;
+		}
+
+		@Exported
+		public long getMismatched() {
+			return mismatched;
+		}
+
+		@Exported
+		public long getMissing() {
+			return missing;
+		}
+
+		void add(long matched, long mismatched, long missing) {
+			this.matched += matched;
+			this.mismatched += mismatched;
+			this.missing += missing;
+		}
+	}
+
+	/**
+	 * The number of differences found for a key. The number is an upper bound when the report holds more differing
+	 * keys than the summarizer keeps track of.
+	 */
+	@ExportedBean(defaultVisibility = 2)
+	public static class KeyCount implements Serializable {
+		private static final long serialVersionUID = 2480157130944722635L;
+
+		private final String table;
+		private final String key;
+		private final long differences;
+
+		KeyCount(String table, String key, long differences) {
+			this.table = table;
+			this.key = key;
+			this.differences = differences;
+		}
+
+		@Exported
+		public String getTable() {
+			return table;
+		}
+
+		@Exported
+		public String getKey() {
+			return key;
+		}
+
+		@Exported
+		public long getDifferences() {
+			return differences;
+		}
+	}
+
+}
@@ -0,0 +1,237 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.io.IOUtils;
+
+import hudson.CloseProofOutputStream;
+import hudson.Launcher;
+import hudson.model.Computer;
+import hudson.remoting.Pipe;
+import hudson.remoting.RemoteOutputStream;
+import hudson.util.ArgumentListBuilder;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import hudson.util.StreamTaskListener;
+import jenkins.security.MasterToSlaveCallable;
+import jenkins.util.SystemProperties;
+
+/**
+ * Launches the CLI on an agent with its standard output compressed before it is sent to the controller.
+ * <p>
+ * The output the launcher of an agent sends to the controller goes over the channel as it is written. The output of
+ * large compares then takes a large share of the channel, slowing down the other builds on the agent. Here the process
+ * is started on the agent itself and its standard output is buffered and compressed there, with the compressed stream
+ * flushed every <code>flushSize</code> bytes of output and at least every <code>flushInterval</code> milliseconds, so
+ * the build log stays close to live. Both settings are read on the controller and sent to the agent with the launch.
+ * The output is decompressed on the controller and written to the build log as usual, the error output is sent as is.
+ * Once the process has finished, the controller waits at most <code>pumpTimeout</code> milliseconds for the rest of its
+ * output.
+ * <p>
+ * Compression is turned on with the <code>enabled</code> system property, and only applies to plain agent launchers:
+ * launchers decorated by other plugins, for instance to run in a container, are used as they are.
+ */
+public final class CompressedOutputLauncher {
+
+	private static final boolean ENABLED = SystemProperties.getBoolean(CompressedOutputLauncher.class.getName() + ".enabled", false); //$NON-NLS-1$
+	private static final int FLUSH_SIZE = SystemProperties.getInteger(CompressedOutputLauncher.class.getName() + ".flushSize", 64 * 1024); //$NON-NLS-1$
+	private static final long FLUSH_INTERVAL = SystemProperties.getLong(CompressedOutputLauncher.class.getName() + ".flushInterval", 1000L); //$NON-NLS-1$
+	private static final long PUMP_TIMEOUT = SystemProperties.getLong(CompressedOutputLauncher.class.getName() + ".pumpTimeout", 60000L); //$NON-NLS-1$
+
+	private CompressedOutputLauncher() {
+	}
+
+	/**
+	 * Returns if the output of the processes started by a launcher is compressed.
+	 * 
+	 * @param launcher
+	 *            The launcher.
+	 * 
+	 * @return <code>boolean</code>
+	 */
+	public static boolean isApplicable(Launcher launcher) {
+		return ENABLED && launcher.getClass() == Launcher.RemoteLauncher.class;
+	}
+
+	/**
+	 * Launches a process on the node of a launcher and waits for it to finish.
+	 * 
+	 * @param launcher
+	 *            The launcher of the node.
+	 * @param args
+	 *            The command and its arguments.
+	 * @param env
+	 *            The environment of the process.
+	 * @param pwd
+	 *            The working directory of the process.
+	 * @param stdout
+	 *            The stream to write the standard output to.
+	 * @param stderr
+	 *            The stream to write the error output to.
+	 * 
+	 * @return The exit value of the process
+	 * 
+	 * @throws IOException
+	 * @throws InterruptedException
+	 */
+	public static int launch(Launcher launcher, ArgumentListBuilder args, Map<String, String> env, String pwd, OutputStream stdout,
+			OutputStream stderr) throws IOException, InterruptedException {
+		Pipe pipe = Pipe.createRemoteToLocal();
+		Future<?> pump = Computer.threadPoolForRemoting.submit(() -> {
+			try (InputStream in = new GZIPInputStream(pipe.getIn())) {
+				IOUtils.copy(in, stdout);
+			} catch (EOFException e) {
+				// the process could not be started, nothing was written
+			}
+			return null;
+		});
+
+		try {
+			int exitValue = launcher.getChannel().call(new RemoteLaunch(args.toList(), args.toMaskArray(), env, pwd, pipe,
+					new RemoteOutputStream(new CloseProofOutputStream(stderr)), FLUSH_SIZE, FLUSH_INTERVAL));
+			launcher.getChannel().syncLocalIO();
+			pump.get(PUMP_TIMEOUT, TimeUnit.MILLISECONDS);
+			return exitValue;
+		} catch (ExecutionException e) {
+			throw new IOException("The output of the process could not be read", e.getCause()); //$NON-NLS-1$
+		} catch (TimeoutException e) {
+			throw new IOException("The output of the process was not received within " + PUMP_TIMEOUT + " ms", e); //$NON-NLS-1$ //$NON-NLS-2$
+		} finally {
+			if (!pump.isDone()) {
+				pump.cancel(true);
+			}
+		}
+	}
+
+	/**
+	 * Starts the process on the agent and compresses its standard output into the pipe to the controller.
+	 */
+	private static final class RemoteLaunch extends MasterToSlaveCallable<Integer, IOException> {
+		private static final long serialVersionUID = 1L;
+
+		private final List<String> cmds;
+		private final boolean[] masks;
+		private final Map<String, String> env;
+		private final String pwd;
+		private final Pipe pipe;
+		private final OutputStream stderr;
+		private final int flushSize;
+		private final long flushInterval;
+
+		RemoteLaunch(List<String> cmds, boolean[] masks, Map<String, String> env, String pwd, Pipe pipe, OutputStream stderr,
+				int flushSize, long flushInterval) {
+			this.cmds = cmds;
+			this.masks = masks;
+			this.env = env;
+			this.pwd = pwd;
+			this.pipe = pipe;
+			this.stderr = stderr;
+			this.flushSize = flushSize;
+			this.flushInterval = flushInterval;
+		}
+
+		@Override
+		public Integer call() throws IOException {
+			try (FlushingGZIPOutputStream out = new FlushingGZIPOutputStream(pipe.getOut(), flushSize, flushInterval)) {
+				Launcher local = new Launcher.LocalLauncher(new StreamTaskListener(out));
+				return local.launch().cmds(cmds).masks(masks).envs(env).pwd(new File(pwd)).stdout(out).stderr(stderr).join();
+			} catch (InterruptedException e) {
+				// the process has been killed by the launcher
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while waiting for the process"); //$NON-NLS-1$
+			} finally {
+				stderr.close();
+			}
+		}
+	}
+
+	/**
+	 * Compressed stream flushed once enough output is written and, from a timer, while output is pending.
+	 */
+	private static final class FlushingGZIPOutputStream extends GZIPOutputStream {
+
+		private static ScheduledExecutorService timer;
+
+		private final int flushSize;
+		private final ScheduledFuture<?> flusher;
+		private long pending;
+
+		FlushingGZIPOutputStream(OutputStream out, int flushSize, long flushInterval) throws IOException {
+			super(out, 8192, true);
+			this.flushSize = flushSize;
+			this.flusher = getTimer().scheduleWithFixedDelay(this::flushPending, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+		}
+
+		private static synchronized ScheduledExecutorService getTimer() {
+			if (timer == null) {
+				timer = Executors.newSingleThreadScheduledExecutor(
+						new NamingThreadFactory(new DaemonThreadFactory(), "TED output compression")); //$NON-NLS-1$
+			}
+			return timer;
+		}
+
+		@Override
+		public synchronized void write(byte[] b, int off, int len) throws IOException {
+			super.write(b, off, len);
+			pending += len;
+			if (pending >= flushSize) {
+				flush();
+			}
+		}
+
+		@Override
+		public synchronized void flush() throws IOException {
+			super.flush();
+			pending = 0;
+		}
+
+		@Override
+		public synchronized void close() throws IOException {
+			flusher.cancel(false);
+			super.close();
+		}
+
+		private synchronized void flushPending() {
+			if (pending > 0) {
+				try {
+					flush();
+				} catch (IOException e) {
+					// reported by the next write
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,205 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.base.Strings;
+
+/**
+ * Schedules concurrent specification executions against the mainframe datasets they use.
+ * <p>
+ * Executions of the same specification under the same high level qualifier on the same host write the same output
+ * datasets, so they are serialized across all the builds of this controller, while executions of other specifications
+ * go ahead in parallel. Temporary datasets are kept apart by giving every execution a unique temporary dataset suffix.
+ * <p>
+ * The unique part is folded into the last qualifier of the configured suffix, which then has the maximum qualifier
+ * length of 8 characters, so the suffix keeps its number of qualifiers and the length of the dataset names is known
+ * up front, see <code>checkTemporaryDatasetNames</code>.
+ */
+public final class DatasetResourceScheduler {
+
+	private static final int QUALIFIER_LENGTH = 8;
+	private static final int MIN_UNIQUE_LENGTH = 4;
+	private static final int MAX_DATASET_NAME_LENGTH = 44;
+	private static final long UNIQUE_RANGE = (long) Math.pow(Character.MAX_RADIX, QUALIFIER_LENGTH - 1);
+
+	private static final Map<String, ResourceLock> LOCKS = new HashMap<>();
+
+	// seeded randomly, so controllers sharing a host are unlikely to hand out the same suffixes
+	private static final AtomicLong SUFFIX_COUNTER = new AtomicLong(ThreadLocalRandom.current().nextLong(UNIQUE_RANGE));
+
+	private DatasetResourceScheduler() {
+	}
+
+	/**
+	 * Returns the key of the output datasets of a specification execution.
+	 * 
+	 * @param connectionId
+	 *            The execution host connection id, or <code>null</code> if it comes from the execution context.
+	 * @param datasetScope
+	 *            The high level qualifier, or what the high level qualifier is defined by.
+	 * @param repositoryName
+	 *            The name of the repository.
+	 * @param specification
+	 *            The specification.
+	 * 
+	 * @return <code>String</code>
+	 */
+	public static String getResourceKey(String connectionId, String datasetScope, String repositoryName, Specification specification) {
+		return Strings.nullToEmpty(connectionId) + '|' + datasetScope.toUpperCase(Locale.ENGLISH) + '|' + repositoryName + '|' + specification;
+	}
+
+	/**
+	 * Acquires the output datasets of a specification execution, waiting while another execution holds them.
+	 * 
+	 * @param resourceKey
+	 *            The key of the output datasets.
+	 * @param specification
+	 *            The specification to be executed.
+	 * @param logger
+	 *            The logger to report waiting to.
+	 * 
+	 * @return The <code>Lease</code> to close once the execution has finished
+	 * 
+	 * @throws InterruptedException
+	 *             If interrupted while waiting.
+	 */
+	public static Lease acquire(String resourceKey, Specification specification, PrintStream logger) throws InterruptedException {
+		ResourceLock lock;
+		synchronized (LOCKS) {
+			lock = LOCKS.computeIfAbsent(resourceKey, k -> new ResourceLock());
+			lock.users++;
+		}
+
+		try {
+			if (!lock.semaphore.tryAcquire()) {
+				logger.println("Specification " + specification //$NON-NLS-1$
+						+ " is waiting, its output datasets are in use by another execution of the specification."); //$NON-NLS-1$
+				lock.semaphore.acquire();
+			}
+		} catch (InterruptedException e) {
+			release(resourceKey, lock, false);
+			throw e;
+		}
+
+		return new Lease(resourceKey, lock);
+	}
+
+	/**
+	 * Returns a temporary dataset suffix which is unique to an execution.
+	 * <p>
+	 * The unique part replaces the end of the last qualifier of the given suffix, keeping at least its first character
+	 * and using at least 4 characters, so the last qualifier is 8 characters long. Without a suffix, the unique
+	 * qualifier is <code>T</code> followed by 7 characters.
+	 * 
+	 * @param baseSuffix
+	 *            The configured suffix, or <code>null</code> if there is none.
+	 * 
+	 * @return <code>String</code>
+	 */
+	public static String newTemporaryDatasetSuffix(String baseSuffix) {
+		String suffix = Strings.nullToEmpty(baseSuffix);
+		int lastDot = suffix.lastIndexOf('.');
+		String head = suffix.substring(0, lastDot + 1);
+		String last = suffix.substring(lastDot + 1);
+		if (last.isEmpty()) {
+			last = "T"; //$NON-NLS-1$
+		}
+
+		int uniqueLength = Math.min(QUALIFIER_LENGTH - 1, Math.max(MIN_UNIQUE_LENGTH, QUALIFIER_LENGTH - last.length()));
+		long unique = Math.floorMod(SUFFIX_COUNTER.getAndIncrement(), (long) Math.pow(Character.MAX_RADIX, uniqueLength));
+		return head + last.substring(0, QUALIFIER_LENGTH - uniqueLength)
+				+ Strings.padStart(Long.toString(unique, Character.MAX_RADIX), uniqueLength, '0').toUpperCase(Locale.ENGLISH);
+	}
+
+	/**
+	 * Checks that the names of the temporary datasets, with the qualifiers the plugin passes to the CLI, do not exceed
+	 * the 44 characters of a dataset name.
+	 * 
+	 * @param highLevelQualifier
+	 *            The high level qualifier, or <code>null</code> if it is defined by the execution context.
+	 * @param prefix
+	 *            The temporary dataset prefix, or <code>null</code> if there is none.
+	 * @param baseSuffix
+	 *            The configured suffix, or <code>null</code> if there is none.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the names are too long.
+	 */
+	public static void checkTemporaryDatasetNames(String highLevelQualifier, String prefix, String baseSuffix) {
+		StringBuilder name = new StringBuilder();
+		for (String qualifiers : new String[] { highLevelQualifier, prefix, newTemporaryDatasetSuffix(baseSuffix) }) {
+			if (!Strings.isNullOrEmpty(qualifiers)) {
+				name.append(name.length() > 0 ? "." : "").append(qualifiers); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+		if (name.length() > MAX_DATASET_NAME_LENGTH) {
+			throw new IllegalArgumentException("The temporary dataset names " + name + " are " + name.length() //$NON-NLS-1$ //$NON-NLS-2$
+					+ " characters long, more than the " + MAX_DATASET_NAME_LENGTH //$NON-NLS-1$
+					+ " characters of a dataset name. Shorten the high level qualifier, the temporary dataset prefix or the temporary dataset suffix."); //$NON-NLS-1$
+		}
+	}
+
+	private static void release(String resourceKey, ResourceLock lock, boolean acquired) {
+		if (acquired) {
+			lock.semaphore.release();
+		}
+		synchronized (LOCKS) {
+			if (--lock.users == 0) {
+				LOCKS.remove(resourceKey);
+			}
+		}
+	}
+
+	/**
+	 * The output datasets held by an execution.
+	 */
+	public static final class Lease implements AutoCloseable {
+		private final String resourceKey;
+		private final ResourceLock lock;
+		private boolean released;
+
+		private Lease(String resourceKey, ResourceLock lock) {
+			this.resourceKey = resourceKey;
+			this.lock = lock;
+		}
+
+		/**
+		 * Releases the output datasets.
+		 */
+		@Override
+		public synchronized void close() {
+			if (!released) {
+				released = true;
+				release(resourceKey, lock, true);
+			}
+		}
+	}
+
+	private static final class ResourceLock {
+		private final Semaphore semaphore = new Semaphore(1, true);
+		private int users;
+	}
+
+}
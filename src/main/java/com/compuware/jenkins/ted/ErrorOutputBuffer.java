@@ -0,0 +1,113 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+
+import jenkins.util.SystemProperties;
+
+/**
+ * Passes the error output of the CLI through to the build log, keeping its tail in a bounded ring buffer so it can be
+ * shown in the failure summary.
+ */
+public class ErrorOutputBuffer extends OutputStream {
+
+	private static final int SIZE = SystemProperties.getInteger(ErrorOutputBuffer.class.getName() + ".size", 8192); //$NON-NLS-1$
+
+	private final OutputStream out;
+	private final byte[] ring = new byte[Math.max(1, SIZE)];
+	private long count;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param out
+	 *            The stream to write to, which is not closed by this stream.
+	 */
+	public ErrorOutputBuffer(OutputStream out) {
+		this.out = out;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		write(new byte[] { (byte) b }, 0, 1);
+	}
+
+	@Override
+	public synchronized void write(byte[] b, int off, int len) throws IOException {
+		out.write(b, off, len);
+
+		// the byte at index i of the error output is kept at index i % ring.length
+		int kept = Math.min(len, ring.length);
+		int position = (int) ((count + len - kept) % ring.length);
+		int first = Math.min(kept, ring.length - position);
+		System.arraycopy(b, off + len - kept, ring, position, first);
+		System.arraycopy(b, off + len - kept + first, ring, 0, kept - first);
+		count += len;
+	}
+
+	/**
+	 * Returns if anything has been written to the error output.
+	 * 
+	 * @return <code>boolean</code>
+	 */
+	public synchronized boolean isEmpty() {
+		return count == 0;
+	}
+
+	/**
+	 * Returns the tail of the error output, starting at the first complete line kept.
+	 * 
+	 * @param charset
+	 *            The charset of the error output.
+	 * 
+	 * @return <code>String</code>
+	 */
+	public synchronized String getTail(Charset charset) {
+		int length = (int) Math.min(count, ring.length);
+		byte[] tail = new byte[length];
+		int start = (int) ((count - length) % ring.length);
+		int first = Math.min(length, ring.length - start);
+		System.arraycopy(ring, start, tail, 0, first);
+		System.arraycopy(ring, 0, tail, first, length - first);
+
+		int offset = 0;
+		if (count > ring.length) {
+			while (offset < tail.length && tail[offset] != '\n') {
+				offset++;
+			}
+			offset = Math.min(offset + 1, tail.length);
+		}
+		return new String(tail, offset, tail.length - offset, charset).trim();
+	}
+
+	@Override
+	public void flush() throws IOException {
+		out.flush();
+	}
+
+	/**
+	 * Flushes the underlying stream without closing it.
+	 */
+	@Override
+	public void close() throws IOException {
+		out.flush();
+	}
+
+}
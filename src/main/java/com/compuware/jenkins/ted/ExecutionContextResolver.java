@@ -0,0 +1,268 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import hudson.remoting.VirtualChannel;
+import jenkins.security.MasterToSlaveCallable;
+import jenkins.util.SystemProperties;
+
+/**
+ * Resolves the execution contexts of the CLI, checking once that the context file exists and can be read as
+ * properties, so a misspelled context fails the build straight away instead of after the CLI has started.
+ * <p>
+ * A context given without a path is looked up in the <code>EnterpriseData</code> directory of the CLI, and a relative
+ * path is resolved against the workspace, the working directory of the CLI. Resolved contexts are cached per node and
+ * workspace, and the contexts available in the <code>EnterpriseData</code> directory per node and CLI location. Both
+ * are checked again once the cache entry has expired. A context failing the check is not cached, so it is
+ * checked again as soon as it has been created or fixed. Each cache keeps the <code>maxEntries</code> most recently
+ * used entries.
+ */
+public final class ExecutionContextResolver {
+
+	static final String CONTEXT_DIRECTORY = "EnterpriseData"; //$NON-NLS-1$
+	private static final String CONTEXT_EXTENSION = ".properties"; //$NON-NLS-1$
+	private static final String TEMPLATE_NAME = "executioncontext_template.properties"; //$NON-NLS-1$
+
+	private static final long TTL = SystemProperties.getLong(ExecutionContextResolver.class.getName() + ".ttl", TimeUnit.MINUTES.toMillis(5)); //$NON-NLS-1$
+
+	private static final int MAX_ENTRIES = SystemProperties.getInteger(ExecutionContextResolver.class.getName() + ".maxEntries", 200); //$NON-NLS-1$
+
+	private static final Map<String, Long> CHECKS = newCache();
+	private static final Map<String, CachedContexts> CONTEXTS = newCache();
+
+	private ExecutionContextResolver() {
+	}
+
+	/**
+	 * Returns if the execution context is given without a path, and so is looked up in the CLI directory.
+	 * 
+	 * @param executionContext
+	 *            The execution context.
+	 * 
+	 * @return <code>boolean</code>
+	 */
+	public static boolean isContextName(String executionContext) {
+		return !executionContext.contains("/") && !executionContext.contains("\\"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Resolves an execution context to the path of its file, checking the file.
+	 * 
+	 * @param channel
+	 *            The channel of the node the CLI runs on.
+	 * @param nodeName
+	 *            The name of the node the CLI runs on.
+	 * @param cliDirectory
+	 *            The CLI directory on the node.
+	 * @param fileSeparator
+	 *            The file separator of the node.
+	 * @param workspace
+	 *            The workspace on the node, which relative paths are resolved against.
+	 * @param executionContext
+	 *            The execution context, a name or a path.
+	 * 
+	 * @return The path of the execution context file
+	 * 
+	 * @throws IOException
+	 *             If the file does not exist or cannot be read as properties.
+	 * @throws InterruptedException
+	 */
+	public static String resolve(VirtualChannel channel, String nodeName, String cliDirectory, String fileSeparator, String workspace,
+			String executionContext) throws IOException, InterruptedException {
+		String path = executionContext;
+		if (isContextName(executionContext)) {
+			path = getContextDirectory(cliDirectory, fileSeparator) + fileSeparator + executionContext;
+		}
+
+		String key = nodeName + '|' + workspace + '|' + path;
+		long now = System.currentTimeMillis();
+		Long checkedAt = CHECKS.get(key);
+		String error = null;
+		if (checkedAt == null || now - checkedAt > TTL) {
+			error = channel.call(new ContextCheck(path, workspace));
+			if (error == null) {
+				CHECKS.put(key, now);
+			} else {
+				CHECKS.remove(key);
+			}
+		}
+
+		// listing the contexts also makes them available for auto completion
+		List<String> available = isContextName(executionContext) ? list(channel, nodeName, cliDirectory, fileSeparator) : null;
+
+		if (error != null) {
+			StringBuilder message = new StringBuilder(error);
+			if (available != null) {
+				message.append(" Available execution contexts: ").append(available.isEmpty() ? "none" : String.join(", ", available)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+			throw new FileNotFoundException(message.toString());
+		}
+
+		return path;
+	}
+
+	/**
+	 * Lists the execution contexts available in the <code>EnterpriseData</code> directory of the CLI, excluding the
+	 * template.
+	 * 
+	 * @param channel
+	 *            The channel of the node the CLI runs on.
+	 * @param nodeName
+	 *            The name of the node the CLI runs on.
+	 * @param cliDirectory
+	 *            The CLI directory on the node.
+	 * @param fileSeparator
+	 *            The file separator of the node.
+	 * 
+	 * @return <code>List</code> of the context file names, sorted
+	 * 
+	 * @throws IOException
+	 * @throws InterruptedException
+	 */
+	public static List<String> list(VirtualChannel channel, String nodeName, String cliDirectory, String fileSeparator)
+			throws IOException, InterruptedException {
+		String directory = getContextDirectory(cliDirectory, fileSeparator);
+		String key = nodeName + '|' + directory;
+		long now = System.currentTimeMillis();
+		CachedContexts contexts = CONTEXTS.get(key);
+		if (contexts == null || now - contexts.listedAt > TTL) {
+			contexts = new CachedContexts(channel.call(new ContextListing(directory)), now);
+			CONTEXTS.put(key, contexts);
+		}
+		return contexts.names;
+	}
+
+	/**
+	 * Returns the names of the execution contexts listed so far on any node, without contacting the nodes.
+	 * 
+	 * @return <code>Set</code> of the context file names, sorted
+	 */
+	public static Set<String> getCachedContextNames() {
+		Set<String> names = new TreeSet<>();
+		synchronized (CONTEXTS) {
+			for (CachedContexts contexts : CONTEXTS.values()) {
+				names.addAll(contexts.names);
+			}
+		}
+		return names;
+	}
+
+	private static <V> Map<String, V> newCache() {
+		return Collections.synchronizedMap(new LinkedHashMap<String, V>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+				return size() > MAX_ENTRIES;
+			}
+		});
+	}
+
+	private static String getContextDirectory(String cliDirectory, String fileSeparator) {
+		return cliDirectory + fileSeparator + CONTEXT_DIRECTORY;
+	}
+
+	private static final class CachedContexts {
+		private final List<String> names;
+		private final long listedAt;
+
+		private CachedContexts(List<String> names, long listedAt) {
+			this.names = Collections.unmodifiableList(names);
+			this.listedAt = listedAt;
+		}
+	}
+
+	/**
+	 * Checks on the node that an execution context file exists and can be read as properties, resolving a relative
+	 * path against the workspace.
+	 */
+	static final class ContextCheck extends MasterToSlaveCallable<String, IOException> {
+		private static final long serialVersionUID = 6105470264125730461L;
+
+		private final String path;
+		private final String workspace;
+
+		ContextCheck(String path, String workspace) {
+			this.path = path;
+			this.workspace = workspace;
+		}
+
+		/**
+		 * @return <code>null</code> if the file is valid, otherwise the error
+		 */
+		@Override
+		public String call() throws IOException {
+			File file = new File(path);
+			if (!file.isAbsolute() && workspace != null) {
+				file = new File(workspace, path);
+			}
+			if (!file.isFile()) {
+				return "ERROR: Execution context does not exist. Location: " + file.getPath() + "."; //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			try (InputStream in = Files.newInputStream(file.toPath())) {
+				new Properties().load(in);
+			} catch (IOException | IllegalArgumentException e) {
+				return "ERROR: Execution context cannot be read. Location: " + file.getPath() + ". " + e.getMessage(); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Lists the execution context files of a directory on the node.
+	 */
+	private static final class ContextListing extends MasterToSlaveCallable<List<String>, IOException> {
+		private static final long serialVersionUID = -4120935870214463562L;
+
+		private final String directory;
+
+		private ContextListing(String directory) {
+			this.directory = directory;
+		}
+
+		@Override
+		public List<String> call() throws IOException {
+			List<String> names = new ArrayList<>();
+			String[] files = new File(directory).list();
+			if (files != null) {
+				for (String name : files) {
+					if (name.endsWith(CONTEXT_EXTENSION) && !name.equalsIgnoreCase(TEMPLATE_NAME)) {
+						names.add(name);
+					}
+				}
+			}
+			Collections.sort(names);
+			return names;
+		}
+	}
+
+}
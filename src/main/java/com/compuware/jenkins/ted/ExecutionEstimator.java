@@ -0,0 +1,146 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import hudson.Util;
+import hudson.model.Job;
+import net.sf.json.JSONObject;
+
+/**
+ * Estimates the duration of executions from the durations of the latest successful executions of the same
+ * specifications by the job, as recorded in the <code>TEDExecutionIndex</code>.
+ */
+public class ExecutionEstimator {
+
+	private static final int HISTORY = 5;
+
+	private final Job<?, ?> job;
+	private final Map<String, Long> estimates = new HashMap<>();
+
+	/**
+	 * Constructor
+	 * 
+	 * @param job
+	 *            The job whose executions the estimates are based on.
+	 */
+	public ExecutionEstimator(Job<?, ?> job) {
+		this.job = job;
+	}
+
+	/**
+	 * Returns the estimated duration of the execution of a specification, or of a specification list executed with a
+	 * single CLI launch, which is the median duration of its latest successful executions.
+	 * 
+	 * @param name
+	 *            The specification name, or the specification list.
+	 * @param type
+	 *            The specification type, or <code>null</code> for a specification list.
+	 * 
+	 * @return The estimated duration in milliseconds, or <code>null</code> if it has not been executed successfully yet
+	 * 
+	 * @throws IOException
+	 */
+	public Long estimate(String name, SpecificationType type) throws IOException {
+		String key = name + '|' + (type != null ? type.getValue() : ""); //$NON-NLS-1$
+		if (!estimates.containsKey(key)) {
+			List<Long> durations = new ArrayList<>();
+			for (JSONObject result : TEDExecutionIndex.getHistory(job, name, type, HISTORY * 2)) {
+				if (SpecificationStatus.SUCCEEDED.name().equals(result.optString("status")) && durations.size() < HISTORY) { //$NON-NLS-1$
+					durations.add(result.optLong("duration")); //$NON-NLS-1$
+				}
+			}
+			Collections.sort(durations);
+			estimates.put(key, durations.isEmpty() ? null : durations.get(durations.size() / 2));
+		}
+		return estimates.get(key);
+	}
+
+	/**
+	 * Prints when every specification of a plan is estimated to start, simulating the execution of the plan with the
+	 * estimated durations. Specifications without an estimate are counted as taking no time.
+	 * 
+	 * @param plan
+	 *            The plan.
+	 * @param maxParallel
+	 *            The maximum number of specifications executed in parallel.
+	 * @param logger
+	 *            The logger to print to.
+	 * 
+	 * @throws IOException
+	 */
+	public void printSchedule(ExecutionPlan plan, int maxParallel, PrintStream logger) throws IOException {
+		Map<Specification, Integer> pending = new HashMap<>();
+		Deque<Specification> ready = new ArrayDeque<>();
+		for (Specification specification : plan.getSpecifications()) {
+			int count = plan.getDependencies(specification).size();
+			pending.put(specification, count);
+			if (count == 0) {
+				ready.add(specification);
+			}
+		}
+
+		PriorityQueue<Scheduled> running = new PriorityQueue<>((a, b) -> Long.compare(a.end, b.end));
+		long time = 0;
+		int unknown = 0;
+		logger.println("Estimated schedule:"); //$NON-NLS-1$
+		while (!ready.isEmpty() || !running.isEmpty()) {
+			while (!ready.isEmpty() && running.size() < maxParallel) {
+				Specification specification = ready.poll();
+				Long estimate = estimate(specification.getName(), specification.getType());
+				if (estimate == null) {
+					unknown++;
+				}
+				logger.println("  +" + Util.getTimeSpanString(time) + ' ' + specification + " (" //$NON-NLS-1$ //$NON-NLS-2$
+						+ (estimate != null ? "estimated " + Util.getTimeSpanString(estimate) : "not executed successfully yet") + ')'); //$NON-NLS-1$ //$NON-NLS-2$
+				running.add(new Scheduled(specification, time + (estimate != null ? estimate : 0)));
+			}
+
+			Scheduled finished = running.poll();
+			time = finished.end;
+			for (Specification dependent : plan.getDependents(finished.specification)) {
+				if (pending.merge(dependent, -1, Integer::sum) == 0) {
+					ready.add(dependent);
+				}
+			}
+		}
+
+		logger.println("Estimated duration: " + Util.getTimeSpanString(time) //$NON-NLS-1$
+				+ (unknown > 0 ? ", not counting " + unknown + " specification(s) not executed successfully yet." : ".")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	private static final class Scheduled {
+		private final Specification specification;
+		private final long end;
+
+		private Scheduled(Specification specification, long end) {
+			this.specification = specification;
+			this.end = end;
+		}
+	}
+
+}
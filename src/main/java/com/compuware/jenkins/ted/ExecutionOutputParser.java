@@ -0,0 +1,112 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import hudson.console.LineTransformationOutputStream;
+
+/**
+ * Passes the output of the CLI through to the build log, collecting the record counts reported by the CLI into a
+ * <code>SpecificationResult</code> as the lines go by. Only lines mentioning records, in any case, are decoded.
+ */
+public class ExecutionOutputParser extends LineTransformationOutputStream {
+
+	/**
+	 * Matches record counts such as "1,234 records read" or "Records written: 1234".
+	 */
+	private static final Pattern RECORDS_PATTERN = Pattern.compile(
+			"(?i)(?:(\\d[\\d,]*)\\s+records?\\s+(read|extracted|processed|compared|written|loaded|inserted|converted)" //$NON-NLS-1$
+					+ "|records?\\s+(read|extracted|processed|compared|written|loaded|inserted|converted)\\s*[:=]?\\s*(\\d[\\d,]*))"); //$NON-NLS-1$
+	private static final byte[] RECORD = "ecord".getBytes(StandardCharsets.US_ASCII); //$NON-NLS-1$
+	private static final int LOWER_CASE = 0x20;
+
+	private final OutputStream out;
+	private final SpecificationResult result;
+	private final Charset charset;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param out
+	 *            The stream to write to, which is not closed by this stream.
+	 * @param result
+	 *            The result to collect the record counts into.
+	 * @param charset
+	 *            The charset of the output of the CLI, the one of the node.
+	 */
+	public ExecutionOutputParser(OutputStream out, SpecificationResult result, Charset charset) {
+		this.out = out;
+		this.result = result;
+		this.charset = charset;
+	}
+
+	@Override
+	protected void eol(byte[] b, int len) throws IOException {
+		out.write(b, 0, len);
+		if (indexOfIgnoreCase(b, len, RECORD) >= 0) {
+			parse(new String(b, 0, len, charset));
+		}
+	}
+
+	private void parse(String line) {
+		Matcher matcher = RECORDS_PATTERN.matcher(line);
+		while (matcher.find()) {
+			String count = matcher.group(1) != null ? matcher.group(1) : matcher.group(4);
+			String kind = (matcher.group(2) != null ? matcher.group(2) : matcher.group(3)).toLowerCase(Locale.ENGLISH);
+			long records;
+			try {
+				records = Long.parseLong(count.replace(",", "")); //$NON-NLS-1$ //$NON-NLS-2$
+			} catch (NumberFormatException e) {
+				continue;
+			}
+			if (kind.equals("written") || kind.equals("loaded") || kind.equals("inserted")) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				result.addRecords(0, records);
+			} else {
+				result.addRecords(records, 0);
+			}
+		}
+	}
+
+	/**
+	 * Returns the index of a lower case ASCII word in a line, ignoring the case of the line.
+	 */
+	private static int indexOfIgnoreCase(byte[] b, int len, byte[] target) {
+		outer: for (int i = 0; i <= len - target.length; i++) {
+			for (int j = 0; j < target.length; j++) {
+				if ((b[i + j] | LOWER_CASE) != target[j]) {
+					continue outer;
+				}
+			}
+			return i;
+		}
+		return -1;
+	}
+
+	@Override
+	public void close() throws IOException {
+		super.close();
+		out.flush();
+	}
+
+}
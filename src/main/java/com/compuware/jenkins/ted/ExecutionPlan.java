@@ -0,0 +1,320 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.google.common.base.Strings;
+
+/**
+ * The plan to execute a set of specifications, as a graph of the specifications and the specifications they depend on.
+ * <p>
+ * Dependencies are either declared, or, if none are declared, derived from the <code>SpecificationType</code> so that
+ * data is extracted before it is converted, loaded and compared: every specification then depends on the
+ * specifications of the previous phase. Specifications not depending on each other can be executed in parallel.
+ */
+public class ExecutionPlan {
+
+	private final List<Specification> specifications;
+	private final Map<Specification, Collection<Specification>> dependencies = new HashMap<>();
+	private final Map<Specification, Collection<Specification>> dependents = new HashMap<>();
+	private final boolean declared;
+
+	/**
+	 * Constructor, deriving the dependencies from the specification types.
+	 * 
+	 * @param specifications
+	 *            The specifications to execute, without duplicates.
+	 */
+	public ExecutionPlan(Collection<Specification> specifications) {
+		this(specifications, Collections.<String, List<String>> emptyMap());
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param specifications
+	 *            The specifications to execute, without duplicates.
+	 * @param declaredDependencies
+	 *            The names of the specifications each specification depends on, by specification name. If empty, the
+	 *            dependencies are derived from the specification types.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If a dependency is not part of the plan, or the dependencies are cyclic.
+	 */
+	public ExecutionPlan(Collection<Specification> specifications, Map<String, List<String>> declaredDependencies) {
+		this.declared = !declaredDependencies.isEmpty();
+		if (declared) {
+			declareDependencies(specifications, declaredDependencies);
+		} else {
+			deriveDependencies(specifications);
+		}
+		this.specifications = Collections.unmodifiableList(sort(specifications));
+	}
+
+	/**
+	 * Constructor of the plan of the specifications of another plan which have not completed yet. Dependencies on the
+	 * completed specifications are considered satisfied.
+	 */
+	private ExecutionPlan(ExecutionPlan plan, Set<Specification> completed) {
+		this.declared = plan.declared;
+		List<Specification> remaining = new ArrayList<>();
+		for (Specification specification : plan.specifications) {
+			if (!completed.contains(specification)) {
+				remaining.add(specification);
+				for (Specification dependency : plan.getDependencies(specification)) {
+					if (!completed.contains(dependency)) {
+						dependencies.computeIfAbsent(specification, s -> new LinkedHashSet<>()).add(dependency);
+						dependents.computeIfAbsent(dependency, s -> new LinkedHashSet<>()).add(specification);
+					}
+				}
+			}
+		}
+		this.specifications = Collections.unmodifiableList(remaining);
+	}
+
+	/**
+	 * Returns the plan of the specifications of this plan which have not completed yet.
+	 * 
+	 * @param completed
+	 *            The completed specifications.
+	 * 
+	 * @return <code>ExecutionPlan</code>
+	 */
+	public ExecutionPlan without(Collection<Specification> completed) {
+		return new ExecutionPlan(this, new HashSet<>(completed));
+	}
+
+	/**
+	 * Parses declared dependencies. Every line holds a specification name, followed by a colon and the space separated
+	 * names of the specifications it depends on, for example <code>LOADA: EXTRACTA EXTRACTB</code>.
+	 * 
+	 * @param text
+	 *            The declared dependencies.
+	 * 
+	 * @return The names of the specifications each specification depends on, by specification name
+	 */
+	public static Map<String, List<String>> parseDependencies(String text) {
+		Map<String, List<String>> parsed = new LinkedHashMap<>();
+		if (Strings.isNullOrEmpty(text)) {
+			return parsed;
+		}
+
+		for (String line : text.split("\\r?\\n")) { //$NON-NLS-1$
+			String trimmed = line.trim();
+			if (trimmed.isEmpty()) {
+				continue;
+			}
+			int colon = trimmed.indexOf(':');
+			if (colon <= 0) {
+				throw new IllegalArgumentException("Invalid specification dependency \"" + trimmed //$NON-NLS-1$
+						+ "\", expected the specification name followed by a colon and the names of the specifications it depends on."); //$NON-NLS-1$
+			}
+			List<String> names = parsed.computeIfAbsent(trimmed.substring(0, colon).trim(), n -> new ArrayList<>());
+			for (String name : trimmed.substring(colon + 1).trim().split("[\\s,]+")) { //$NON-NLS-1$
+				if (!name.isEmpty()) {
+					names.add(name);
+				}
+			}
+		}
+
+		return parsed;
+	}
+
+	/**
+	 * Returns the specifications of the plan, in an order in which every specification follows its dependencies.
+	 * 
+	 * @return <code>List</code> of <code>Specification</code>
+	 */
+	public List<Specification> getSpecifications() {
+		return specifications;
+	}
+
+	/**
+	 * Returns the specifications the given specification depends on.
+	 * 
+	 * @param specification
+	 *            The specification.
+	 * 
+	 * @return <code>Collection</code> of <code>Specification</code>
+	 */
+	public Collection<Specification> getDependencies(Specification specification) {
+		Collection<Specification> found = dependencies.get(specification);
+		return found != null ? found : Collections.<Specification> emptyList();
+	}
+
+	/**
+	 * Returns the specifications depending on the given specification.
+	 * 
+	 * @param specification
+	 *            The specification.
+	 * 
+	 * @return <code>Collection</code> of <code>Specification</code>
+	 */
+	public Collection<Specification> getDependents(Specification specification) {
+		Collection<Specification> found = dependents.get(specification);
+		return found != null ? found : Collections.<Specification> emptyList();
+	}
+
+	/**
+	 * Returns the number of specifications in the plan.
+	 * 
+	 * @return <code>int</code>
+	 */
+	public int size() {
+		return specifications.size();
+	}
+
+	/**
+	 * Prints the plan, level by level, where the specifications of a level only depend on those of previous levels.
+	 * 
+	 * @param logger
+	 *            The logger to print to.
+	 * @param maxParallel
+	 *            The maximum number of specifications executed in parallel.
+	 */
+	public void print(PrintStream logger, int maxParallel) {
+		Map<Integer, List<Specification>> levels = new TreeMap<>();
+		Map<Specification, Integer> levelOf = new HashMap<>();
+		for (Specification specification : specifications) {
+			int level = 0;
+			for (Specification dependency : getDependencies(specification)) {
+				level = Math.max(level, levelOf.get(dependency) + 1);
+			}
+			levelOf.put(specification, level);
+			levels.computeIfAbsent(level, l -> new ArrayList<>()).add(specification);
+		}
+
+		logger.println("Execution plan: " + size() + " specification(s) in " + levels.size() + " level(s), at most " + maxParallel //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ " in parallel, " + (declared ? "with declared dependencies." : "in phases by specification type.")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		for (Map.Entry<Integer, List<Specification>> level : levels.entrySet()) {
+			logger.println("  Level " + (level.getKey() + 1) + ':'); //$NON-NLS-1$
+			for (Specification specification : level.getValue()) {
+				StringBuilder line = new StringBuilder("    ").append(specification); //$NON-NLS-1$
+				if (declared && !getDependencies(specification).isEmpty()) {
+					line.append(" after"); //$NON-NLS-1$
+					for (Specification dependency : getDependencies(specification)) {
+						line.append(' ').append(dependency.getName());
+					}
+				}
+				logger.println(line);
+			}
+		}
+	}
+
+	private void declareDependencies(Collection<Specification> specifications, Map<String, List<String>> declaredDependencies) {
+		Map<String, List<Specification>> byName = new HashMap<>();
+		for (Specification specification : specifications) {
+			byName.computeIfAbsent(specification.getName(), n -> new ArrayList<>()).add(specification);
+		}
+
+		for (Map.Entry<String, List<String>> entry : declaredDependencies.entrySet()) {
+			List<Specification> dependingSpecifications = resolve(byName, entry.getKey());
+			for (String dependencyName : entry.getValue()) {
+				for (Specification dependency : resolve(byName, dependencyName)) {
+					for (Specification specification : dependingSpecifications) {
+						if (!specification.equals(dependency)) {
+							dependencies.computeIfAbsent(specification, s -> new LinkedHashSet<>()).add(dependency);
+							dependents.computeIfAbsent(dependency, s -> new LinkedHashSet<>()).add(specification);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private static List<Specification> resolve(Map<String, List<Specification>> byName, String name) {
+		List<Specification> resolved = byName.get(name);
+		if (resolved == null) {
+			throw new IllegalArgumentException("Specification " + name + " of the declared dependencies is not part of the execution."); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return resolved;
+	}
+
+	private void deriveDependencies(Collection<Specification> specifications) {
+		Map<Integer, List<Specification>> byPhase = new TreeMap<>();
+		for (Specification specification : specifications) {
+			byPhase.computeIfAbsent(specification.getType().getPhase(), p -> new ArrayList<>()).add(specification);
+		}
+
+		// the collections are shared by all the specifications of a phase, keeping the memory linear in the number of
+		// specifications
+		List<Specification> previous = null;
+		for (List<Specification> phase : byPhase.values()) {
+			List<Specification> current = Collections.unmodifiableList(phase);
+			if (previous != null) {
+				for (Specification specification : previous) {
+					dependents.put(specification, current);
+				}
+				for (Specification specification : current) {
+					dependencies.put(specification, previous);
+				}
+			}
+			previous = current;
+		}
+	}
+
+	private List<Specification> sort(Collection<Specification> unsorted) {
+		Map<Specification, Integer> pending = new HashMap<>();
+		Deque<Specification> ready = new ArrayDeque<>();
+		for (Specification specification : unsorted) {
+			int count = getDependencies(specification).size();
+			pending.put(specification, count);
+			if (count == 0) {
+				ready.add(specification);
+			}
+		}
+
+		List<Specification> sorted = new ArrayList<>(unsorted.size());
+		while (!ready.isEmpty()) {
+			Specification specification = ready.poll();
+			sorted.add(specification);
+			for (Specification dependent : getDependents(specification)) {
+				int count = pending.merge(dependent, -1, Integer::sum);
+				if (count == 0) {
+					ready.add(dependent);
+				}
+			}
+		}
+
+		if (sorted.size() != unsorted.size()) {
+			Set<Specification> cyclic = new LinkedHashSet<>(unsorted);
+			cyclic.removeAll(sorted);
+			StringBuilder names = new StringBuilder();
+			for (Specification specification : cyclic) {
+				names.append(' ').append(specification.getName());
+			}
+			throw new IllegalArgumentException("The declared specification dependencies are cyclic between:" + names); //$NON-NLS-1$
+		}
+
+		return sorted;
+	}
+
+}
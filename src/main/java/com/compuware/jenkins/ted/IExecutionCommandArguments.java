@@ -21,11 +21,15 @@ public interface IExecutionCommandArguments  {
 	String[] COMMAND = new String[] {"-cmd", "-cmd"};
 	String[] REPOSITORY = new String[] {"-repository", "-r"};
 	String[] RESULTS_REPOSITORY = new String[] {"-results-repository", "-rr"};
+	String[] REVISION = new String[] {"-revision", "-rv"};
 	
 	String[] SPECIFICATION = new String[] {"-specification", "-s"};
 	String[] SPECIFICATION_TYPE = new String[] {"-specification-type", "-st"};
 	String[] SPECIFICATION_LIST = new String[] {"-specification-list", "-sl"};
 	
+	String[] ARGUMENT_FILE = new String[] {"-argument-file", "-af"};
+	String[] DATA = new String[] {"-data", "-data"};
+	
 	String[] EXIT_ON_FAILURE = new String[] {"-exit-on-failure", "-eof"};
 	String[] EXECUTION_TIMEOUT = new String[] {"-execution-timeout", "-t"};
 	String[] EXECUTION_CONTEXT = new String[] {"-execution-context", "-ec"}; 
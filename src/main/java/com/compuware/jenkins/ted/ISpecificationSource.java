@@ -0,0 +1,54 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.io.IOException;
+
+/**
+ * A source from which the specifications of a repository can be listed.
+ */
+public interface ISpecificationSource {
+
+	/**
+	 * Returns the scope of the source, for example the execution server it talks to. Listings are cached per scope and
+	 * repository.
+	 * 
+	 * @return <code>String</code>
+	 */
+	String getScope();
+
+	/**
+	 * Lists the specifications of a repository.
+	 * 
+	 * @param repositoryName
+	 *            The name of the repository.
+	 * @param revision
+	 *            The revision of a previously retrieved listing, or <code>null</code> if there is none.
+	 * 
+	 * @return The listing of the repository, or <code>null</code> if the repository has not been modified since the
+	 *         given revision.
+	 * 
+	 * @throws ListingUnsupportedException
+	 *             If the source cannot list repositories at all.
+	 * @throws IOException
+	 *             If the repository could not be listed.
+	 * @throws InterruptedException
+	 *             If the listing was interrupted.
+	 */
+	SpecificationListing list(String repositoryName, String revision) throws IOException, InterruptedException;
+
+}
@@ -0,0 +1,92 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+/**
+ * The settings of an execution that can be shared between jobs through a <code>TEDExecutionProfile</code>: the
+ * execution context and timeout, the CES, Communication Manager, Execution Server and host connections, the JCL
+ * jobcard, the dataset qualifiers and the data privacy overrides.
+ */
+public interface ITEDConnectionSettings {
+
+	String getExecutionContext();
+
+	String getExecutionTimeout();
+
+	boolean getDefineCES();
+
+	String getCesURL();
+
+	boolean getUseCloudCES();
+
+	String getCloudCustomerNo();
+
+	String getCloudSiteID();
+
+	boolean getDefineManager();
+
+	String getCommunicationManager();
+
+	String getCommunicationManagerPort();
+
+	boolean getDefineServer();
+
+	String getExecutionServer();
+
+	String getExecutionServerPort();
+
+	boolean getDefineHost();
+
+	String getConnectionId();
+
+	boolean getIncludeCred();
+
+	String getCredentialsId();
+
+	boolean getDefineJobcard();
+
+	String getJclJobcardLine1();
+
+	String getJclJobcardLine2();
+
+	String getJclJobcardLine3();
+
+	String getJclJobcardLine4();
+
+	String getJclJobcardLine5();
+
+	boolean getDefineQualifiers();
+
+	String getDatasetHighLevelQualifier();
+
+	String getTemporaryDatasetPrefix();
+
+	String getTemporaryDatasetSuffix();
+
+	boolean getDefineDataprivacyOverride();
+
+	String getDpOverrideFADEBUG();
+
+	String getDpOverrideFAEXPATH();
+
+	String getDpOverrideFAIPADDR();
+
+	String getDpOverrideFAJOPTS();
+
+	String getDpOverrideFAJPATH();
+
+}
@@ -0,0 +1,181 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import hudson.model.Job;
+import net.sf.json.JSONObject;
+
+/**
+ * Checks the throughput and the record counts of the specifications of an execution against a baseline, the median
+ * of the latest successful executions of the same specifications recorded in the <code>TEDExecutionIndex</code> of the
+ * job. For an even number of executions, the median is the mean of the two middle values. The number of records of a
+ * specification is the larger of the records read and written.
+ */
+public class RegressionGate {
+
+	private static final int BASELINE = 5;
+
+	private final Job<?, ?> job;
+	private final Double throughputDrop;
+	private final Double recordCountChange;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param job
+	 *            The job.
+	 * @param throughputDrop
+	 *            The percentage the records per second may drop below the baseline, or <code>null</code> not to check
+	 *            the throughput.
+	 * @param recordCountChange
+	 *            The percentage the number of records may differ from the baseline, or <code>null</code> not to check
+	 *            the number of records.
+	 */
+	public RegressionGate(Job<?, ?> job, Double throughputDrop, Double recordCountChange) {
+		this.job = job;
+		this.throughputDrop = throughputDrop;
+		this.recordCountChange = recordCountChange;
+	}
+
+	/**
+	 * Parses a percentage.
+	 * 
+	 * @param value
+	 *            The percentage, may be blank.
+	 * 
+	 * @return The percentage, or <code>null</code> if blank
+	 * 
+	 * @throws NumberFormatException
+	 *             If the value is not a percentage.
+	 */
+	public static Double parsePercentage(String value) {
+		if (value == null || value.trim().isEmpty()) {
+			return null;
+		}
+		double percentage = Double.parseDouble(value.trim());
+		if (percentage < 0 || Double.isNaN(percentage)) {
+			throw new NumberFormatException(value);
+		}
+		return percentage;
+	}
+
+	/**
+	 * Returns if the gate checks anything.
+	 * 
+	 * @return <code>boolean</code>
+	 */
+	public boolean isEnabled() {
+		return throughputDrop != null || recordCountChange != null;
+	}
+
+	/**
+	 * Checks the successful results of an execution, which must not be recorded in the index yet.
+	 * 
+	 * @param results
+	 *            The results of the execution.
+	 * 
+	 * @return The regressions found, empty if none
+	 * 
+	 * @throws IOException
+	 */
+	public List<String> check(List<SpecificationResult> results) throws IOException {
+		List<String> regressions = new ArrayList<>();
+		for (SpecificationResult result : results) {
+			if (result.getStatus() != SpecificationStatus.SUCCEEDED) {
+				continue;
+			}
+			String specification = result.getType() != null ? result.getName() + " (" + result.getType().getDisplayName() + ')' //$NON-NLS-1$
+					: result.getName();
+			regressions.addAll(check(specification, Math.max(result.getRecordsRead(), result.getRecordsWritten()), result.getDuration(),
+					TEDExecutionIndex.getHistory(job, result.getName(), result.getType(), BASELINE * 2)));
+		}
+		return regressions;
+	}
+
+	/**
+	 * Checks a successful result against its history.
+	 * 
+	 * @param specification
+	 *            The specification, as reported.
+	 * @param records
+	 *            The number of records of the result.
+	 * @param duration
+	 *            The duration of the result.
+	 * @param history
+	 *            The previous results of the specification, latest first, see <code>TEDExecutionIndex.getHistory</code>.
+	 * 
+	 * @return The regressions found, empty if none
+	 */
+	List<String> check(String specification, long records, long duration, List<JSONObject> history) {
+		List<Double> throughputs = new ArrayList<>();
+		List<Double> counts = new ArrayList<>();
+		for (JSONObject previous : history) {
+			if (counts.size() < BASELINE && SpecificationStatus.SUCCEEDED.name().equals(previous.optString("status"))) { //$NON-NLS-1$
+				long previousRecords = Math.max(previous.optLong("recordsRead"), previous.optLong("recordsWritten")); //$NON-NLS-1$ //$NON-NLS-2$
+				counts.add((double) previousRecords);
+				Double throughput = getThroughput(previousRecords, previous.optLong("duration")); //$NON-NLS-1$
+				if (throughput != null) {
+					throughputs.add(throughput);
+				}
+			}
+		}
+
+		List<String> regressions = new ArrayList<>();
+		Double throughput = getThroughput(records, duration);
+		Double baselineThroughput = median(throughputs);
+		if (throughputDrop != null && throughput != null && baselineThroughput != null
+				&& throughput < baselineThroughput * (1 - throughputDrop / 100)) {
+			regressions.add(String.format("%s processed %.1f records per second, %.0f%% below the baseline of %.1f", //$NON-NLS-1$
+					specification, throughput, 100 * (1 - throughput / baselineThroughput), baselineThroughput));
+		}
+
+		Double baselineCount = median(counts);
+		if (recordCountChange != null && baselineCount != null && baselineCount > 0
+				&& Math.abs(records - baselineCount) > baselineCount * recordCountChange / 100) {
+			regressions.add(String.format("%s processed %d records, %+.0f%% from the baseline of %.0f", //$NON-NLS-1$
+					specification, records, 100 * (records - baselineCount) / baselineCount, baselineCount));
+		}
+		return regressions;
+	}
+
+	private static Double getThroughput(long records, long duration) {
+		return records > 0 && duration > 0 ? records * 1000.0 / duration : null;
+	}
+
+	/**
+	 * Returns the median of values, the mean of the two middle values for an even number of values.
+	 * 
+	 * @param values
+	 *            The values, which are sorted.
+	 * 
+	 * @return The median, or <code>null</code> if there are no values
+	 */
+	static Double median(List<Double> values) {
+		if (values.isEmpty()) {
+			return null;
+		}
+		Collections.sort(values);
+		int middle = values.size() / 2;
+		return values.size() % 2 == 1 ? values.get(middle) : (values.get(middle - 1) + values.get(middle)) / 2;
+	}
+
+}
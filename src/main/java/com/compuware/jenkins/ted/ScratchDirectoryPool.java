@@ -0,0 +1,154 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import hudson.EnvVars;
+import hudson.FilePath;
+import hudson.model.Node;
+
+/**
+ * Pools the scratch directories of the CLI launches on the nodes, so concurrent launches on the same node do not share
+ * the data directory of the CLI or its temporary files.
+ * <p>
+ * Each launch leases a slot, <code>ted-scratch/slot-&lt;n&gt;</code> in the root directory of the node, the lowest slot
+ * not leased on the node. A slot holds the data directory of the CLI, kept from one launch to the next so the CLI
+ * starts warm, and a temporary directory, emptied in the background once the launch has finished. The slot is only
+ * leased again after it is emptied, so the number of slots of a node stays at the number of launches running on it at
+ * the same time.
+ */
+public final class ScratchDirectoryPool {
+
+	static final String DIRECTORY = "ted-scratch"; //$NON-NLS-1$
+
+	private static final Map<String, BitSet> LEASED = new HashMap<>();
+
+	private ScratchDirectoryPool() {
+	}
+
+	/**
+	 * Leases a slot on a node.
+	 * 
+	 * @param node
+	 *            The node.
+	 * 
+	 * @return The <code>Lease</code> to close once the CLI has finished
+	 * 
+	 * @throws IOException
+	 *             If the node is offline or the directories cannot be created.
+	 * @throws InterruptedException
+	 */
+	public static Lease acquire(Node node) throws IOException, InterruptedException {
+		FilePath root = node.getRootPath();
+		if (root == null) {
+			throw new IOException("Node " + node.getDisplayName() + " is offline"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+
+		String nodeName = node.getNodeName();
+		int slot;
+		synchronized (LEASED) {
+			BitSet leased = LEASED.computeIfAbsent(nodeName, k -> new BitSet());
+			slot = leased.nextClearBit(0);
+			leased.set(slot);
+		}
+
+		Lease lease = new Lease(nodeName, slot, root.child(DIRECTORY).child("slot-" + slot)); //$NON-NLS-1$
+		try {
+			lease.getDataDirectory().mkdirs();
+			lease.getTempDirectory().mkdirs();
+		} catch (IOException | InterruptedException | RuntimeException e) {
+			release(nodeName, slot);
+			throw e;
+		}
+		return lease;
+	}
+
+	private static void release(String nodeName, int slot) {
+		synchronized (LEASED) {
+			BitSet leased = LEASED.get(nodeName);
+			if (leased != null) {
+				leased.clear(slot);
+				if (leased.isEmpty()) {
+					LEASED.remove(nodeName);
+				}
+			}
+		}
+	}
+
+	/**
+	 * A leased slot.
+	 */
+	public static final class Lease implements AutoCloseable {
+		private final String nodeName;
+		private final int slot;
+		private final FilePath directory;
+
+		private Lease(String nodeName, int slot, FilePath directory) {
+			this.nodeName = nodeName;
+			this.slot = slot;
+			this.directory = directory;
+		}
+
+		/**
+		 * Returns the data directory of the CLI.
+		 * 
+		 * @return <code>FilePath</code>
+		 */
+		public FilePath getDataDirectory() {
+			return directory.child("data"); //$NON-NLS-1$
+		}
+
+		/**
+		 * Returns the temporary directory of the CLI.
+		 * 
+		 * @return <code>FilePath</code>
+		 */
+		public FilePath getTempDirectory() {
+			return directory.child("tmp"); //$NON-NLS-1$
+		}
+
+		/**
+		 * Returns the environment of a launch, with the temporary directory of the slot.
+		 * 
+		 * @param env
+		 *            The environment of the build.
+		 * 
+		 * @return <code>EnvVars</code>
+		 */
+		public EnvVars getEnvironment(EnvVars env) {
+			EnvVars launchEnv = new EnvVars(env);
+			String tempDirectory = getTempDirectory().getRemote();
+			launchEnv.put("TMPDIR", tempDirectory); //$NON-NLS-1$
+			launchEnv.put("TMP", tempDirectory); //$NON-NLS-1$
+			launchEnv.put("TEMP", tempDirectory); //$NON-NLS-1$
+			return launchEnv;
+		}
+
+		/**
+		 * Empties the temporary directory in the background, then returns the slot to the pool.
+		 */
+		@Override
+		public void close() {
+			CleanupService.deleteContents(getTempDirectory(), () -> release(nodeName, slot));
+		}
+	}
+
+}
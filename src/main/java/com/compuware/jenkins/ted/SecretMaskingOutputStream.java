@@ -0,0 +1,309 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Masks secrets in the output of the CLI before it reaches the build log.
+ * <p>
+ * All the secrets are matched at once, in a single pass over the bytes, by an Aho-Corasick automaton compiled into a
+ * transition table, so every byte costs a single table lookup whatever the number of secrets. The automaton is
+ * compiled once per set of secrets, as a <code>Matcher</code> shared by the streams masking them. Bytes are only held
+ * back while they could be the start of a secret, so output is neither copied line by line nor decoded, and secrets
+ * split across writes are still masked.
+ * <p>
+ * Every byte of every occurrence of a secret is masked, so overlapping secrets, such as <code>abc</code> and
+ * <code>abcdef</code>, are masked as a whole, the longest secret winning, and adjacent or overlapping occurrences are
+ * masked as a single run.
+ */
+public class SecretMaskingOutputStream extends OutputStream {
+
+	static final int MIN_SECRET_LENGTH = 3;
+	private static final byte[] MASK = "****".getBytes(Charset.forName("US-ASCII")); //$NON-NLS-1$ //$NON-NLS-2$
+
+	private final OutputStream out;
+	private final Matcher matcher;
+	private final byte[] held;
+	private int heldLength;
+	private int state;
+	private long position;
+
+	/**
+	 * The runs of bytes to mask, as start and end positions in the output, not yet written.
+	 */
+	private final Deque<long[]> runs = new ArrayDeque<>();
+
+	/**
+	 * If the mask of the first run has been written already, while the end of the run is still undecided.
+	 */
+	private boolean headMasked;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param out
+	 *            The stream to write to, which is not closed by this stream.
+	 * @param secrets
+	 *            The secrets to mask. Secrets shorter than three characters are not masked, since masking them would
+	 *            mangle the whole log.
+	 * @param charset
+	 *            The charset of the output.
+	 */
+	public SecretMaskingOutputStream(OutputStream out, Collection<String> secrets, Charset charset) {
+		this(out, Matcher.compile(secrets, charset));
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param out
+	 *            The stream to write to, which is not closed by this stream.
+	 * @param matcher
+	 *            The compiled secrets to mask, which can be shared by several streams.
+	 */
+	public SecretMaskingOutputStream(OutputStream out, Matcher matcher) {
+		this.out = out;
+		this.matcher = matcher;
+		held = new byte[Math.max(1, matcher.maxLength)];
+	}
+
+	/**
+	 * The automaton matching a set of secrets, compiled once and shared by the streams masking them, since it holds a
+	 * table of 256 transitions per state.
+	 */
+	public static final class Matcher {
+		private final int[][] transitions;
+		private final int[] depth;
+		private final int[] match;
+		private final int maxLength;
+
+		private Matcher(int[][] transitions, int[] depth, int[] match, int maxLength) {
+			this.transitions = transitions;
+			this.depth = depth;
+			this.match = match;
+			this.maxLength = maxLength;
+		}
+
+		/**
+		 * Compiles the secrets to mask.
+		 * 
+		 * @param secrets
+		 *            The secrets to mask. Secrets shorter than three characters are not masked, since masking them would
+		 *            mangle the whole log.
+		 * @param charset
+		 *            The charset of the output.
+		 * 
+		 * @return The <code>Matcher</code>
+		 */
+		public static Matcher compile(Collection<String> secrets, Charset charset) {
+			Set<String> distinctSecrets = new LinkedHashSet<>();
+			for (String secret : secrets) {
+				if (secret != null && secret.length() >= MIN_SECRET_LENGTH) {
+					distinctSecrets.add(secret);
+				}
+			}
+
+			// build the trie
+			List<int[]> trie = new ArrayList<>();
+			List<Integer> depths = new ArrayList<>();
+			List<Integer> matches = new ArrayList<>();
+			trie.add(newState());
+			depths.add(0);
+			matches.add(0);
+			int maxLength = 0;
+			for (String secret : distinctSecrets) {
+				byte[] pattern = secret.getBytes(charset);
+				int current = 0;
+				for (byte b : pattern) {
+					int next = trie.get(current)[b & 0xff];
+					if (next <= 0) {
+						next = trie.size();
+						trie.add(newState());
+						depths.add(depths.get(current) + 1);
+						matches.add(0);
+						trie.get(current)[b & 0xff] = next;
+					}
+					current = next;
+				}
+				matches.set(current, pattern.length);
+				maxLength = Math.max(maxLength, pattern.length);
+			}
+
+			int[][] transitions = trie.toArray(new int[trie.size()][]);
+			int[] depth = new int[transitions.length];
+			int[] match = new int[transitions.length];
+			for (int i = 0; i < transitions.length; i++) {
+				depth[i] = depths.get(i);
+				match[i] = matches.get(i);
+			}
+
+			// resolve the failure links into the transition table, breadth first
+			int[] failure = new int[transitions.length];
+			Deque<Integer> queue = new ArrayDeque<>();
+			for (int c = 0; c < 256; c++) {
+				int next = transitions[0][c];
+				if (next > 0) {
+					failure[next] = 0;
+					queue.add(next);
+				} else {
+					transitions[0][c] = 0;
+				}
+			}
+			while (!queue.isEmpty()) {
+				int current = queue.poll();
+				if (match[current] == 0) {
+					// a secret ending inside a longer candidate
+					match[current] = match[failure[current]];
+				}
+				for (int c = 0; c < 256; c++) {
+					int next = transitions[current][c];
+					if (next > 0) {
+						failure[next] = transitions[failure[current]][c];
+						queue.add(next);
+					} else {
+						transitions[current][c] = transitions[failure[current]][c];
+					}
+				}
+			}
+
+			return new Matcher(transitions, depth, match, maxLength);
+		}
+
+		private static int[] newState() {
+			int[] state = new int[256];
+			Arrays.fill(state, -1);
+			return state;
+		}
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		write(new byte[] { (byte) b }, 0, 1);
+	}
+
+	@Override
+	public synchronized void write(byte[] b, int off, int len) throws IOException {
+		int[][] transitions = matcher.transitions;
+		int[] depth = matcher.depth;
+		int[] match = matcher.match;
+		if (transitions.length == 1) {
+			out.write(b, off, len);
+			return;
+		}
+
+		// positions are absolute in the output, the held bytes starting at heldStart followed by b[off, off + len)
+		long heldStart = position - heldLength;
+		for (int i = 0; i < len; i++) {
+			state = transitions[state][b[off + i] & 0xff];
+			if (match[state] > 0) {
+				long end = position + i + 1;
+				long start = end - match[state];
+				// merge the runs overlapping or touching the occurrence
+				while (!runs.isEmpty() && runs.peekLast()[1] >= start) {
+					start = Math.min(start, runs.pollLast()[0]);
+				}
+				runs.addLast(new long[] { start, end });
+			}
+		}
+		position += len;
+
+		// no occurrence still to come can start before the bytes that could be the start of a secret
+		long decided = position - depth[state];
+		emit(b, off, heldStart, decided);
+
+		// hold back the bytes that could be the start of a secret
+		byte[] kept = new byte[depth[state]];
+		for (int i = 0; i < kept.length; i++) {
+			kept[i] = byteAt(b, off, heldStart, decided + i);
+		}
+		System.arraycopy(kept, 0, held, 0, kept.length);
+		heldLength = kept.length;
+	}
+
+	/**
+	 * Writes the bytes from the held bytes up to a position, masking the runs starting before that position.
+	 */
+	private void emit(byte[] b, int off, long heldStart, long to) throws IOException {
+		long from = heldStart;
+		while (!runs.isEmpty() && runs.peekFirst()[0] < to) {
+			long[] run = runs.peekFirst();
+			write(b, off, heldStart, from, run[0]);
+			if (!headMasked) {
+				out.write(MASK);
+			}
+			if (run[1] >= to) {
+				// the run can still grow
+				headMasked = true;
+				return;
+			}
+			runs.pollFirst();
+			headMasked = false;
+			from = run[1];
+		}
+		write(b, off, heldStart, from, to);
+	}
+
+	private void write(byte[] b, int off, long heldStart, long from, long to) throws IOException {
+		long heldEnd = heldStart + heldLength;
+		if (from < heldEnd) {
+			long end = Math.min(to, heldEnd);
+			if (end > from) {
+				out.write(held, (int) (from - heldStart), (int) (end - from));
+			}
+			from = heldEnd;
+		}
+		if (to > from) {
+			out.write(b, off + (int) (from - heldEnd), (int) (to - from));
+		}
+	}
+
+	private byte byteAt(byte[] b, int off, long heldStart, long at) {
+		long heldEnd = heldStart + heldLength;
+		return at < heldEnd ? held[(int) (at - heldStart)] : b[off + (int) (at - heldEnd)];
+	}
+
+	@Override
+	public synchronized void flush() throws IOException {
+		out.flush();
+	}
+
+	/**
+	 * Writes the bytes held back, which can no longer be the start of a secret, and flushes the underlying stream
+	 * without closing it.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		emit(held, 0, position - heldLength, position);
+		runs.clear();
+		headMasked = false;
+		heldLength = 0;
+		state = 0;
+		out.flush();
+	}
+
+}
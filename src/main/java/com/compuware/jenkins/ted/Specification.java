@@ -0,0 +1,87 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A specification of a repository, identified by its name and type.
+ */
+public final class Specification implements Serializable {
+	private static final long serialVersionUID = 4352918317446601273L;
+
+	private final String name;
+	private final SpecificationType type;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param name
+	 *            The specification name.
+	 * @param type
+	 *            The specification type.
+	 */
+	public Specification(String name, SpecificationType type) {
+		this.name = name;
+		this.type = type;
+	}
+
+	/**
+	 * Returns the specification name.
+	 * 
+	 * @return <code>String</code>
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns the specification type.
+	 * 
+	 * @return <code>SpecificationType</code>
+	 */
+	public SpecificationType getType() {
+		return type;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof Specification)) {
+			return false;
+		}
+		Specification other = (Specification) obj;
+		return name.equals(other.name) && type == other.type;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(name, type);
+	}
+
+	/**
+	 * Returns the specification as it is passed in a specification list, i.e. the name and type separated by a space.
+	 */
+	@Override
+	public String toString() {
+		return name + ' ' + type.getValue();
+	}
+
+}
@@ -0,0 +1,299 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import jenkins.util.SystemProperties;
+
+/**
+ * Caches the specification listings of repositories.
+ * <p>
+ * A listing is served from the cache for a time-to-live after it was retrieved or last validated. Once expired, the
+ * source is asked for the listing conditionally on the cached revision, so an unmodified repository only costs a
+ * revision check instead of a full listing.
+ * <p>
+ * At most <code>maxListings</code> listings are cached, the least recently used being evicted first, and a listing
+ * not validated for <code>maxAge</code> is dropped.
+ */
+public final class SpecificationCatalog {
+
+	/**
+	 * Time-to-live, in milliseconds, of a cached listing.
+	 */
+	private static final long TTL = SystemProperties.getLong(SpecificationCatalog.class.getName() + ".ttl", //$NON-NLS-1$
+			TimeUnit.MINUTES.toMillis(5));
+
+	/**
+	 * Maximum number of cached listings.
+	 */
+	private static final int MAX_LISTINGS = SystemProperties.getInteger(SpecificationCatalog.class.getName() + ".maxListings", 100); //$NON-NLS-1$
+
+	/**
+	 * Time, in milliseconds, after which a listing not validated is dropped from the cache.
+	 */
+	private static final long MAX_AGE = SystemProperties.getLong(SpecificationCatalog.class.getName() + ".maxAge", //$NON-NLS-1$
+			TimeUnit.HOURS.toMillis(1));
+
+	private static final Map<String, CachedListing> CACHE = new LinkedHashMap<String, CachedListing>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, CachedListing> eldest) {
+			return size() > MAX_LISTINGS;
+		}
+	};
+
+	/**
+	 * Striped locks, so a repository is listed once at a time without keeping a lock per repository.
+	 */
+	private static final Object[] LOCKS = new Object[64];
+
+	static {
+		for (int i = 0; i < LOCKS.length; i++) {
+			LOCKS[i] = new Object();
+		}
+	}
+
+	private SpecificationCatalog() {
+	}
+
+	/**
+	 * Returns the listing of a repository, retrieving it from the source if it is not cached or has expired.
+	 * 
+	 * @param repositoryName
+	 *            The name of the repository.
+	 * @param source
+	 *            The source to list the repository from.
+	 * 
+	 * @return <code>SpecificationListing</code>
+	 * 
+	 * @throws IOException
+	 *             If the repository could not be listed.
+	 * @throws InterruptedException
+	 *             If the listing was interrupted.
+	 */
+	public static SpecificationListing getListing(String repositoryName, ISpecificationSource source) throws IOException, InterruptedException {
+		return getListing(repositoryName, source, false);
+	}
+
+	/**
+	 * Returns the cached listing of a repository without contacting any source.
+	 * 
+	 * @param scope
+	 *            The scope of the source.
+	 * @param repositoryName
+	 *            The name of the repository.
+	 * 
+	 * @return <code>SpecificationListing</code>, or <code>null</code> if the repository has not been listed yet.
+	 */
+	public static SpecificationListing getCachedListing(String scope, String repositoryName) {
+		CachedListing cached = get(key(scope, repositoryName));
+		return cached != null ? cached.listing : null;
+	}
+
+	/**
+	 * Returns the cached listings of a repository, of every scope.
+	 * 
+	 * @param repositoryName
+	 *            The name of the repository.
+	 * 
+	 * @return <code>List</code> of <code>SpecificationListing</code>
+	 */
+	public static List<SpecificationListing> getCachedListings(String repositoryName) {
+		List<SpecificationListing> listings = new ArrayList<>();
+		synchronized (CACHE) {
+			long now = System.currentTimeMillis();
+			for (Iterator<CachedListing> it = CACHE.values().iterator(); it.hasNext();) {
+				CachedListing cached = it.next();
+				if (now - cached.validatedAt >= MAX_AGE) {
+					it.remove();
+				} else if (cached.listing.getRepositoryName().equalsIgnoreCase(repositoryName)) {
+					listings.add(cached.listing);
+				}
+			}
+		}
+		return listings;
+	}
+
+	/**
+	 * Returns if a specification exists in a repository, as far as is known without an unconditional listing.
+	 * <p>
+	 * If the repository has been listed before and the specification is not in the cached listing, the listing is
+	 * revalidated, as the specification may have been created since.
+	 * 
+	 * @param repositoryName
+	 *            The name of the repository.
+	 * @param name
+	 *            The specification name.
+	 * @param type
+	 *            The specification type.
+	 * @param source
+	 *            The source to list the repository from.
+	 * 
+	 * @return <code>Boolean</code>, or <code>null</code> if the repository has not been listed yet.
+	 * 
+	 * @throws IOException
+	 *             If the repository could not be listed.
+	 * @throws InterruptedException
+	 *             If the listing was interrupted.
+	 */
+	public static Boolean exists(String repositoryName, String name, SpecificationType type, ISpecificationSource source)
+			throws IOException, InterruptedException {
+		SpecificationListing listing = getCachedListing(source.getScope(), repositoryName);
+		if (listing == null) {
+			return null;
+		}
+		if (listing.contains(name, type)) {
+			return Boolean.TRUE;
+		}
+		return getListing(repositoryName, source, true).contains(name, type);
+	}
+
+	/**
+	 * Expands a specification name pattern into the names of the matching specifications of the repository.
+	 * 
+	 * @param repositoryName
+	 *            The name of the repository.
+	 * @param pattern
+	 *            The name pattern, where <code>*</code> matches any sequence of characters and <code>?</code> any single
+	 *            character.
+	 * @param type
+	 *            The specification type.
+	 * @param source
+	 *            The source to list the repository from.
+	 * 
+	 * @return <code>List</code> of matching specification names, in name order
+	 * 
+	 * @throws IOException
+	 *             If the repository could not be listed.
+	 * @throws InterruptedException
+	 *             If the listing was interrupted.
+	 */
+	public static List<String> expand(String repositoryName, String pattern, SpecificationType type, ISpecificationSource source)
+			throws IOException, InterruptedException {
+		return getListing(repositoryName, source).match(toPattern(pattern), type);
+	}
+
+	/**
+	 * Returns if a specification name is a pattern rather than a literal name.
+	 * 
+	 * @param name
+	 *            The specification name.
+	 * 
+	 * @return <code>true</code> if the name contains wildcards, otherwise <code>false</code>.
+	 */
+	public static boolean isPattern(String name) {
+		return name != null && (name.indexOf('*') >= 0 || name.indexOf('?') >= 0);
+	}
+
+	/**
+	 * Compiles a specification name pattern.
+	 * 
+	 * @param pattern
+	 *            The name pattern, where <code>*</code> matches any sequence of characters and <code>?</code> any single
+	 *            character.
+	 * 
+	 * @return <code>Pattern</code>
+	 */
+	public static Pattern toPattern(String pattern) {
+		StringBuilder regex = new StringBuilder();
+		StringBuilder literal = new StringBuilder();
+
+		for (char c : pattern.toCharArray()) {
+			if (c == '*' || c == '?') {
+				if (literal.length() > 0) {
+					regex.append(Pattern.quote(literal.toString()));
+					literal.setLength(0);
+				}
+				regex.append(c == '*' ? ".*" : "."); //$NON-NLS-1$ //$NON-NLS-2$
+			} else {
+				literal.append(c);
+			}
+		}
+		if (literal.length() > 0) {
+			regex.append(Pattern.quote(literal.toString()));
+		}
+
+		return Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE);
+	}
+
+	private static SpecificationListing getListing(String repositoryName, ISpecificationSource source, boolean revalidate)
+			throws IOException, InterruptedException {
+		String key = key(source.getScope(), repositoryName);
+
+		synchronized (LOCKS[(key.hashCode() & Integer.MAX_VALUE) % LOCKS.length]) {
+			CachedListing cached = get(key);
+			long now = System.currentTimeMillis();
+
+			if (cached != null && !revalidate && now - cached.validatedAt < TTL) {
+				return cached.listing;
+			}
+
+			SpecificationListing listing = source.list(repositoryName, cached != null ? cached.listing.getRevision() : null);
+			if (listing == null && cached != null) {
+				// not modified since the cached revision
+				cached.validatedAt = now;
+				return cached.listing;
+			}
+			if (listing == null) {
+				throw new IOException("No listing was returned for repository " + repositoryName); //$NON-NLS-1$
+			}
+
+			synchronized (CACHE) {
+				CACHE.put(key, new CachedListing(listing, now));
+			}
+			return listing;
+		}
+	}
+
+	private static CachedListing get(String key) {
+		synchronized (CACHE) {
+			CachedListing cached = CACHE.get(key);
+			if (cached != null && System.currentTimeMillis() - cached.validatedAt >= MAX_AGE) {
+				CACHE.remove(key);
+				return null;
+			}
+			return cached;
+		}
+	}
+
+	private static String key(String scope, String repositoryName) {
+		return scope + '|' + repositoryName;
+	}
+
+	/**
+	 * A listing along with the time it was last validated.
+	 */
+	private static class CachedListing {
+		private final SpecificationListing listing;
+		private volatile long validatedAt;
+
+		private CachedListing(SpecificationListing listing, long validatedAt) {
+			this.listing = listing;
+			this.validatedAt = validatedAt;
+		}
+	}
+
+}
@@ -0,0 +1,233 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+/**
+ * Executes the specifications of an <code>ExecutionPlan</code>, starting every specification as soon as all the
+ * specifications it depends on have succeeded. A failed specification only causes the specifications depending on it,
+ * directly or indirectly, to be skipped, unless the execution is to exit on failure, in which case no further
+ * specification is started at all. A specification whose execution throws an exception fails the same way, with the
+ * exit value <code>EXCEPTION_EXIT_VALUE</code>, while the other specifications carry on.
+ */
+public class SpecificationGraphExecutor {
+
+	/**
+	 * The exit value of a specification whose execution threw an exception.
+	 */
+	public static final int EXCEPTION_EXIT_VALUE = -1;
+
+	/**
+	 * The execution of a single specification.
+	 */
+	public interface SpecificationTask {
+
+		/**
+		 * Executes the specification.
+		 * 
+		 * @param specification
+		 *            The specification to execute.
+		 * 
+		 * @return The exit value, <code>0</code> if the specification succeeded
+		 * 
+		 * @throws IOException
+		 * @throws InterruptedException
+		 */
+		int execute(Specification specification) throws IOException, InterruptedException;
+	}
+
+	private final ExecutionPlan plan;
+	private final ExecutorService executor;
+	private final boolean exitOnFailure;
+	private final PrintStream logger;
+	private final Map<Specification, SpecificationStatus> statuses = new LinkedHashMap<>();
+	private BiConsumer<Specification, SpecificationStatus> statusListener = (specification, status) -> {
+	};
+	private BiConsumer<Specification, String> errorListener = (specification, error) -> {
+	};
+
+	/**
+	 * Constructor
+	 * 
+	 * @param plan
+	 *            The plan to execute.
+	 * @param executor
+	 *            The executor to execute the specifications with, bounding the number of parallel executions.
+	 * @param exitOnFailure
+	 *            <code>true</code> if no further specification is to be started after a failure.
+	 * @param logger
+	 *            The logger to report skipped specifications to.
+	 */
+	public SpecificationGraphExecutor(ExecutionPlan plan, ExecutorService executor, boolean exitOnFailure, PrintStream logger) {
+		this.plan = plan;
+		this.executor = executor;
+		this.exitOnFailure = exitOnFailure;
+		this.logger = logger;
+	}
+
+	/**
+	 * Sets the listener notified as soon as a specification has succeeded, failed or been skipped.
+	 * 
+	 * @param statusListener
+	 *            The listener.
+	 */
+	public void setStatusListener(BiConsumer<Specification, SpecificationStatus> statusListener) {
+		this.statusListener = statusListener;
+	}
+
+	/**
+	 * Sets the listener notified with the message of the exception a specification failed with, before it is notified
+	 * of the failure.
+	 * 
+	 * @param errorListener
+	 *            The listener.
+	 */
+	public void setErrorListener(BiConsumer<Specification, String> errorListener) {
+		this.errorListener = errorListener;
+	}
+
+	/**
+	 * Executes the plan.
+	 * 
+	 * @param task
+	 *            The execution of a single specification.
+	 * 
+	 * @return <code>0</code> if all the specifications succeeded, otherwise the exit value of the first failed
+	 *         specification
+	 * 
+	 * @throws InterruptedException
+	 *             If the execution was interrupted, leaving the specifications still running to the caller.
+	 */
+	public int execute(final SpecificationTask task) throws InterruptedException {
+		CompletionService<Integer> completionService = new ExecutorCompletionService<>(executor);
+		Map<Future<Integer>, Specification> running = new HashMap<>();
+		Map<Specification, Integer> pending = new HashMap<>();
+		Deque<Specification> ready = new ArrayDeque<>();
+		int exitValue = 0;
+
+		for (Specification specification : plan.getSpecifications()) {
+			int count = plan.getDependencies(specification).size();
+			pending.put(specification, count);
+			if (count == 0) {
+				ready.add(specification);
+			}
+		}
+
+		do {
+			while (!ready.isEmpty() && (exitValue == 0 || !exitOnFailure)) {
+				final Specification specification = ready.poll();
+				running.put(completionService.submit(() -> task.execute(specification)), specification);
+			}
+			if (running.isEmpty()) {
+				break;
+			}
+
+			Future<Integer> completed = completionService.take();
+			Specification specification = running.remove(completed);
+			int specExitValue = getExitValue(completed, specification);
+
+			if (specExitValue == 0) {
+				setStatus(specification, SpecificationStatus.SUCCEEDED);
+				for (Specification dependent : plan.getDependents(specification)) {
+					if (pending.merge(dependent, -1, Integer::sum) == 0 && !statuses.containsKey(dependent)) {
+						ready.add(dependent);
+					}
+				}
+			} else {
+				setStatus(specification, SpecificationStatus.FAILED);
+				if (exitValue == 0) {
+					exitValue = specExitValue;
+				}
+				skipDependents(specification);
+			}
+		} while (true);
+
+		for (Specification specification : plan.getSpecifications()) {
+			if (!statuses.containsKey(specification)) {
+				setStatus(specification, SpecificationStatus.SKIPPED);
+				logger.println("Specification " + specification + " skipped because of a previous failure (\"exit on failure\" is true)."); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+
+		return exitValue;
+	}
+
+	/**
+	 * Returns the status of every specification of the plan, once it has been executed.
+	 * 
+	 * @return <code>Map</code> of the <code>SpecificationStatus</code> by <code>Specification</code>, in completion order
+	 */
+	public Map<Specification, SpecificationStatus> getStatuses() {
+		return Collections.unmodifiableMap(statuses);
+	}
+
+	private void setStatus(Specification specification, SpecificationStatus status) {
+		statuses.put(specification, status);
+		statusListener.accept(specification, status);
+	}
+
+	private void skipDependents(Specification failed) {
+		Deque<Specification> toSkip = new ArrayDeque<>(plan.getDependents(failed));
+		while (!toSkip.isEmpty()) {
+			Specification specification = toSkip.poll();
+			if (!statuses.containsKey(specification)) {
+				setStatus(specification, SpecificationStatus.SKIPPED);
+				logger.println("Specification " + specification + " skipped because " + failed + " failed."); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				toSkip.addAll(plan.getDependents(specification));
+			}
+		}
+	}
+
+	/**
+	 * Returns the exit value of a completed specification, or <code>EXCEPTION_EXIT_VALUE</code> if its execution threw
+	 * an exception, which is reported to the logger and the error listener.
+	 */
+	private int getExitValue(final Future<Integer> future, final Specification specification) throws InterruptedException {
+		String error;
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof InterruptedException) {
+				throw (InterruptedException) cause;
+			}
+			error = cause.getMessage() != null ? cause.getMessage() : cause.toString();
+		} catch (CancellationException e) {
+			error = "Execution cancelled"; //$NON-NLS-1$
+		}
+
+		logger.println("Specification " + specification + " failed: " + error); //$NON-NLS-1$ //$NON-NLS-2$
+		errorListener.accept(specification, error);
+		return EXCEPTION_EXIT_VALUE;
+	}
+
+}
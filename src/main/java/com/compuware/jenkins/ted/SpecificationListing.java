@@ -0,0 +1,162 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * The specifications of a repository, grouped by <code>SpecificationType</code>.
+ */
+public class SpecificationListing {
+
+	private final String repositoryName;
+	private final String revision;
+	private final Map<SpecificationType, SortedSet<String>> specifications;
+	private final Map<String, List<Specification>> taggedSpecifications;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param repositoryName
+	 *            The name of the repository.
+	 * @param revision
+	 *            The revision of the repository, or <code>null</code> if the source does not provide one.
+	 * @param specifications
+	 *            The specification names, grouped by type.
+	 */
+	public SpecificationListing(String repositoryName, String revision, Map<SpecificationType, SortedSet<String>> specifications) {
+		this(repositoryName, revision, specifications, Collections.<String, List<Specification>> emptyMap());
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param repositoryName
+	 *            The name of the repository.
+	 * @param revision
+	 *            The revision of the repository, or <code>null</code> if the source does not provide one.
+	 * @param specifications
+	 *            The specification names, grouped by type.
+	 * @param taggedSpecifications
+	 *            The specifications, grouped by the tags they are labeled with.
+	 */
+	public SpecificationListing(String repositoryName, String revision, Map<SpecificationType, SortedSet<String>> specifications,
+			Map<String, List<Specification>> taggedSpecifications) {
+		this.repositoryName = repositoryName;
+		this.revision = revision;
+		this.specifications = new EnumMap<>(SpecificationType.class);
+		this.taggedSpecifications = new HashMap<>();
+
+		for (Map.Entry<SpecificationType, SortedSet<String>> entry : specifications.entrySet()) {
+			this.specifications.put(entry.getKey(), Collections.unmodifiableSortedSet(new TreeSet<>(entry.getValue())));
+		}
+		for (Map.Entry<String, List<Specification>> entry : taggedSpecifications.entrySet()) {
+			this.taggedSpecifications.computeIfAbsent(entry.getKey().toLowerCase(Locale.ENGLISH), t -> new ArrayList<>()).addAll(entry.getValue());
+		}
+		for (Map.Entry<String, List<Specification>> entry : this.taggedSpecifications.entrySet()) {
+			entry.setValue(Collections.unmodifiableList(entry.getValue()));
+		}
+	}
+
+	/**
+	 * Returns the name of the repository.
+	 * 
+	 * @return <code>String</code>
+	 */
+	public String getRepositoryName() {
+		return repositoryName;
+	}
+
+	/**
+	 * Returns the revision of the repository.
+	 * 
+	 * @return <code>String</code>, or <code>null</code> if the source does not provide one.
+	 */
+	public String getRevision() {
+		return revision;
+	}
+
+	/**
+	 * Returns the names of the specifications of the given type.
+	 * 
+	 * @param type
+	 *            The specification type.
+	 * 
+	 * @return <code>SortedSet</code> of specification names
+	 */
+	public SortedSet<String> getSpecifications(SpecificationType type) {
+		SortedSet<String> names = specifications.get(type);
+		return names != null ? names : Collections.<String> emptySortedSet();
+	}
+
+	/**
+	 * Returns the specifications labeled with the given tag, ignoring the case of the tag.
+	 * 
+	 * @param tag
+	 *            The tag.
+	 * 
+	 * @return <code>List</code> of <code>Specification</code>
+	 */
+	public List<Specification> getTaggedSpecifications(String tag) {
+		List<Specification> tagged = taggedSpecifications.get(tag.toLowerCase(Locale.ENGLISH));
+		return tagged != null ? tagged : Collections.<Specification> emptyList();
+	}
+
+	/**
+	 * Returns if the repository contains the given specification.
+	 * 
+	 * @param name
+	 *            The specification name.
+	 * @param type
+	 *            The specification type.
+	 * 
+	 * @return <code>true</code> if the specification is contained, otherwise <code>false</code>.
+	 */
+	public boolean contains(String name, SpecificationType type) {
+		return getSpecifications(type).contains(name);
+	}
+
+	/**
+	 * Returns the names of the specifications of the given type matching a name pattern.
+	 * 
+	 * @param pattern
+	 *            The compiled name pattern.
+	 * @param type
+	 *            The specification type.
+	 * 
+	 * @return <code>List</code> of matching specification names, in name order
+	 */
+	public List<String> match(Pattern pattern, SpecificationType type) {
+		List<String> matches = new ArrayList<>();
+		for (String name : getSpecifications(type)) {
+			if (pattern.matcher(name).matches()) {
+				matches.add(name);
+			}
+		}
+		return matches;
+	}
+
+}
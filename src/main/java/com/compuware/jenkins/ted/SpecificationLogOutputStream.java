@@ -0,0 +1,62 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import hudson.console.LineTransformationOutputStream;
+
+/**
+ * Prefixes every line written to the build log with the specification it belongs to, so the output of specifications
+ * executed in parallel can be told apart. Every line is written to the log with a single write, keeping lines of
+ * different specifications from interleaving.
+ */
+public class SpecificationLogOutputStream extends LineTransformationOutputStream {
+
+	private final OutputStream out;
+	private final byte[] prefix;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param out
+	 *            The stream to write to, which is not closed by this stream.
+	 * @param specification
+	 *            The specification the output belongs to.
+	 */
+	public SpecificationLogOutputStream(OutputStream out, Specification specification) {
+		this.out = out;
+		this.prefix = ("[" + specification.getName() + "] ").getBytes(StandardCharsets.UTF_8); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Override
+	protected void eol(byte[] b, int len) throws IOException {
+		byte[] line = new byte[prefix.length + len];
+		System.arraycopy(prefix, 0, line, 0, prefix.length);
+		System.arraycopy(b, 0, line, prefix.length, len);
+		out.write(line, 0, line.length);
+	}
+
+	@Override
+	public void close() throws IOException {
+		super.close();
+		out.flush();
+	}
+
+}
@@ -0,0 +1,227 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.io.Serializable;
+
+import org.kohsuke.stapler.export.Exported;
+import org.kohsuke.stapler.export.ExportedBean;
+
+import net.sf.json.JSONObject;
+
+/**
+ * The result of the execution of a specification, or of a specification list executed with a single CLI launch. The
+ * result is updated while the specification executes, and exported through the API of the
+ * <code>TEDExecutionAction</code>.
+ */
+@ExportedBean(defaultVisibility = 2)
+public class SpecificationResult implements Serializable {
+	private static final long serialVersionUID = -6521932437795520741L;
+
+	private final String name;
+	private final SpecificationType type;
+	private volatile SpecificationStatus status = SpecificationStatus.QUEUED;
+	private volatile long startTime;
+	private volatile long duration;
+	private volatile int exitValue;
+	private volatile long recordsRead;
+	private volatile long recordsWritten;
+	private String errorOutput;
+	private String temporaryDatasetPrefix;
+	private String temporaryDatasetSuffix;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param name
+	 *            The specification name, or the specification list.
+	 * @param type
+	 *            The specification type, or <code>null</code> for a specification list.
+	 */
+	public SpecificationResult(String name, SpecificationType type) {
+		this.name = name;
+		this.type = type;
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param specification
+	 *            The specification.
+	 */
+	public SpecificationResult(Specification specification) {
+		this(specification.getName(), specification.getType());
+	}
+
+	/**
+	 * Records the start of the execution.
+	 */
+	public void started() {
+		startTime = System.currentTimeMillis();
+		status = SpecificationStatus.RUNNING;
+	}
+
+	/**
+	 * Records the end of the execution.
+	 * 
+	 * @param exitValue
+	 *            The exit value of the CLI.
+	 */
+	public void finished(int exitValue) {
+		this.duration = System.currentTimeMillis() - startTime;
+		this.exitValue = exitValue;
+		this.status = exitValue == 0 ? SpecificationStatus.SUCCEEDED : SpecificationStatus.FAILED;
+	}
+
+	/**
+	 * Adds to the records read and written so far.
+	 * 
+	 * @param read
+	 *            The number of records read.
+	 * @param written
+	 *            The number of records written.
+	 */
+	public synchronized void addRecords(long read, long written) {
+		recordsRead += read;
+		recordsWritten += written;
+	}
+
+	@Exported
+	public String getName() {
+		return name;
+	}
+
+	@Exported
+	public SpecificationType getType() {
+		return type;
+	}
+
+	@Exported
+	public SpecificationStatus getStatus() {
+		return status;
+	}
+
+	public void setStatus(SpecificationStatus status) {
+		this.status = status;
+	}
+
+	@Exported
+	public long getStartTime() {
+		return startTime;
+	}
+
+	@Exported
+	public long getDuration() {
+		return duration;
+	}
+
+	@Exported
+	public int getExitValue() {
+		return exitValue;
+	}
+
+	@Exported
+	public long getRecordsRead() {
+		return recordsRead;
+	}
+
+	@Exported
+	public long getRecordsWritten() {
+		return recordsWritten;
+	}
+
+	/**
+	 * Returns the tail of the error output of the CLI.
+	 * 
+	 * @return <code>String</code>, or <code>null</code> if there was no error output
+	 */
+	@Exported
+	public String getErrorOutput() {
+		return errorOutput;
+	}
+
+	public void setErrorOutput(String errorOutput) {
+		this.errorOutput = errorOutput;
+	}
+
+	/**
+	 * Returns the prefix of the temporary datasets of the execution.
+	 * 
+	 * @return <code>String</code>, or <code>null</code> if no prefix was passed to the CLI
+	 */
+	@Exported
+	public String getTemporaryDatasetPrefix() {
+		return temporaryDatasetPrefix;
+	}
+
+	/**
+	 * Returns the suffix of the temporary datasets of the execution, unique to the execution.
+	 * 
+	 * @return <code>String</code>, or <code>null</code> if the specification was not executed on its own
+	 */
+	@Exported
+	public String getTemporaryDatasetSuffix() {
+		return temporaryDatasetSuffix;
+	}
+
+	/**
+	 * Records the qualifiers of the temporary datasets the CLI creates for the execution, so they can be found and
+	 * deleted on the host once the build is done with them.
+	 * 
+	 * @param prefix
+	 *            The prefix, or <code>null</code> if there is none.
+	 * @param suffix
+	 *            The suffix.
+	 */
+	public void setTemporaryDatasets(String prefix, String suffix) {
+		this.temporaryDatasetPrefix = prefix;
+		this.temporaryDatasetSuffix = suffix;
+	}
+
+	/**
+	 * Returns the time the specification has been executing, or has executed.
+	 * 
+	 * @return <code>long</code>, in milliseconds
+	 */
+	@Exported
+	public long getElapsedTime() {
+		SpecificationStatus current = status;
+		if (current == SpecificationStatus.QUEUED || current == SpecificationStatus.SKIPPED) {
+			return 0;
+		}
+		return current == SpecificationStatus.RUNNING ? System.currentTimeMillis() - startTime : duration;
+	}
+
+	/**
+	 * Returns the result as a compact JSON object, as written to the execution summary and index.
+	 * 
+	 * @return <code>JSONObject</code>
+	 */
+	public JSONObject toJSON() {
+		JSONObject json = new JSONObject();
+		json.element("name", name); //$NON-NLS-1$
+		json.element("type", type != null ? type.getValue() : ""); //$NON-NLS-1$ //$NON-NLS-2$
+		json.element("status", status != null ? status.name() : ""); //$NON-NLS-1$ //$NON-NLS-2$
+		json.element("startTime", startTime); //$NON-NLS-1$
+		json.element("duration", duration); //$NON-NLS-1$
+		json.element("exitValue", exitValue); //$NON-NLS-1$
+		json.element("recordsRead", recordsRead); //$NON-NLS-1$
+		json.element("recordsWritten", recordsWritten); //$NON-NLS-1$
+		return json;
+	}
+
+}
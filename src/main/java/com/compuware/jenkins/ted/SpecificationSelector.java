@@ -0,0 +1,205 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves a specification selection into the specifications of a repository.
+ * <p>
+ * A selection consists of space separated selector and type pairs. A selector is either a specification name, a name
+ * pattern where <code>*</code> matches any characters and <code>?</code> any single character, or a tag as
+ * <code>tag:name</code>. For patterns and tags, the type can be <code>*</code> to select specifications of any type.
+ * For example: <code>SPECA extract CUST_* compare tag:nightly *</code>
+ */
+public class SpecificationSelector {
+
+	private static final String TAG_PREFIX = "tag:"; //$NON-NLS-1$
+	private static final String ANY_TYPE = "*"; //$NON-NLS-1$
+
+	private final String repositoryName;
+	private final ISpecificationSource source;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param repositoryName
+	 *            The name of the repository to select from.
+	 * @param source
+	 *            The source to list the repository from.
+	 */
+	public SpecificationSelector(String repositoryName, ISpecificationSource source) {
+		this.repositoryName = repositoryName;
+		this.source = source;
+	}
+
+	/**
+	 * Returns if the repository has to be listed to resolve the given selection, i.e. if it contains a pattern, a tag
+	 * or an any type.
+	 * 
+	 * @param selection
+	 *            The specification selection.
+	 * 
+	 * @return <code>true</code> if the repository has to be listed, otherwise <code>false</code>.
+	 */
+	public static boolean requiresListing(String selection) {
+		String[] tokens = tokenize(selection);
+		for (int i = 0; i < tokens.length; i++) {
+			boolean selector = i % 2 == 0;
+			if (selector ? isTag(tokens[i]) || SpecificationCatalog.isPattern(tokens[i]) : ANY_TYPE.equals(tokens[i])) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Resolves the given selection into specifications, in the order they are selected and without duplicates.
+	 * 
+	 * @param selection
+	 *            The specification selection.
+	 * @param logger
+	 *            The logger to report the expansion of the patterns and tags to.
+	 * 
+	 * @return <code>List</code> of <code>Specification</code>
+	 * 
+	 * @throws IOException
+	 *             If the repository could not be listed.
+	 * @throws InterruptedException
+	 *             If the listing was interrupted.
+	 */
+	public List<Specification> select(String selection, PrintStream logger) throws IOException, InterruptedException {
+		String[] tokens = tokenize(selection);
+		if (tokens.length % 2 != 0) {
+			throw new IllegalArgumentException("The specification list has to consist of space separated specification name and type pairs."); //$NON-NLS-1$
+		}
+
+		Set<Specification> selected = new LinkedHashSet<>();
+		int duplicates = 0;
+
+		for (int i = 0; i < tokens.length; i += 2) {
+			String selector = tokens[i];
+			Set<SpecificationType> types = parseTypes(selector, tokens[i + 1]);
+			List<Specification> matches;
+
+			if (isTag(selector) || SpecificationCatalog.isPattern(selector)) {
+				try {
+					matches = isTag(selector) ? selectTagged(selector.substring(TAG_PREFIX.length()), types) : selectMatching(selector, types);
+				} catch (ListingUnsupportedException e) {
+					throw new IllegalArgumentException("Selection " + selector + " needs the specifications of repository " //$NON-NLS-1$ //$NON-NLS-2$
+							+ repositoryName + " to be listed: " + e.getMessage(), e); //$NON-NLS-1$
+				}
+			} else {
+				SpecificationType type = types.iterator().next();
+				if (Boolean.FALSE.equals(exists(selector, type))) {
+					throw new IllegalArgumentException("Specification " + selector + " of type " + type.getValue() //$NON-NLS-1$ //$NON-NLS-2$
+							+ " does not exist in repository " + repositoryName + '.'); //$NON-NLS-1$
+				}
+				matches = Collections.singletonList(new Specification(selector, type));
+			}
+
+			if (matches.isEmpty()) {
+				throw new IllegalArgumentException("No specification in repository " + repositoryName + " is selected by " //$NON-NLS-1$ //$NON-NLS-2$
+						+ selector + ' ' + tokens[i + 1] + '.');
+			}
+			if (matches.size() > 1 || !matches.get(0).getName().equals(selector)) {
+				logger.println("Selection " + selector + ' ' + tokens[i + 1] + " expanded to " + matches.size() + " specification(s)."); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+
+			for (Specification match : matches) {
+				if (!selected.add(match)) {
+					duplicates++;
+				}
+			}
+		}
+
+		if (duplicates > 0) {
+			logger.println(duplicates + " duplicate specification(s) removed from the selection."); //$NON-NLS-1$
+		}
+
+		return new ArrayList<>(selected);
+	}
+
+	/**
+	 * Returns if a specification is known to exist, see <code>SpecificationCatalog.exists</code>, or <code>null</code>
+	 * if it is not known, for instance as the CLI does not list specifications.
+	 */
+	private Boolean exists(String name, SpecificationType type) throws IOException, InterruptedException {
+		try {
+			return SpecificationCatalog.exists(repositoryName, name, type, source);
+		} catch (ListingUnsupportedException e) {
+			return null;
+		}
+	}
+
+	private List<Specification> selectTagged(String tag, Set<SpecificationType> types) throws IOException, InterruptedException {
+		List<Specification> matches = new ArrayList<>();
+		for (Specification specification : SpecificationCatalog.getListing(repositoryName, source).getTaggedSpecifications(tag)) {
+			if (types.contains(specification.getType())) {
+				matches.add(specification);
+			}
+		}
+		return matches;
+	}
+
+	private List<Specification> selectMatching(String pattern, Set<SpecificationType> types) throws IOException, InterruptedException {
+		SpecificationListing listing = SpecificationCatalog.getListing(repositoryName, source);
+		Pattern compiled = SpecificationCatalog.toPattern(pattern);
+		List<Specification> matches = new ArrayList<>();
+		for (SpecificationType type : types) {
+			for (String name : listing.match(compiled, type)) {
+				matches.add(new Specification(name, type));
+			}
+		}
+		return matches;
+	}
+
+	private static Set<SpecificationType> parseTypes(String selector, String typeValue) {
+		if (ANY_TYPE.equals(typeValue)) {
+			if (!isTag(selector) && !SpecificationCatalog.isPattern(selector)) {
+				throw new IllegalArgumentException("The type of specification " + selector + " has to be given, " //$NON-NLS-1$ //$NON-NLS-2$
+						+ ANY_TYPE + " is only allowed for patterns and tags."); //$NON-NLS-1$
+			}
+			return EnumSet.complementOf(EnumSet.of(SpecificationType.EMPTY));
+		}
+
+		SpecificationType type = SpecificationType.fromValue(typeValue);
+		if (type == null) {
+			throw new IllegalArgumentException("Unknown specification type " + typeValue + " for " + selector + '.'); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return EnumSet.of(type);
+	}
+
+	private static boolean isTag(String selector) {
+		return selector.toLowerCase(Locale.ENGLISH).startsWith(TAG_PREFIX);
+	}
+
+	private static String[] tokenize(String selection) {
+		String trimmed = selection != null ? selection.trim() : ""; //$NON-NLS-1$
+		return trimmed.isEmpty() ? new String[0] : trimmed.split("\\s+"); //$NON-NLS-1$
+	}
+
+}
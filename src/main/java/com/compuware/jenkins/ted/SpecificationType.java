@@ -18,14 +18,16 @@ package com.compuware.jenkins.ted;
 
 public enum SpecificationType {
 
-	EMPTY("", ""), COMPARE("Compare Pro", "Compare"), CONVERT("Converter Pro", "Convert"), EXTRACT("Related Extract", "Extract"), LOAD("Related Load", "Load"), EXSUITE("Execution Suite", "ExSuite");
+	EMPTY("", "", 0), COMPARE("Compare Pro", "Compare", 4), CONVERT("Converter Pro", "Convert", 2), EXTRACT("Related Extract", "Extract", 1), LOAD("Related Load", "Load", 3), EXSUITE("Execution Suite", "ExSuite", 5);
 	
 	private String displayName;
 	private String value;
+	private int phase;
 	
-	private SpecificationType(String displayName, String value) {
+	private SpecificationType(String displayName, String value, int phase) {
 		this.displayName = displayName;
 		this.value = value;
+		this.phase = phase;
 	}
 	
 	public String getDisplayName() {
@@ -35,5 +37,34 @@ public enum SpecificationType {
 	public String getValue() {
 		return value;
 	}
+
+	/**
+	 * Returns the phase in which specifications of this type are executed when planned together, so that data is
+	 * extracted before it is converted, loaded and compared.
+	 * 
+	 * @return <code>int</code>, lower phases are executed first
+	 */
+	public int getPhase() {
+		return phase;
+	}
+	
+	/**
+	 * Returns the specification type matching the given value or display name, ignoring case.
+	 * 
+	 * @param value
+	 *            The value or display name of the specification type.
+	 * 
+	 * @return The matching <code>SpecificationType</code>, or <code>null</code> if there is none.
+	 */
+	public static SpecificationType fromValue(String value) {
+		if (value != null) {
+			for (SpecificationType type : values()) {
+				if (type != EMPTY && (type.value.equalsIgnoreCase(value) || type.displayName.equalsIgnoreCase(value))) {
+					return type;
+				}
+			}
+		}
+		return null;
+	}
 	
 }
\ No newline at end of file
@@ -0,0 +1,153 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.util.regex.Pattern;
+
+import org.jenkinsci.Symbol;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.QueryParameter;
+
+import hudson.Extension;
+import hudson.Util;
+import hudson.model.AbstractDescribableImpl;
+import hudson.model.Descriptor;
+import hudson.util.FormValidation;
+
+/**
+ * A version of the Topaz Workbench CLI the <code>TEDCLIInstaller</code> installs on the nodes whose configured CLI
+ * location does not exist: an archive, on a mirror or on the controller, with its SHA-256 checksum.
+ */
+public class TEDCLIInstallation extends AbstractDescribableImpl<TEDCLIInstallation> {
+
+	private static final Pattern SHA256 = Pattern.compile("[0-9a-fA-F]{64}"); //$NON-NLS-1$
+
+	private final String version;
+	private final String url;
+	private final String sha256;
+	private String subdirectory;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param version
+	 *            The CLI version, such as <code>20.09.03</code>.
+	 * @param url
+	 *            The URL of the archive, or its path on the controller.
+	 * @param sha256
+	 *            The SHA-256 checksum of the archive.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the version or the URL is blank, or the checksum is not a SHA-256 checksum.
+	 */
+	@DataBoundConstructor
+	public TEDCLIInstallation(String version, String url, String sha256) {
+		this.version = Util.fixEmptyAndTrim(version);
+		this.url = Util.fixEmptyAndTrim(url);
+		this.sha256 = Util.fixEmptyAndTrim(sha256);
+		if (this.version == null) {
+			throw new IllegalArgumentException(Messages.errors_missingCLIVersion());
+		}
+		if (this.url == null) {
+			throw new IllegalArgumentException(Messages.errors_missingCLIArchive());
+		}
+		if (!isChecksum(this.sha256)) {
+			throw new IllegalArgumentException(Messages.errors_invalidCLIChecksum());
+		}
+	}
+
+	public String getVersion() {
+		return version;
+	}
+
+	public String getUrl() {
+		return url;
+	}
+
+	public String getSha256() {
+		return sha256;
+	}
+
+	/**
+	 * Returns the directory of the archive holding the CLI, if the CLI is not at the root of the archive.
+	 * 
+	 * @return <code>String</code>
+	 */
+	public String getSubdirectory() {
+		return subdirectory;
+	}
+
+	@DataBoundSetter
+	public void setSubdirectory(String subdirectory) {
+		this.subdirectory = Util.fixEmptyAndTrim(subdirectory);
+	}
+
+	/**
+	 * Returns if the installation has a version, a URL and a SHA-256 checksum. Installations saved before they were
+	 * validated may not.
+	 * 
+	 * @return <code>boolean</code>
+	 */
+	public boolean isValid() {
+		return version != null && url != null && isChecksum(sha256);
+	}
+
+	private static boolean isChecksum(String value) {
+		return value != null && SHA256.matcher(value).matches();
+	}
+
+	@Override
+	public String toString() {
+		return version;
+	}
+
+	/**
+	 * Descriptor of the CLI installations.
+	 */
+	@Symbol("tedCLIInstallation")
+	@Extension
+	public static class DescriptorImpl extends Descriptor<TEDCLIInstallation> {
+
+		@Override
+		public String getDisplayName() {
+			return "Topaz Workbench CLI Installation"; //$NON-NLS-1$
+		}
+
+		public FormValidation doCheckVersion(@QueryParameter String value) {
+			if (Util.fixEmptyAndTrim(value) == null) {
+				return FormValidation.error(Messages.errors_missingCLIVersion());
+			}
+			return FormValidation.ok();
+		}
+
+		public FormValidation doCheckUrl(@QueryParameter String value) {
+			if (Util.fixEmptyAndTrim(value) == null) {
+				return FormValidation.error(Messages.errors_missingCLIArchive());
+			}
+			return FormValidation.ok();
+		}
+
+		public FormValidation doCheckSha256(@QueryParameter String value) {
+			if (!isChecksum(Util.fixEmptyAndTrim(value))) {
+				return FormValidation.error(Messages.errors_invalidCLIChecksum());
+			}
+			return FormValidation.ok();
+		}
+	}
+
+}
@@ -0,0 +1,329 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.logging.Logger;
+
+import hudson.FilePath;
+import hudson.Util;
+import hudson.model.Node;
+import hudson.model.TaskListener;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+import jenkins.model.Jenkins;
+
+/**
+ * Installs the Topaz Workbench CLI on a node from a <code>TEDCLIInstallation</code>.
+ * <p>
+ * The installations are kept under <code>tools/ted-cli</code> in the root directory of the node, in a directory named
+ * after the version and the checksum of the archive, so each archive is downloaded, verified and unpacked once per node
+ * and every later build finds it in place. The archive is unpacked into a temporary directory which is only moved in
+ * place once complete, so an interrupted installation is started over by the next build.
+ */
+public final class TEDCLIInstaller {
+
+	private static final Logger LOGGER = Logger.getLogger(TEDCLIInstaller.class.getName());
+
+	static final String CACHE_DIRECTORY = "tools/ted-cli"; //$NON-NLS-1$
+	private static final String MARKER = ".installed"; //$NON-NLS-1$
+	private static final int CHECKSUM_LENGTH = 16;
+
+	private static final Map<String, Object> LOCKS = new HashMap<>();
+	private static final Map<String, Set<String>> VERSIONS = new HashMap<>();
+
+	private TEDCLIInstaller() {
+	}
+
+	/**
+	 * Returns the directory of the CLI of an installation on a node, installing it first if it is not installed yet.
+	 * 
+	 * @param installation
+	 *            The installation.
+	 * @param node
+	 *            The node.
+	 * @param listener
+	 *            The listener to report the installation to.
+	 * 
+	 * @return <code>FilePath</code> of the CLI directory
+	 * 
+	 * @throws IOException
+	 *             If the node is offline, or the archive cannot be downloaded, does not match its checksum or cannot be
+	 *             unpacked.
+	 * @throws InterruptedException
+	 */
+	public static FilePath install(TEDCLIInstallation installation, Node node, TaskListener listener)
+			throws IOException, InterruptedException {
+		FilePath home = getHome(installation, node);
+		synchronized (lockFor(node.getNodeName() + '|' + home.getRemote())) {
+			if (!home.child(MARKER).exists()) {
+				listener.getLogger().println("Installing Topaz Workbench CLI " + installation.getVersion() + " from " + installation.getUrl() //$NON-NLS-1$ //$NON-NLS-2$
+						+ " to " + home.getRemote()); //$NON-NLS-1$
+				unpack(installation, home);
+			}
+		}
+		addVersion(node, installation.getVersion());
+		return installation.getSubdirectory() != null ? home.child(installation.getSubdirectory()) : home;
+	}
+
+	/**
+	 * Returns if an installation is installed on a node.
+	 * 
+	 * @param installation
+	 *            The installation.
+	 * @param node
+	 *            The node.
+	 * 
+	 * @return <code>boolean</code>
+	 * 
+	 * @throws IOException
+	 * @throws InterruptedException
+	 */
+	public static boolean isInstalled(TEDCLIInstallation installation, Node node) throws IOException, InterruptedException {
+		boolean installed = getHome(installation, node).child(MARKER).exists();
+		if (installed) {
+			addVersion(node, installation.getVersion());
+		}
+		return installed;
+	}
+
+	/**
+	 * Selects the installation to use on a node: with no range, the first installation, otherwise the highest version
+	 * in the range already installed on the node, or the highest version in the range if none is installed.
+	 * Installations that are not valid, see <code>TEDCLIInstallation.isValid</code>, are skipped.
+	 * 
+	 * @param installations
+	 *            The installations.
+	 * @param range
+	 *            The range of versions, or <code>null</code> for any version.
+	 * @param node
+	 *            The node.
+	 * 
+	 * @return The <code>TEDCLIInstallation</code>, or <code>null</code> if none is in the range
+	 * 
+	 * @throws IOException
+	 * @throws InterruptedException
+	 */
+	public static TEDCLIInstallation select(List<TEDCLIInstallation> installations, CLIVersionRange range, Node node)
+			throws IOException, InterruptedException {
+		List<TEDCLIInstallation> candidates = new ArrayList<>();
+		for (TEDCLIInstallation installation : installations) {
+			if (!installation.isValid()) {
+				LOGGER.warning("Skipping the Topaz Workbench CLI installation " + installation.getVersion() //$NON-NLS-1$
+						+ ", it needs a version, an archive URL and a SHA-256 checksum"); //$NON-NLS-1$
+			} else if (range == null) {
+				return installation;
+			} else if (range.matches(installation.getVersion())) {
+				candidates.add(installation);
+			}
+		}
+		candidates.sort((a, b) -> CLIVersionRange.compare(b.getVersion(), a.getVersion()));
+		for (TEDCLIInstallation candidate : candidates) {
+			if (isInstalled(candidate, node)) {
+				return candidate;
+			}
+		}
+		return candidates.isEmpty() ? null : candidates.get(0);
+	}
+
+	/**
+	 * Returns the CLI versions known to be on a node, installed by the installer or found at the configured CLI
+	 * location.
+	 * 
+	 * @param node
+	 *            The node.
+	 * 
+	 * @return <code>Set</code> of <code>String</code>
+	 */
+	public static Set<String> getVersions(Node node) {
+		synchronized (VERSIONS) {
+			Set<String> versions = VERSIONS.get(node.getNodeName());
+			return versions != null ? new TreeSet<>(versions) : Collections.emptySet();
+		}
+	}
+
+	/**
+	 * Adds a CLI version known to be on a node, see <code>TEDCLILabelFinder</code>.
+	 * 
+	 * @param node
+	 *            The node.
+	 * @param version
+	 *            The CLI version.
+	 */
+	public static void addVersion(Node node, String version) {
+		boolean added;
+		synchronized (VERSIONS) {
+			added = VERSIONS.computeIfAbsent(node.getNodeName(), k -> new HashSet<>()).add(version);
+		}
+		if (added) {
+			// the nodes of a label are cached
+			Jenkins.get().getLabelAtom(TEDCLILabelFinder.LABEL_PREFIX + version).reset();
+		}
+	}
+
+	/**
+	 * Forgets the CLI versions known to be on a node, when the node is deleted or before its versions are found again.
+	 * 
+	 * @param nodeName
+	 *            The name of the node.
+	 */
+	public static void removeVersions(String nodeName) {
+		Set<String> removed;
+		synchronized (VERSIONS) {
+			removed = VERSIONS.remove(nodeName);
+		}
+		if (removed != null) {
+			for (String version : removed) {
+				Jenkins.get().getLabelAtom(TEDCLILabelFinder.LABEL_PREFIX + version).reset();
+			}
+		}
+	}
+
+	/**
+	 * Finds the CLI versions installed on a node, from the directories of the installations.
+	 * 
+	 * @param node
+	 *            The node.
+	 * 
+	 * @throws IOException
+	 * @throws InterruptedException
+	 */
+	public static void scan(Node node) throws IOException, InterruptedException {
+		FilePath root = node.getRootPath();
+		FilePath cache = root != null ? root.child(CACHE_DIRECTORY) : null;
+		if (cache == null || !cache.isDirectory()) {
+			return;
+		}
+		for (FilePath home : cache.listDirectories()) {
+			String name = home.getName();
+			if (name.length() > CHECKSUM_LENGTH + 1 && home.child(MARKER).exists()) {
+				addVersion(node, name.substring(0, name.length() - CHECKSUM_LENGTH - 1));
+			}
+		}
+	}
+
+	private static FilePath getHome(TEDCLIInstallation installation, Node node) throws IOException {
+		if (!installation.isValid()) {
+			throw new IOException("The Topaz Workbench CLI installation " + installation.getVersion() //$NON-NLS-1$
+					+ " needs a version, an archive URL and a SHA-256 checksum"); //$NON-NLS-1$
+		}
+		FilePath root = node.getRootPath();
+		if (root == null) {
+			throw new IOException("Node " + node.getDisplayName() + " is offline"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		String version = installation.getVersion().replaceAll("[^A-Za-z0-9._-]", "_"); //$NON-NLS-1$ //$NON-NLS-2$
+		String checksum = installation.getSha256().toLowerCase(Locale.ENGLISH);
+		return root.child(CACHE_DIRECTORY).child(version + '-' + checksum.substring(0, Math.min(CHECKSUM_LENGTH, checksum.length())));
+	}
+
+	private static void unpack(TEDCLIInstallation installation, FilePath home) throws IOException, InterruptedException {
+		FilePath cache = home.getParent();
+		cache.mkdirs();
+		FilePath temp = cache.createTempDir(home.getName(), ".tmp"); //$NON-NLS-1$
+		try {
+			FilePath archive = temp.child("archive"); //$NON-NLS-1$
+			archive.copyFrom(toURL(installation.getUrl()));
+
+			String checksum = archive.act(new Sha256());
+			if (!checksum.equalsIgnoreCase(installation.getSha256())) {
+				throw new IOException("The checksum of " + installation.getUrl() + " is " + checksum + ", expected " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+						+ installation.getSha256());
+			}
+
+			FilePath content = temp.child("content"); //$NON-NLS-1$
+			String name = installation.getUrl().toLowerCase(Locale.ENGLISH);
+			if (name.endsWith(".zip")) { //$NON-NLS-1$
+				archive.unzip(content);
+			} else if (name.endsWith(".tar.gz") || name.endsWith(".tgz")) { //$NON-NLS-1$ //$NON-NLS-2$
+				archive.untar(content, FilePath.TarCompression.GZIP);
+			} else {
+				throw new IOException("Unsupported archive " + installation.getUrl() + ", expected a .zip, .tar.gz or .tgz file"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			content.child(MARKER).write(checksum, StandardCharsets.UTF_8.name());
+
+			// left over by an installation that did not complete
+			if (home.exists()) {
+				home.deleteRecursive();
+			}
+			content.renameTo(home);
+		} finally {
+			temp.deleteRecursive();
+		}
+	}
+
+	private static URL toURL(String url) throws MalformedURLException {
+		try {
+			return new URL(url);
+		} catch (MalformedURLException e) {
+			// a path on the controller
+			File file = new File(url);
+			if (!file.isAbsolute()) {
+				throw e;
+			}
+			return file.toURI().toURL();
+		}
+	}
+
+	private static Object lockFor(String key) {
+		synchronized (LOCKS) {
+			return LOCKS.computeIfAbsent(key, k -> new Object());
+		}
+	}
+
+	/**
+	 * Computes the SHA-256 checksum of a file, on the node holding it.
+	 */
+	private static final class Sha256 extends MasterToSlaveFileCallable<String> {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public String invoke(File file, VirtualChannel channel) throws IOException {
+			MessageDigest digest;
+			try {
+				digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+			} catch (NoSuchAlgorithmException e) {
+				throw new IOException(e);
+			}
+			try (InputStream in = new DigestInputStream(Files.newInputStream(file.toPath()), digest)) {
+				byte[] buffer = new byte[8192];
+				while (in.read(buffer) >= 0) {
+					// digested while read
+				}
+			}
+			return Util.toHexString(digest.digest());
+		}
+	}
+
+}
@@ -0,0 +1,97 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import hudson.Extension;
+import hudson.model.Computer;
+import hudson.model.LabelFinder;
+import hudson.model.Node;
+import hudson.model.TaskListener;
+import hudson.model.labels.LabelAtom;
+import hudson.slaves.ComputerListener;
+import jenkins.model.Jenkins;
+import jenkins.model.NodeListener;
+
+/**
+ * Labels the nodes with the CLI versions they hold, as <code>ted-cli-&lt;version&gt;</code>, so jobs requiring a CLI
+ * version can be restricted to the nodes that have it, and a new CLI version can be rolled out to a subset of the nodes
+ * first. The versions are those installed by the <code>TEDCLIInstaller</code>, found when the node comes online or
+ * installed since, and the version of the configured CLI location once a build has used it.
+ * <p>
+ * A node is only labelled with a version once the version is on it: a job restricted to the label of a version no node
+ * holds yet is never scheduled. A rollout is started by a job restricted to the chosen nodes by their own labels, whose
+ * version range selects the new version, so the installer puts it on these nodes.
+ */
+@Extension
+public class TEDCLILabelFinder extends LabelFinder {
+
+	static final String LABEL_PREFIX = "ted-cli-"; //$NON-NLS-1$
+
+	@Override
+	public Collection<LabelAtom> findLabels(Node node) {
+		Set<LabelAtom> labels = new HashSet<>();
+		for (String version : TEDCLIInstaller.getVersions(node)) {
+			labels.add(Jenkins.get().getLabelAtom(LABEL_PREFIX + version));
+		}
+		return labels;
+	}
+
+	/**
+	 * Finds the CLI versions installed on the nodes coming online, forgetting those the nodes held before.
+	 */
+	@Extension
+	public static class OnlineListener extends ComputerListener {
+
+		@Override
+		public void onOnline(Computer c, TaskListener listener) throws IOException, InterruptedException {
+			Node node = c.getNode();
+			if (node != null) {
+				TEDCLIInstaller.removeVersions(node.getNodeName());
+				try {
+					TEDCLIInstaller.scan(node);
+				} catch (IOException e) {
+					listener.getLogger().println("The Topaz Workbench CLI installations could not be listed: " + e.getMessage()); //$NON-NLS-1$
+				}
+			}
+		}
+	}
+
+	/**
+	 * Forgets the CLI versions of the deleted and renamed nodes.
+	 */
+	@Extension
+	public static class DeletedListener extends NodeListener {
+
+		@Override
+		protected void onDeleted(Node node) {
+			TEDCLIInstaller.removeVersions(node.getNodeName());
+		}
+
+		@Override
+		protected void onUpdated(Node oldOne, Node newOne) {
+			if (!oldOne.getNodeName().equals(newOne.getNodeName())) {
+				TEDCLIInstaller.removeVersions(oldOne.getNodeName());
+			}
+		}
+	}
+
+}
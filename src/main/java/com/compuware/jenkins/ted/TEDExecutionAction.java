@@ -0,0 +1,233 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.kohsuke.stapler.export.Exported;
+import org.kohsuke.stapler.export.ExportedBean;
+
+import hudson.model.Api;
+import hudson.model.Run;
+import jenkins.model.RunAction2;
+
+/**
+ * Holds the results of the Enterprise Data executions of a build. The results are added as soon as the specifications
+ * are planned and updated while they execute, so the progress of a running build can be followed through the API of
+ * the action, at <code>&lt;build&gt;/ted/api/json</code>, without reading the build log.
+ */
+@ExportedBean
+public class TEDExecutionAction implements RunAction2 {
+
+	private final List<SpecificationResult> results = new ArrayList<>();
+	private volatile CompareSummary compareSummary;
+	private volatile String configurationDigest;
+
+	private transient Run<?, ?> run;
+	private transient Map<String, TEDExecutionProfile> profiles;
+
+	/**
+	 * Returns the action of a build, adding it if the build has none yet.
+	 * 
+	 * @param build
+	 *            The build.
+	 * 
+	 * @return <code>TEDExecutionAction</code>
+	 */
+	public static TEDExecutionAction getOrCreate(Run<?, ?> build) {
+		synchronized (build) {
+			TEDExecutionAction action = build.getAction(TEDExecutionAction.class);
+			if (action == null) {
+				action = new TEDExecutionAction();
+				build.addAction(action);
+			}
+			return action;
+		}
+	}
+
+	@Override
+	public String getIconFileName() {
+		return null;
+	}
+
+	@Override
+	public String getDisplayName() {
+		return "Enterprise Data Execution"; //$NON-NLS-1$
+	}
+
+	@Override
+	public String getUrlName() {
+		return "ted"; //$NON-NLS-1$
+	}
+
+	@Override
+	public void onAttached(Run<?, ?> r) {
+		this.run = r;
+	}
+
+	@Override
+	public void onLoad(Run<?, ?> r) {
+		this.run = r;
+	}
+
+	public Run<?, ?> getRun() {
+		return run;
+	}
+
+	/**
+	 * Returns an execution profile of the global configuration, as it was when first used by the build.
+	 * 
+	 * @param id
+	 *            The profile id.
+	 * 
+	 * @return The <code>TEDExecutionProfile</code>, or <code>null</code> if there is none
+	 */
+	public synchronized TEDExecutionProfile getProfile(String id) {
+		if (profiles == null) {
+			profiles = new HashMap<>();
+		}
+		TEDExecutionProfile profile = profiles.get(id);
+		if (profile == null) {
+			TEDGlobalConfiguration globalConfig = TEDGlobalConfiguration.get();
+			profile = globalConfig != null ? globalConfig.getProfile(id) : null;
+			if (profile != null) {
+				profiles.put(id, profile);
+			}
+		}
+		return profile;
+	}
+
+	/**
+	 * Returns the remote API of the action.
+	 * 
+	 * @return <code>Api</code>
+	 */
+	public Api getApi() {
+		return new Api(this);
+	}
+
+	/**
+	 * Adds the result of a specification about to be executed.
+	 * 
+	 * @param result
+	 *            The result to add.
+	 */
+	public void addResult(SpecificationResult result) {
+		synchronized (results) {
+			results.add(result);
+		}
+	}
+
+	/**
+	 * Returns the results of all the executions of the build.
+	 * 
+	 * @return <code>List</code> of <code>SpecificationResult</code>
+	 */
+	@Exported(inline = true)
+	public List<SpecificationResult> getResults() {
+		synchronized (results) {
+			return Collections.unmodifiableList(new ArrayList<>(results));
+		}
+	}
+
+	/**
+	 * Returns the summary of the Compare results of the build.
+	 * 
+	 * @return The <code>CompareSummary</code>, or <code>null</code> if no reports were summarized
+	 */
+	@Exported(inline = true)
+	public CompareSummary getCompareSummary() {
+		return compareSummary;
+	}
+
+	/**
+	 * Sets the summary of the Compare results of the build.
+	 * 
+	 * @param compareSummary
+	 *            The summary.
+	 */
+	public void setCompareSummary(CompareSummary compareSummary) {
+		this.compareSummary = compareSummary;
+	}
+
+	/**
+	 * Returns the digest of the configuration the build executed with, see <code>TEDResumeMarker</code>.
+	 * 
+	 * @return <code>String</code>, <code>null</code> for builds recorded before the digest existed
+	 */
+	public String getConfigurationDigest() {
+		return configurationDigest;
+	}
+
+	/**
+	 * Sets the digest of the configuration the build executes with.
+	 * 
+	 * @param configurationDigest
+	 *            The digest.
+	 */
+	public void setConfigurationDigest(String configurationDigest) {
+		this.configurationDigest = configurationDigest;
+	}
+
+	/**
+	 * Returns the number of specifications having the given status.
+	 * 
+	 * @param status
+	 *            The status.
+	 * 
+	 * @return <code>int</code>
+	 */
+	public int getCount(SpecificationStatus status) {
+		int count = 0;
+		for (SpecificationResult result : getResults()) {
+			if (result.getStatus() == status) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Exported
+	public int getQueuedCount() {
+		return getCount(SpecificationStatus.QUEUED);
+	}
+
+	@Exported
+	public int getRunningCount() {
+		return getCount(SpecificationStatus.RUNNING);
+	}
+
+	@Exported
+	public int getSucceededCount() {
+		return getCount(SpecificationStatus.SUCCEEDED);
+	}
+
+	@Exported
+	public int getFailedCount() {
+		return getCount(SpecificationStatus.FAILED);
+	}
+
+	@Exported
+	public int getSkippedCount() {
+		return getCount(SpecificationStatus.SKIPPED);
+	}
+
+}
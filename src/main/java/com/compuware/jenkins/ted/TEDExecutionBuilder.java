@@ -17,9 +17,14 @@
 package com.compuware.jenkins.ted;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.ListIterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 import org.apache.commons.lang.StringUtils;
 import org.jenkinsci.Symbol;
@@ -42,8 +47,9 @@ import hudson.FilePath;
 import hudson.Launcher;
 import hudson.Util;
 import hudson.model.AbstractProject;
-import hudson.model.Descriptor;
+import hudson.model.AutoCompletionCandidates;
 import hudson.model.Item;
+import hudson.model.Project;
 import hudson.model.Run;
 import hudson.model.TaskListener;
 import hudson.security.ACL;
@@ -69,7 +75,7 @@ import jenkins.tasks.SimpleBuildStep;
  * When a build is performed, the {@link #perform} method will be invoked.
  *
  */
-public class TEDExecutionBuilder extends Builder implements SimpleBuildStep {
+public class TEDExecutionBuilder extends Builder implements SimpleBuildStep, ITEDConnectionSettings {
 	
 	/**
 	 * Name of repository containing the specification to be executed. 
@@ -81,6 +87,16 @@ public class TEDExecutionBuilder extends Builder implements SimpleBuildStep {
 	 */
 	private String resultsRepositoryName = DescriptorImpl.defaultResultsRepositoryName;
 
+	/**
+	 * Ant pattern of the Compare result reports to summarize, relative to the workspace.
+	 */
+	private String compareResultsPath = DescriptorImpl.defaultCompareResultsPath;
+
+	/**
+	 * The range of CLI versions to execute with.
+	 */
+	private String cliVersionRange = DescriptorImpl.defaultCliVersionRange;
+
 	/**
 	 * Radio choice denoting whether single or multi specification execution.
 	 */
@@ -115,6 +131,62 @@ public class TEDExecutionBuilder extends Builder implements SimpleBuildStep {
 	 * If specification execution has to exit on encountering failure in case of multi-spec execution.
 	 */
 	private boolean exitOnFailure = DescriptorImpl.defaultExitOnFailure;
+	
+	/**
+	 * If the specification list and the other non-secret arguments are to be passed to the CLI via an argument file.
+	 */
+	private boolean useArgumentFile = DescriptorImpl.defaultUseArgumentFile;
+	
+	/**
+	 * If the specifications of a multi-spec execution are to be planned and executed in parallel.
+	 */
+	private boolean parallelExecution = DescriptorImpl.defaultParallelExecution;
+	
+	/**
+	 * The maximum number of specifications executed in parallel.
+	 */
+	private String maxParallelExecutions = DescriptorImpl.defaultMaxParallelExecutions;
+	
+	/**
+	 * The declared dependencies between the specifications executed in parallel.
+	 */
+	private String specificationDependencies = DescriptorImpl.defaultSpecificationDependencies;
+
+	/**
+	 * If only the specifications which did not succeed in the previous build are executed in parallel.
+	 */
+	private boolean rerunFailedOnly = DescriptorImpl.defaultRerunFailedOnly;
+
+	/**
+	 * The id of the execution profile providing the connection settings, if any.
+	 */
+	private String profileId = DescriptorImpl.defaultProfileId;
+
+	/**
+	 * Radio choice denoting whether the connection settings are those of the execution profile or those of the job,
+	 * <code>null</code> for jobs saved before the choice existed, which use the profile if one is selected.
+	 */
+	private String selectSettingsRadio;
+
+	/**
+	 * If the execution is only to be resolved and printed, without launching the CLI.
+	 */
+	private boolean dryRun = DescriptorImpl.defaultDryRun;
+
+	/**
+	 * If every CLI launch gets its own data and temporary directories.
+	 */
+	private boolean isolateExecutions = DescriptorImpl.defaultIsolateExecutions;
+
+	/**
+	 * The percentage the records per second of a specification may drop below its baseline before the build is unstable.
+	 */
+	private String throughputDropThreshold = DescriptorImpl.defaultThroughputDropThreshold;
+
+	/**
+	 * The percentage the records of a specification may differ from its baseline before the build is unstable.
+	 */
+	private String recordCountChangeThreshold = DescriptorImpl.defaultRecordCountChangeThreshold;
 
 	/**
 	 * If CES is being configured via the jenkins plugin.
@@ -440,9 +512,13 @@ public class TEDExecutionBuilder extends Builder implements SimpleBuildStep {
 		listener.getLogger().println("Running " + Messages.displayName() + "\n"); //$NON-NLS-1$ //$NON-NLS-2$
 
 		try {
-			validateParameters(launcher, listener, build.getParent());
+			ITEDConnectionSettings settings = getConnectionSettings(build);
+			if (settings != this) {
+				listener.getLogger().println("Using execution profile " + getProfileId()); //$NON-NLS-1$
+			}
+			validateParameters(launcher, listener, build.getParent(), settings);
 
-			TEDExecutionRunner runner = new TEDExecutionRunner(this);
+			TEDExecutionRunner runner = new TEDExecutionRunner(this, settings);
 			boolean success = runner.run(build, launcher, workspace, listener);
 			
 			if (success) {
@@ -466,6 +542,18 @@ public class TEDExecutionBuilder extends Builder implements SimpleBuildStep {
 	 * @param project  project
 	 */
 	public void validateParameters(final Launcher launcher, final TaskListener listener, final Item project) {
+		validateParameters(launcher, listener, project, this);
+	}
+
+	/**
+	 * Validates the defined parameters, with the given connection settings.
+	 * 
+	 * @param launcher launcher
+	 * @param listener tasklistener
+	 * @param project  project
+	 * @param settings the connection settings, of the builder or of an execution profile
+	 */
+	public void validateParameters(final Launcher launcher, final TaskListener listener, final Item project, final ITEDConnectionSettings settings) {
 		if(isSingleSpecExecution()) {
 			if (Strings.isNullOrEmpty(this.specificationName)) {
 				throw new IllegalArgumentException("No specification name provided. Enter a specification name."); //$NON-NLS-1$
@@ -479,21 +567,21 @@ public class TEDExecutionBuilder extends Builder implements SimpleBuildStep {
 			}
 		}
 		
-		if(getDefineHost() && getConnectionId()!=null && !getConnectionId().isEmpty()) {
+		if(settings.getDefineHost() && settings.getConnectionId()!=null && !settings.getConnectionId().isEmpty()) {
 			CpwrGlobalConfiguration globalConfig = CpwrGlobalConfiguration.get();
 
 			HostConnection connection = null;
 			if (globalConfig != null) {
-				connection = globalConfig.getHostConnection(getConnectionId());
+				connection = globalConfig.getHostConnection(settings.getConnectionId());
 			}
 			if (connection == null) {
 				throw new IllegalArgumentException("No host connection defined. Check project and global configurations to make sure a valid host connection is set."); //$NON-NLS-1$
 			}
-			if(getIncludeCred()) {
-				if (getCredentialsId().isEmpty()) {
+			if(settings.getIncludeCred()) {
+				if (Strings.isNullOrEmpty(settings.getCredentialsId())) {
 					throw new IllegalArgumentException("Missing Credentials ID - configure plugin correctly."); //$NON-NLS-1$
 				} else {
-					if (TEDExecutionRunnerUtils.getLoginInformation(project, getCredentialsId()) != null) {
+					if (TEDExecutionRunnerUtils.getLoginInformation(project, settings.getCredentialsId()) != null) {
 						listener.getLogger().println("Credentials entered..."); //$NON-NLS-1$
 					} else {
 						throw new IllegalArgumentException("Credential ID entered is not valid - enter valid ID from Jenkins Credentials plugin"); //$NON-NLS-1$
@@ -501,20 +589,20 @@ public class TEDExecutionBuilder extends Builder implements SimpleBuildStep {
 				}
 			}
 		}
-		if(getDefineCES()) {
-			if(Strings.isNullOrEmpty(getCesURL())) {
+		if(settings.getDefineCES()) {
+			if(Strings.isNullOrEmpty(settings.getCesURL())) {
 				throw new IllegalArgumentException("A valid CES url needs to be provided.");				
 			}
-			if(getUseCloudCES() && 
-					(Strings.isNullOrEmpty(getCloudSiteID()) || Strings.isNullOrEmpty(getCloudCustomerNo()))) {
+			if(settings.getUseCloudCES() && 
+					(Strings.isNullOrEmpty(settings.getCloudSiteID()) || Strings.isNullOrEmpty(settings.getCloudCustomerNo()))) {
 				throw new IllegalArgumentException("Since Cloud CES Type is chosen, Site ID and Customer Number needs to be provided.");					
 			}
 		}
 	}
 	
 	@Override
-	public Descriptor<Builder> getDescriptor() {
-		return new DescriptorImpl();
+	public DescriptorImpl getDescriptor() {
+		return (DescriptorImpl) super.getDescriptor();
 	}
 	
 	/**
@@ -593,6 +681,44 @@ public class TEDExecutionBuilder extends Builder implements SimpleBuildStep {
 		this.resultsRepositoryName = resultsRepositoryName;
 	}
 
+	/**
+	 * Returns the range of CLI versions to execute with.
+	 * 
+	 * @return <code>String</code>
+	 */
+	public String getCliVersionRange() {
+		return cliVersionRange;
+	}
+
+	/**
+	 * Sets the range of CLI versions to execute with.
+	 * 
+	 * @param cliVersionRange <code>String</code>
+	 */
+	@DataBoundSetter
+	public void setCliVersionRange(String cliVersionRange) {
+		this.cliVersionRange = cliVersionRange;
+	}
+
+	/**
+	 * Returns the Ant pattern of the Compare result reports to summarize, relative to the workspace.
+	 * 
+	 * @return <code>String</code>
+	 */
+	public String getCompareResultsPath() {
+		return compareResultsPath;
+	}
+
+	/**
+	 * Sets the Ant pattern of the Compare result reports to summarize, relative to the workspace.
+	 * 
+	 * @param compareResultsPath <code>String</code>
+	 */
+	@DataBoundSetter
+	public void setCompareResultsPath(String compareResultsPath) {
+		this.compareResultsPath = compareResultsPath;
+	}
+
 	/**
 	 * Returns the chosen execution type.
 	 * 
@@ -707,6 +833,252 @@ public class TEDExecutionBuilder extends Builder implements SimpleBuildStep {
 		this.exitOnFailure = exitOnFailure;
 	}
 
+	/**
+	 * Returns the flag if the non-secret arguments are to be passed to the CLI via an argument file.
+	 * 
+	 * @return <code>boolean</code>
+	 */
+	public boolean getUseArgumentFile() {
+		return useArgumentFile;
+	}
+
+	/**
+	 * Sets the flag if the non-secret arguments are to be passed to the CLI via an argument file.
+	 * 
+	 * @param useArgumentFile <code>boolean</code>
+	 */
+	@DataBoundSetter
+	public void setUseArgumentFile(boolean useArgumentFile) {
+		this.useArgumentFile = useArgumentFile;
+	}
+
+	/**
+	 * Returns if the specifications of a multi-spec execution are to be planned and executed in parallel.
+	 * 
+	 * @return <code>boolean</code>
+	 */
+	public boolean getParallelExecution() {
+		return parallelExecution;
+	}
+
+	/**
+	 * Sets if the specifications of a multi-spec execution are to be planned and executed in parallel.
+	 * 
+	 * @param parallelExecution <code>boolean</code>
+	 */
+	@DataBoundSetter
+	public void setParallelExecution(boolean parallelExecution) {
+		this.parallelExecution = parallelExecution;
+	}
+
+	/**
+	 * Returns the maximum number of specifications executed in parallel.
+	 * 
+	 * @return <code>String</code>
+	 */
+	public String getMaxParallelExecutions() {
+		return maxParallelExecutions;
+	}
+
+	/**
+	 * Sets the maximum number of specifications executed in parallel.
+	 * 
+	 * @param maxParallelExecutions <code>String</code>
+	 */
+	@DataBoundSetter
+	public void setMaxParallelExecutions(String maxParallelExecutions) {
+		this.maxParallelExecutions = maxParallelExecutions;
+	}
+
+	/**
+	 * Returns the declared dependencies between the specifications executed in parallel.
+	 * 
+	 * @return <code>String</code>
+	 */
+	public String getSpecificationDependencies() {
+		return specificationDependencies;
+	}
+
+	/**
+	 * Sets the declared dependencies between the specifications executed in parallel.
+	 * 
+	 * @param specificationDependencies <code>String</code>
+	 */
+	@DataBoundSetter
+	public void setSpecificationDependencies(String specificationDependencies) {
+		this.specificationDependencies = specificationDependencies;
+	}
+
+	/**
+	 * Returns the flag if only the specifications which did not succeed in the previous build are executed in parallel.
+	 * 
+	 * @return <code>boolean</code>
+	 */
+	public boolean getRerunFailedOnly() {
+		return rerunFailedOnly;
+	}
+
+	/**
+	 * Sets the flag if only the specifications which did not succeed in the previous build are executed in parallel.
+	 * 
+	 * @param rerunFailedOnly <code>boolean</code>
+	 */
+	@DataBoundSetter
+	public void setRerunFailedOnly(boolean rerunFailedOnly) {
+		this.rerunFailedOnly = rerunFailedOnly;
+	}
+
+	/**
+	 * Returns the id of the execution profile providing the connection settings.
+	 * 
+	 * @return <code>String</code>
+	 */
+	public String getProfileId() {
+		return profileId;
+	}
+
+	/**
+	 * Sets the id of the execution profile providing the connection settings. The connection settings of the builder
+	 * are kept, but not used while the profile is.
+	 * 
+	 * @param profileId <code>String</code>
+	 */
+	@DataBoundSetter
+	public void setProfileId(String profileId) {
+		this.profileId = profileId;
+	}
+
+	/**
+	 * Returns the chosen source of the connection settings.
+	 * 
+	 * @return <code>String</code>
+	 */
+	public String getSelectSettingsRadio() {
+		return selectSettingsRadio;
+	}
+
+	/**
+	 * Sets the chosen source of the connection settings.
+	 * 
+	 * @param selectSettingsRadio <code>String</code>
+	 */
+	@DataBoundSetter
+	public void setSelectSettingsRadio(String selectSettingsRadio) {
+		this.selectSettingsRadio = selectSettingsRadio;
+	}
+
+	/**
+	 * Returns if the connection settings are those of the execution profile, which is when a profile is selected and
+	 * the settings of the job are not chosen instead.
+	 * 
+	 * @return <code>true</code> if the execution profile is used, otherwise <code>false</code>.
+	 */
+	public boolean isProfileSettings() {
+		return Util.fixEmptyAndTrim(profileId) != null && (Strings.isNullOrEmpty(selectSettingsRadio)
+				|| selectSettingsRadio.compareTo(DescriptorImpl.selectProfileSettingsValue) == 0);
+	}
+
+	/**
+	 * Returns the percentage the records per second of a specification may drop below its baseline before the build
+	 * is unstable.
+	 * 
+	 * @return <code>String</code>
+	 */
+	public String getThroughputDropThreshold() {
+		return throughputDropThreshold;
+	}
+
+	/**
+	 * Sets the percentage the records per second of a specification may drop below its baseline before the build is
+	 * unstable.
+	 * 
+	 * @param throughputDropThreshold <code>String</code>
+	 */
+	@DataBoundSetter
+	public void setThroughputDropThreshold(String throughputDropThreshold) {
+		this.throughputDropThreshold = throughputDropThreshold;
+	}
+
+	/**
+	 * Returns the percentage the records of a specification may differ from its baseline before the build is unstable.
+	 * 
+	 * @return <code>String</code>
+	 */
+	public String getRecordCountChangeThreshold() {
+		return recordCountChangeThreshold;
+	}
+
+	/**
+	 * Sets the percentage the records of a specification may differ from its baseline before the build is unstable.
+	 * 
+	 * @param recordCountChangeThreshold <code>String</code>
+	 */
+	@DataBoundSetter
+	public void setRecordCountChangeThreshold(String recordCountChangeThreshold) {
+		this.recordCountChangeThreshold = recordCountChangeThreshold;
+	}
+
+	/**
+	 * Returns the flag if every CLI launch gets its own data and temporary directories.
+	 * 
+	 * @return <code>boolean</code>
+	 */
+	public boolean getIsolateExecutions() {
+		return isolateExecutions;
+	}
+
+	/**
+	 * Sets the flag if every CLI launch gets its own data and temporary directories.
+	 * 
+	 * @param isolateExecutions <code>boolean</code>
+	 */
+	@DataBoundSetter
+	public void setIsolateExecutions(boolean isolateExecutions) {
+		this.isolateExecutions = isolateExecutions;
+	}
+
+	/**
+	 * Returns the flag if the execution is only to be resolved and printed, without launching the CLI.
+	 * 
+	 * @return <code>boolean</code>
+	 */
+	public boolean getDryRun() {
+		return dryRun;
+	}
+
+	/**
+	 * Sets the flag if the execution is only to be resolved and printed, without launching the CLI.
+	 * 
+	 * @param dryRun <code>boolean</code>
+	 */
+	@DataBoundSetter
+	public void setDryRun(boolean dryRun) {
+		this.dryRun = dryRun;
+	}
+
+	/**
+	 * Returns the settings to execute with, which are those of the execution profile if it is used, otherwise those of
+	 * the builder. The profile is resolved once per build, so all the executions of a build use the same
+	 * settings even if the profile is changed meanwhile.
+	 * 
+	 * @param build
+	 *            The build.
+	 * 
+	 * @return <code>ITEDConnectionSettings</code>
+	 */
+	public ITEDConnectionSettings getConnectionSettings(final Run<?, ?> build) {
+		if (!isProfileSettings()) {
+			return this;
+		}
+		String id = Util.fixEmptyAndTrim(profileId);
+
+		TEDExecutionProfile profile = TEDExecutionAction.getOrCreate(build).getProfile(id);
+		if (profile == null) {
+			throw new IllegalArgumentException("Execution profile " + id + " is not defined. Check the global configuration."); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return profile;
+	}
+
 	/**
 	 * Returns the value for the execution timeout.
 	 *  
@@ -1351,8 +1723,34 @@ public class TEDExecutionBuilder extends Builder implements SimpleBuildStep {
 	@Extension
 	public static class DescriptorImpl extends BuildStepDescriptor<Builder> {
 
+		/**
+		 * The specification types in the order of the selection box, built on first use.
+		 */
+		private static final class SpecificationTypeOptions {
+			private static final SpecificationType[] OPTIONS = { SpecificationType.EMPTY, SpecificationType.COMPARE, SpecificationType.CONVERT,
+					SpecificationType.EXSUITE, SpecificationType.EXTRACT, SpecificationType.LOAD };
+		}
+
+		/**
+		 * The distinct CES URLs of the host connections, keyed on the CES URLs of every host connection in order.
+		 */
+		private static final class CesUrls {
+			private final List<String> key;
+			private final List<String> urls;
+
+			private CesUrls(List<String> key, List<String> urls) {
+				this.key = key;
+				this.urls = urls;
+			}
+		}
+
+		private transient volatile CpwrGlobalConfiguration cpwrGlobalConfiguration;
+		private transient volatile CesUrls cesUrls;
+
 		public static final String defaultRepositoryName = "";
 		public static final String defaultResultsRepositoryName = "";
+		public static final String defaultCompareResultsPath = "";
+		public static final String defaultCliVersionRange = "";
 		
 		public static final String defaultSpecificationName = "";
 		public static final String defaultSpecificationType = SpecificationType.EMPTY.getDisplayName();
@@ -1362,6 +1760,16 @@ public class TEDExecutionBuilder extends Builder implements SimpleBuildStep {
 		public static final String defaultExecutionContext = "";
 		public static final String defaultExecutionTimeout = "";
 		public static final Boolean defaultExitOnFailure = true;
+		public static final Boolean defaultUseArgumentFile = false;
+		public static final Boolean defaultParallelExecution = false;
+		public static final String defaultMaxParallelExecutions = "4";
+		public static final String defaultSpecificationDependencies = "";
+		public static final Boolean defaultRerunFailedOnly = false;
+		public static final String defaultProfileId = "";
+		public static final Boolean defaultDryRun = false;
+		public static final Boolean defaultIsolateExecutions = false;
+		public static final String defaultThroughputDropThreshold = "";
+		public static final String defaultRecordCountChangeThreshold = "";
 
 		public static final Boolean defaultDefineCES = false; 
 		public static final Boolean defaultUseCloud = false;
@@ -1402,6 +1810,9 @@ public class TEDExecutionBuilder extends Builder implements SimpleBuildStep {
 		
 		public static final String selectSingleSpecExecutionValue = "-sse";
 		public static final String selectMultiSpecExecutionValue = "-mse";
+
+		public static final String selectProfileSettingsValue = "-profile";
+		public static final String selectJobSettingsValue = "-job";
 		
 		public static final Boolean defaultHaltPipelineOnFailure = true;
 		public static final String haltPipelineTitle = "Halt pipeline if errors occur"; //NOSONAR
@@ -1425,16 +1836,147 @@ public class TEDExecutionBuilder extends Builder implements SimpleBuildStep {
 		 */
 		public ListBoxModel doFillSpecificationTypeItems(@AncestorInPath Jenkins context, @QueryParameter String specType, @AncestorInPath Item project) {
 			ListBoxModel specTypeModel = new ListBoxModel();
-			specTypeModel.add(new Option(SpecificationType.EMPTY.getDisplayName(), SpecificationType.EMPTY.getValue(), (specType == null || !SpecificationType.EMPTY.getValue().equals(specType)? false : true))); //NOSONAR
-			specTypeModel.add(new Option(SpecificationType.COMPARE.getDisplayName(), SpecificationType.COMPARE.getValue(), (specType == null || !SpecificationType.COMPARE.getValue().equals(specType)? false : true))); //NOSONAR
-			specTypeModel.add(new Option(SpecificationType.CONVERT.getDisplayName(), SpecificationType.CONVERT.getValue(), (specType == null || !SpecificationType.CONVERT.getValue().equals(specType)? false : true))); //NOSONAR
-			specTypeModel.add(new Option(SpecificationType.EXSUITE.getDisplayName(), SpecificationType.EXSUITE.getValue(), (specType == null || !SpecificationType.EXSUITE.getValue().equals(specType)? false : true))); //NOSONAR
-			specTypeModel.add(new Option(SpecificationType.EXTRACT.getDisplayName(), SpecificationType.EXTRACT.getValue(), (specType == null || !SpecificationType.EXTRACT.getValue().equals(specType)? false : true))); //NOSONAR
-			specTypeModel.add(new Option(SpecificationType.LOAD.getDisplayName(), SpecificationType.LOAD.getValue(), (specType == null || !SpecificationType.LOAD.getValue().equals(specType)? false : true))); //NOSONAR
+			for (SpecificationType type : SpecificationTypeOptions.OPTIONS) {
+				specTypeModel.add(new Option(type.getDisplayName(), type.getValue(), type.getValue().equals(specType)));
+			}
 
 			return specTypeModel;
 		}
 		
+		/**
+		 * Returns if the current user may configure the job, or the system when there is no job.
+		 * 
+		 * @param project
+		 * 		The job being configured, may be <code>null</code>.
+		 * 
+		 * @return <code>boolean</code>
+		 */
+		private static boolean canConfigure(Item project) {
+			return project != null ? project.hasPermission(Item.CONFIGURE) : Jenkins.get().hasPermission(Jenkins.ADMINISTER);
+		}
+
+		/**
+		 * Auto completes the specification name from the cached specification listings of the repository of the job,
+		 * limited to the selected specification type.
+		 * <p>
+		 * Repositories are listed by the executions, so no CLI is started to auto complete the field. Only users
+		 * allowed to configure the job get candidates.
+		 * 
+		 * @param value
+		 * 		The specification name entered so far.
+		 * @param repositoryName
+		 * 		The repository entered, if passed along, otherwise the repositories of the job are used.
+		 * @param specificationType
+		 * 		The specification type selected, if passed along.
+		 * @param project
+		 * 		The job being configured.
+		 * 
+		 * @return <code>AutoCompletionCandidates</code>
+		 */
+		public AutoCompletionCandidates doAutoCompleteSpecificationName(@QueryParameter String value,
+				@QueryParameter String repositoryName, @QueryParameter String specificationType, @AncestorInPath Item project) {
+			AutoCompletionCandidates candidates = new AutoCompletionCandidates();
+			if (value == null || !canConfigure(project)) {
+				return candidates;
+			}
+
+			Set<String> repositories = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+			if (!Strings.isNullOrEmpty(repositoryName)) {
+				repositories.add(repositoryName.trim());
+			} else if (project instanceof Project) {
+				for (TEDExecutionBuilder builder : ((Project<?, ?>) project).getBuildersList().getAll(TEDExecutionBuilder.class)) {
+					if (!Strings.isNullOrEmpty(builder.getRepositoryName())) {
+						repositories.add(builder.getRepositoryName());
+					}
+				}
+			}
+			SpecificationType selectedType = SpecificationType.fromValue(specificationType);
+
+			String prefix = value.toUpperCase(Locale.ENGLISH);
+			Set<String> names = new TreeSet<>();
+			for (String repository : repositories) {
+				for (SpecificationListing listing : SpecificationCatalog.getCachedListings(repository)) {
+					for (SpecificationType type : SpecificationType.values()) {
+						if (selectedType != null && type != selectedType) {
+							continue;
+						}
+						for (String name : listing.getSpecifications(type)) {
+							if (name.toUpperCase(Locale.ENGLISH).startsWith(prefix)) {
+								names.add(name);
+							}
+						}
+					}
+				}
+			}
+			for (String name : names) {
+				candidates.add(name);
+			}
+
+			return candidates;
+		}
+		
+		/**
+		 * Auto completes the execution context from the execution contexts found in the CLI directories by the
+		 * executions, so no node is contacted to auto complete the field. Only users allowed to configure the job get
+		 * candidates.
+		 * 
+		 * @param value
+		 * 		The execution context entered so far.
+		 * @param project
+		 * 		The job being configured.
+		 * 
+		 * @return <code>AutoCompletionCandidates</code>
+		 */
+		public AutoCompletionCandidates doAutoCompleteExecutionContext(@QueryParameter String value, @AncestorInPath Item project) {
+			AutoCompletionCandidates candidates = new AutoCompletionCandidates();
+			if (value == null || !canConfigure(project)) {
+				return candidates;
+			}
+
+			String prefix = value.toUpperCase(Locale.ENGLISH);
+			for (String name : ExecutionContextResolver.getCachedContextNames()) {
+				if (name.toUpperCase(Locale.ENGLISH).startsWith(prefix)) {
+					candidates.add(name);
+				}
+			}
+
+			return candidates;
+		}
+		
+		/**
+		 * Fills in the Execution Profile selection box with the profiles of the global configuration.
+		 * 
+		 * Users not allowed to configure the job only get the selected profile.
+		 * 
+		 * @param profileId
+		 * 		The selected profile id; can be null
+		 * @param project
+		 * 		The job being configured.
+		 * 
+		 * @return execution profile selections
+		 */
+		public ListBoxModel doFillProfileIdItems(@QueryParameter String profileId, @AncestorInPath Item project) {
+			ListBoxModel model = new ListBoxModel();
+			model.add(new Option(StringUtils.EMPTY, StringUtils.EMPTY, false));
+			if (!canConfigure(project)) {
+				if (!Strings.isNullOrEmpty(profileId)) {
+					model.add(new Option(profileId, profileId, true));
+				}
+				return model;
+			}
+
+			TEDGlobalConfiguration globalConfig = TEDGlobalConfiguration.get();
+			if (globalConfig != null) {
+				for (TEDExecutionProfile profile : globalConfig.getProfiles()) {
+					String description = Util.fixEmptyAndTrim(profile.getDescription());
+					model.add(new Option(profile.getId() + (description != null ? " (" + description + ")" : ""), profile.getId(), //$NON-NLS-1$ //$NON-NLS-2$
+							profile.getId().equals(profileId)));
+				}
+			}
+
+			return model;
+		}
+		
 		/**
 		 * Fills in the Host Connection selection box with applicable connections.
 		 * 
@@ -1450,8 +1992,7 @@ public class TEDExecutionBuilder extends Builder implements SimpleBuildStep {
 		public ListBoxModel doFillConnectionIdItems(@AncestorInPath Jenkins context, @QueryParameter String connectionId,
 				@AncestorInPath Item project) {
 			
-			CpwrGlobalConfiguration globalConfig = CpwrGlobalConfiguration.get();
-			HostConnection[] hostConnections = globalConfig.getHostConnections();
+			HostConnection[] hostConnections = getHostConnections();
 
 			ListBoxModel model = new ListBoxModel();
 			model.add(new Option(StringUtils.EMPTY, StringUtils.EMPTY, false));
@@ -1519,38 +2060,57 @@ public class TEDExecutionBuilder extends Builder implements SimpleBuildStep {
 		public ListBoxModel doFillCesURLItems (@QueryParameter String cesUrl) {
 			ListBoxModel model = new ListBoxModel();
 			model.add(new Option("", "", false));
-			CpwrGlobalConfiguration globalConfig = CpwrGlobalConfiguration.get();
-			if (globalConfig != null) {
-				HostConnection[] hostConnections = globalConfig.getHostConnections();
 
-				for (HostConnection connection : hostConnections) {
-					String cesServerURL = connection.getCesUrl();
-					if (cesServerURL != null && !cesServerURL.isEmpty()) {
-						boolean isSelected = false;
-						if (cesUrl != null) {
-							isSelected = cesUrl.equalsIgnoreCase(cesServerURL);
-						}
+			for (String cesServerURL : getCesUrls()) {
+				boolean isSelected = false;
+				if (cesUrl != null) {
+					isSelected = cesUrl.equalsIgnoreCase(cesServerURL);
+				}
+				model.add(new Option(cesServerURL, cesServerURL, isSelected));
+			}
+
+			return model;
+		}
 
-						String cesValue = cesServerURL;
-						Option opt = new Option(cesValue, cesServerURL, isSelected);
-						boolean exists = false;
+		/**
+		 * Returns the host connections of the global configuration, which is looked up on first use only.
+		 * 
+		 * @return <code>HostConnection[]</code>
+		 */
+		private HostConnection[] getHostConnections() {
+			CpwrGlobalConfiguration globalConfig = cpwrGlobalConfiguration;
+			if (globalConfig == null) {
+				globalConfig = CpwrGlobalConfiguration.get();
+				cpwrGlobalConfiguration = globalConfig;
+			}
+			return globalConfig != null ? globalConfig.getHostConnections() : new HostConnection[0];
+		}
 
-						ListIterator<Option> li = model.listIterator();
-						while (li.hasNext()) {
-							if (li.next().value.equalsIgnoreCase(cesServerURL)) {
-								exists = true;
-								break;
-							}
-						}
+		/**
+		 * Returns the distinct CES URLs of the host connections, computed again only when the CES URLs of the host
+		 * connections have changed, whether the host connections were replaced or updated in place.
+		 * 
+		 * @return <code>List</code> of <code>String</code>
+		 */
+		private List<String> getCesUrls() {
+			HostConnection[] hostConnections = getHostConnections();
+			List<String> key = new ArrayList<>(hostConnections.length);
+			for (HostConnection connection : hostConnections) {
+				key.add(connection.getCesUrl());
+			}
 
-						if (!exists) {
-							model.add(opt);
-						}
+			CesUrls cached = cesUrls;
+			if (cached == null || !cached.key.equals(key)) {
+				Map<String, String> urls = new LinkedHashMap<>();
+				for (String cesServerURL : key) {
+					if (cesServerURL != null && !cesServerURL.isEmpty()) {
+						urls.putIfAbsent(cesServerURL.toLowerCase(Locale.ENGLISH), cesServerURL);
 					}
 				}
+				cached = new CesUrls(key, Collections.unmodifiableList(new ArrayList<>(urls.values())));
+				cesUrls = cached;
 			}
-
-			return model;
+			return cached.urls;
 		}
 
 		
@@ -1582,6 +2142,82 @@ public class TEDExecutionBuilder extends Builder implements SimpleBuildStep {
 			return FormValidation.ok();
 		}
 		
+		/**
+		 * Validates for the 'CLI Version Range' field
+		 * 
+		 * @param value
+		 * 		The range of CLI versions.
+		 * @return validation message
+		 */
+		public FormValidation doCheckCliVersionRange(@QueryParameter String value) {
+			if (value.contains("$")) { //$NON-NLS-1$
+				// expanded at execution
+				return FormValidation.ok();
+			}
+			try {
+				CLIVersionRange.parse(value);
+			} catch (IllegalArgumentException e) {
+				return FormValidation.error(Messages.errors_invalidCLIVersionRange());
+			}
+
+			return FormValidation.ok();
+		}
+
+		/**
+		 * Validates for the 'Throughput Drop' field
+		 * 
+		 * @param value
+		 * 		The percentage the records per second may drop below the baseline.
+		 * @return validation message
+		 */
+		public FormValidation doCheckThroughputDropThreshold(@QueryParameter String value) {
+			return checkPercentage(value);
+		}
+
+		/**
+		 * Validates for the 'Record Count Change' field
+		 * 
+		 * @param value
+		 * 		The percentage the records may differ from the baseline.
+		 * @return validation message
+		 */
+		public FormValidation doCheckRecordCountChangeThreshold(@QueryParameter String value) {
+			return checkPercentage(value);
+		}
+
+		private FormValidation checkPercentage(String value) {
+			try {
+				RegressionGate.parsePercentage(value);
+			} catch (NumberFormatException e) {
+				return FormValidation.error(Messages.errors_invalidRegressionThreshold());
+			}
+
+			return FormValidation.ok();
+		}
+
+		/**
+		 * Validates for the 'Maximum Parallel Executions' field
+		 * 
+		 * @param value
+		 * 		The maximum number of specifications executed in parallel.
+		 * @return validation message
+		 */
+		public FormValidation doCheckMaxParallelExecutions(@QueryParameter String value) {
+			if (value.length() == 0) {
+				return FormValidation.ok();
+			}
+
+			try {
+				if (Integer.parseInt(value) < 1) {
+					return FormValidation.error(Messages.errors_invalidMaxParallelExecutions());
+				}
+			} catch (NumberFormatException e) {
+				return FormValidation.error(Messages.errors_invalidMaxParallelExecutions());
+			}
+
+			return FormValidation.ok();
+		}
+		
 		/**
 		 * Validates for the 'Communication Manager Port' field
 		 * 
@@ -0,0 +1,258 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import hudson.model.Job;
+import hudson.model.Run;
+import jenkins.util.SystemProperties;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONException;
+import net.sf.json.JSONObject;
+
+/**
+ * Writes a compact summary of the Enterprise Data executions of every build, in JSON lines, and keeps a rolling index
+ * of these summaries per job, so the results of many builds can be looked at without reading their build logs.
+ * <p>
+ * The summary of a build is written to <code>ted-summary.jsonl</code> in the build directory, one line per
+ * specification. The index is written to <code>ted-index.jsonl</code> in the job directory, one line per execution,
+ * keeping the latest <code>maxEntries</code> executions. The index is read once and kept in memory until it changes,
+ * for the <code>maxCachedIndexes</code> most recently used jobs. Executions appended by this class update the index in
+ * memory, so it is not read again.
+ */
+public final class TEDExecutionIndex {
+
+	static final String SUMMARY_FILE = "ted-summary.jsonl"; //$NON-NLS-1$
+	static final String INDEX_FILE = "ted-index.jsonl"; //$NON-NLS-1$
+
+	static final int MAX_ENTRIES = SystemProperties.getInteger(TEDExecutionIndex.class.getName() + ".maxEntries", 500); //$NON-NLS-1$
+
+	private static final int MAX_CACHED_INDEXES = SystemProperties.getInteger(TEDExecutionIndex.class.getName() + ".maxCachedIndexes", 100); //$NON-NLS-1$
+
+	private static final Map<File, CachedIndex> CACHE = new LinkedHashMap<File, CachedIndex>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<File, CachedIndex> eldest) {
+			return size() > MAX_CACHED_INDEXES;
+		}
+	};
+
+	/**
+	 * Striped locks, so an index is read and written once at a time without keeping a lock per job.
+	 */
+	private static final Object[] LOCKS = new Object[64];
+
+	static {
+		for (int i = 0; i < LOCKS.length; i++) {
+			LOCKS[i] = new Object();
+		}
+	}
+
+	private TEDExecutionIndex() {
+	}
+
+	/**
+	 * Records the results of an execution in the summary of the build and in the index of its job.
+	 * 
+	 * @param build
+	 *            The build.
+	 * @param results
+	 *            The results of the execution.
+	 * 
+	 * @throws IOException
+	 */
+	public static void record(Run<?, ?> build, List<SpecificationResult> results) throws IOException {
+		if (results.isEmpty()) {
+			return;
+		}
+
+		JSONArray specifications = new JSONArray();
+		List<String> summaryLines = new ArrayList<>();
+		long start = Long.MAX_VALUE;
+		long end = 0;
+		for (SpecificationResult result : results) {
+			JSONObject json = result.toJSON();
+			specifications.add(json);
+			summaryLines.add(json.toString());
+			// specifications skipped or never started have no start time
+			if (result.getStartTime() != 0) {
+				start = Math.min(start, result.getStartTime());
+				end = Math.max(end, result.getStartTime() + result.getDuration());
+			}
+		}
+		long duration = end > start ? end - start : 0;
+		Files.write(new File(build.getRootDir(), SUMMARY_FILE).toPath(), summaryLines, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+				StandardOpenOption.APPEND);
+
+		JSONObject entry = new JSONObject();
+		entry.element("build", build.getNumber()); //$NON-NLS-1$
+		entry.element("timestamp", build.getTimeInMillis()); //$NON-NLS-1$
+		entry.element("duration", duration); //$NON-NLS-1$
+		entry.element("specifications", specifications); //$NON-NLS-1$
+		append(new File(build.getParent().getRootDir(), INDEX_FILE), entry);
+	}
+
+	/**
+	 * Returns the index of a job, oldest execution first.
+	 * 
+	 * @param job
+	 *            The job.
+	 * 
+	 * @return <code>List</code> of <code>JSONObject</code>, one per execution
+	 * 
+	 * @throws IOException
+	 */
+	public static List<JSONObject> read(Job<?, ?> job) throws IOException {
+		return read(new File(job.getRootDir(), INDEX_FILE));
+	}
+
+	static List<JSONObject> read(File file) throws IOException {
+		return load(file).entries;
+	}
+
+	/**
+	 * Returns the results of the specifications executed by the latest executions of a job, latest first.
+	 * 
+	 * @param job
+	 *            The job.
+	 * @param name
+	 *            The specification name.
+	 * @param type
+	 *            The specification type.
+	 * @param limit
+	 *            The maximum number of results to return.
+	 * 
+	 * @return <code>List</code> of <code>JSONObject</code>, as written by <code>SpecificationResult.toJSON()</code>
+	 * 
+	 * @throws IOException
+	 */
+	public static List<JSONObject> getHistory(Job<?, ?> job, String name, SpecificationType type, int limit) throws IOException {
+		return getHistory(new File(job.getRootDir(), INDEX_FILE), name, type, limit);
+	}
+
+	static List<JSONObject> getHistory(File file, String name, SpecificationType type, int limit) throws IOException {
+		List<JSONObject> entries = read(file);
+		List<JSONObject> history = new ArrayList<>();
+		String typeValue = type != null ? type.getValue() : ""; //$NON-NLS-1$
+		for (int i = entries.size() - 1; i >= 0 && history.size() < limit; i--) {
+			JSONArray specifications = entries.get(i).optJSONArray("specifications"); //$NON-NLS-1$
+			if (specifications == null) {
+				continue;
+			}
+			for (int j = 0; j < specifications.size() && history.size() < limit; j++) {
+				JSONObject specification = specifications.getJSONObject(j);
+				if (name.equals(specification.optString("name")) && typeValue.equals(specification.optString("type"))) { //$NON-NLS-1$ //$NON-NLS-2$
+					history.add(specification);
+				}
+			}
+		}
+		return history;
+	}
+
+	static void append(File file, JSONObject entry) throws IOException {
+		synchronized (lockFor(file)) {
+			List<JSONObject> entries = load(file).entries;
+			List<JSONObject> updated;
+			if (entries.size() < MAX_ENTRIES) {
+				Files.write(file.toPath(), Collections.singletonList(entry.toString()), StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+						StandardOpenOption.APPEND);
+				updated = new ArrayList<>(entries.size() + 1);
+				updated.addAll(entries);
+				updated.add(entry);
+			} else {
+				updated = new ArrayList<>(entries.subList(entries.size() - MAX_ENTRIES + 1, entries.size()));
+				updated.add(entry);
+				File tempFile = new File(file.getParentFile(), file.getName() + ".tmp"); //$NON-NLS-1$
+				try (Writer writer = Files.newBufferedWriter(tempFile.toPath(), StandardCharsets.UTF_8)) {
+					for (JSONObject json : updated) {
+						writer.write(json.toString());
+						writer.write('\n');
+					}
+				}
+				Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+
+			// the appended index is known, so the next read need not parse it again
+			CachedIndex cached = new CachedIndex(file.lastModified(), file.length(), Collections.unmodifiableList(updated));
+			synchronized (CACHE) {
+				CACHE.put(file, cached);
+			}
+		}
+	}
+
+	private static CachedIndex load(File file) throws IOException {
+		synchronized (lockFor(file)) {
+			long lastModified = file.lastModified();
+			long length = file.length();
+			CachedIndex cached;
+			synchronized (CACHE) {
+				cached = CACHE.get(file);
+			}
+			if (cached != null && cached.lastModified == lastModified && cached.length == length) {
+				return cached;
+			}
+
+			List<JSONObject> entries = new ArrayList<>();
+			if (file.isFile()) {
+				for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+					if (!line.trim().isEmpty()) {
+						try {
+							entries.add(JSONObject.fromObject(line));
+						} catch (JSONException e) {
+							// skip a line left incomplete by an interrupted write
+						}
+					}
+				}
+			}
+			cached = new CachedIndex(lastModified, length, Collections.unmodifiableList(entries));
+			synchronized (CACHE) {
+				CACHE.put(file, cached);
+			}
+			return cached;
+		}
+	}
+
+	private static Object lockFor(File file) {
+		return LOCKS[(file.hashCode() & Integer.MAX_VALUE) % LOCKS.length];
+	}
+
+	private static final class CachedIndex {
+		private final long lastModified;
+		private final long length;
+		private final List<JSONObject> entries;
+
+		private CachedIndex(long lastModified, long length, List<JSONObject> entries) {
+			this.lastModified = lastModified;
+			this.length = length;
+			this.entries = entries;
+		}
+	}
+
+}
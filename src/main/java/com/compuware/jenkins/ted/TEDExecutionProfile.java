@@ -0,0 +1,492 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import org.jenkinsci.Symbol;
+import org.kohsuke.stapler.AncestorInPath;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.QueryParameter;
+
+import hudson.Extension;
+import hudson.Util;
+import hudson.model.AbstractDescribableImpl;
+import hudson.model.AutoCompletionCandidates;
+import hudson.model.Descriptor;
+import hudson.model.Item;
+import hudson.util.FormValidation;
+import hudson.util.ListBoxModel;
+import jenkins.model.Jenkins;
+
+/**
+ * A named set of execution settings, defined once in the global configuration and referred to by id from the jobs, so
+ * the connections, jobcard, qualifiers and data privacy overrides are not repeated in every job.
+ */
+public class TEDExecutionProfile extends AbstractDescribableImpl<TEDExecutionProfile> implements ITEDConnectionSettings {
+
+	private final String id;
+	private String description;
+	private String executionContext;
+	private String executionTimeout;
+	private boolean defineCES;
+	private String cesURL;
+	private boolean useCloudCES;
+	private String cloudCustomerNo;
+	private String cloudSiteID;
+	private boolean defineManager;
+	private String communicationManager;
+	private String communicationManagerPort;
+	private boolean defineServer;
+	private String executionServer;
+	private String executionServerPort;
+	private boolean defineHost;
+	private String connectionId;
+	private boolean includeCred;
+	private String credentialsId;
+	private boolean defineJobcard;
+	private String jclJobcardLine1;
+	private String jclJobcardLine2;
+	private String jclJobcardLine3;
+	private String jclJobcardLine4;
+	private String jclJobcardLine5;
+	private boolean defineQualifiers;
+	private String datasetHighLevelQualifier;
+	private String temporaryDatasetPrefix;
+	private String temporaryDatasetSuffix;
+	private boolean defineDataprivacyOverride;
+	private String dpOverrideFADEBUG;
+	private String dpOverrideFAEXPATH;
+	private String dpOverrideFAIPADDR;
+	private String dpOverrideFAJOPTS;
+	private String dpOverrideFAJPATH;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param id
+	 *            The id the jobs refer to the profile by.
+	 */
+	@DataBoundConstructor
+	public TEDExecutionProfile(String id) {
+		this.id = Util.fixEmptyAndTrim(id);
+	}
+
+	/**
+	 * Returns the id the jobs refer to the profile by.
+	 * 
+	 * @return <code>String</code>
+	 */
+	public String getId() {
+		return id;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	@DataBoundSetter
+	public void setDescription(String description) {
+		this.description = description;
+	}
+
+	@Override
+	public String getExecutionContext() {
+		return executionContext;
+	}
+
+	@DataBoundSetter
+	public void setExecutionContext(String executionContext) {
+		this.executionContext = executionContext;
+	}
+
+	@Override
+	public String getExecutionTimeout() {
+		return executionTimeout;
+	}
+
+	@DataBoundSetter
+	public void setExecutionTimeout(String executionTimeout) {
+		this.executionTimeout = executionTimeout;
+	}
+
+	@Override
+	public boolean getDefineCES() {
+		return defineCES;
+	}
+
+	@DataBoundSetter
+	public void setDefineCES(boolean defineCES) {
+		this.defineCES = defineCES;
+	}
+
+	@Override
+	public String getCesURL() {
+		return cesURL;
+	}
+
+	@DataBoundSetter
+	public void setCesURL(String cesURL) {
+		this.cesURL = cesURL;
+	}
+
+	@Override
+	public boolean getUseCloudCES() {
+		return useCloudCES;
+	}
+
+	@DataBoundSetter
+	public void setUseCloudCES(boolean useCloudCES) {
+		this.useCloudCES = useCloudCES;
+	}
+
+	@Override
+	public String getCloudCustomerNo() {
+		return cloudCustomerNo;
+	}
+
+	@DataBoundSetter
+	public void setCloudCustomerNo(String cloudCustomerNo) {
+		this.cloudCustomerNo = cloudCustomerNo;
+	}
+
+	@Override
+	public String getCloudSiteID() {
+		return cloudSiteID;
+	}
+
+	@DataBoundSetter
+	public void setCloudSiteID(String cloudSiteID) {
+		this.cloudSiteID = cloudSiteID;
+	}
+
+	@Override
+	public boolean getDefineManager() {
+		return defineManager;
+	}
+
+	@DataBoundSetter
+	public void setDefineManager(boolean defineManager) {
+		this.defineManager = defineManager;
+	}
+
+	@Override
+	public String getCommunicationManager() {
+		return communicationManager;
+	}
+
+	@DataBoundSetter
+	public void setCommunicationManager(String communicationManager) {
+		this.communicationManager = communicationManager;
+	}
+
+	@Override
+	public String getCommunicationManagerPort() {
+		return communicationManagerPort;
+	}
+
+	@DataBoundSetter
+	public void setCommunicationManagerPort(String communicationManagerPort) {
+		this.communicationManagerPort = communicationManagerPort;
+	}
+
+	@Override
+	public boolean getDefineServer() {
+		return defineServer;
+	}
+
+	@DataBoundSetter
+	public void setDefineServer(boolean defineServer) {
+		this.defineServer = defineServer;
+	}
+
+	@Override
+	public String getExecutionServer() {
+		return executionServer;
+	}
+
+	@DataBoundSetter
+	public void setExecutionServer(String executionServer) {
+		this.executionServer = executionServer;
+	}
+
+	@Override
+	public String getExecutionServerPort() {
+		return executionServerPort;
+	}
+
+	@DataBoundSetter
+	public void setExecutionServerPort(String executionServerPort) {
+		this.executionServerPort = executionServerPort;
+	}
+
+	@Override
+	public boolean getDefineHost() {
+		return defineHost;
+	}
+
+	@DataBoundSetter
+	public void setDefineHost(boolean defineHost) {
+		this.defineHost = defineHost;
+	}
+
+	@Override
+	public String getConnectionId() {
+		return connectionId;
+	}
+
+	@DataBoundSetter
+	public void setConnectionId(String connectionId) {
+		this.connectionId = connectionId;
+	}
+
+	@Override
+	public boolean getIncludeCred() {
+		return includeCred;
+	}
+
+	@DataBoundSetter
+	public void setIncludeCred(boolean includeCred) {
+		this.includeCred = includeCred;
+	}
+
+	@Override
+	public String getCredentialsId() {
+		return credentialsId;
+	}
+
+	@DataBoundSetter
+	public void setCredentialsId(String credentialsId) {
+		this.credentialsId = credentialsId;
+	}
+
+	@Override
+	public boolean getDefineJobcard() {
+		return defineJobcard;
+	}
+
+	@DataBoundSetter
+	public void setDefineJobcard(boolean defineJobcard) {
+		this.defineJobcard = defineJobcard;
+	}
+
+	@Override
+	public String getJclJobcardLine1() {
+		return jclJobcardLine1;
+	}
+
+	@DataBoundSetter
+	public void setJclJobcardLine1(String jclJobcardLine1) {
+		this.jclJobcardLine1 = jclJobcardLine1;
+	}
+
+	@Override
+	public String getJclJobcardLine2() {
+		return jclJobcardLine2;
+	}
+
+	@DataBoundSetter
+	public void setJclJobcardLine2(String jclJobcardLine2) {
+		this.jclJobcardLine2 = jclJobcardLine2;
+	}
+
+	@Override
+	public String getJclJobcardLine3() {
+		return jclJobcardLine3;
+	}
+
+	@DataBoundSetter
+	public void setJclJobcardLine3(String jclJobcardLine3) {
+		this.jclJobcardLine3 = jclJobcardLine3;
+	}
+
+	@Override
+	public String getJclJobcardLine4() {
+		return jclJobcardLine4;
+	}
+
+	@DataBoundSetter
+	public void setJclJobcardLine4(String jclJobcardLine4) {
+		this.jclJobcardLine4 = jclJobcardLine4;
+	}
+
+	@Override
+	public String getJclJobcardLine5() {
+		return jclJobcardLine5;
+	}
+
+	@DataBoundSetter
+	public void setJclJobcardLine5(String jclJobcardLine5) {
+		this.jclJobcardLine5 = jclJobcardLine5;
+	}
+
+	@Override
+	public boolean getDefineQualifiers() {
+		return defineQualifiers;
+	}
+
+	@DataBoundSetter
+	public void setDefineQualifiers(boolean defineQualifiers) {
+		this.defineQualifiers = defineQualifiers;
+	}
+
+	@Override
+	public String getDatasetHighLevelQualifier() {
+		return datasetHighLevelQualifier;
+	}
+
+	@DataBoundSetter
+	public void setDatasetHighLevelQualifier(String datasetHighLevelQualifier) {
+		this.datasetHighLevelQualifier = datasetHighLevelQualifier;
+	}
+
+	@Override
+	public String getTemporaryDatasetPrefix() {
+		return temporaryDatasetPrefix;
+	}
+
+	@DataBoundSetter
+	public void setTemporaryDatasetPrefix(String temporaryDatasetPrefix) {
+		this.temporaryDatasetPrefix = temporaryDatasetPrefix;
+	}
+
+	@Override
+	public String getTemporaryDatasetSuffix() {
+		return temporaryDatasetSuffix;
+	}
+
+	@DataBoundSetter
+	public void setTemporaryDatasetSuffix(String temporaryDatasetSuffix) {
+		this.temporaryDatasetSuffix = temporaryDatasetSuffix;
+	}
+
+	@Override
+	public boolean getDefineDataprivacyOverride() {
+		return defineDataprivacyOverride;
+	}
+
+	@DataBoundSetter
+	public void setDefineDataprivacyOverride(boolean defineDataprivacyOverride) {
+		this.defineDataprivacyOverride = defineDataprivacyOverride;
+	}
+
+	@Override
+	public String getDpOverrideFADEBUG() {
+		return dpOverrideFADEBUG;
+	}
+
+	@DataBoundSetter
+	public void setDpOverrideFADEBUG(String dpOverrideFADEBUG) {
+		this.dpOverrideFADEBUG = dpOverrideFADEBUG;
+	}
+
+	@Override
+	public String getDpOverrideFAEXPATH() {
+		return dpOverrideFAEXPATH;
+	}
+
+	@DataBoundSetter
+	public void setDpOverrideFAEXPATH(String dpOverrideFAEXPATH) {
+		this.dpOverrideFAEXPATH = dpOverrideFAEXPATH;
+	}
+
+	@Override
+	public String getDpOverrideFAIPADDR() {
+		return dpOverrideFAIPADDR;
+	}
+
+	@DataBoundSetter
+	public void setDpOverrideFAIPADDR(String dpOverrideFAIPADDR) {
+		this.dpOverrideFAIPADDR = dpOverrideFAIPADDR;
+	}
+
+	@Override
+	public String getDpOverrideFAJOPTS() {
+		return dpOverrideFAJOPTS;
+	}
+
+	@DataBoundSetter
+	public void setDpOverrideFAJOPTS(String dpOverrideFAJOPTS) {
+		this.dpOverrideFAJOPTS = dpOverrideFAJOPTS;
+	}
+
+	@Override
+	public String getDpOverrideFAJPATH() {
+		return dpOverrideFAJPATH;
+	}
+
+	@DataBoundSetter
+	public void setDpOverrideFAJPATH(String dpOverrideFAJPATH) {
+		this.dpOverrideFAJPATH = dpOverrideFAJPATH;
+	}
+
+	/**
+	 * Descriptor of the execution profiles, delegating to the descriptor of the <code>TEDExecutionBuilder</code> for
+	 * the selection boxes and the validations.
+	 */
+	@Symbol("tedExecutionProfile")
+	@Extension
+	public static class DescriptorImpl extends Descriptor<TEDExecutionProfile> {
+
+		@Override
+		public String getDisplayName() {
+			return "Enterprise Data Execution Profile"; //$NON-NLS-1$
+		}
+
+		private static TEDExecutionBuilder.DescriptorImpl getBuilderDescriptor() {
+			return Jenkins.get().getDescriptorByType(TEDExecutionBuilder.DescriptorImpl.class);
+		}
+
+		public FormValidation doCheckId(@QueryParameter String value) {
+			if (Util.fixEmptyAndTrim(value) == null) {
+				return FormValidation.error(Messages.errors_missingProfileId());
+			}
+			return FormValidation.ok();
+		}
+
+		public AutoCompletionCandidates doAutoCompleteExecutionContext(@QueryParameter String value) {
+			// profiles are part of the global configuration
+			return getBuilderDescriptor().doAutoCompleteExecutionContext(value, null);
+		}
+
+		public ListBoxModel doFillCesURLItems(@QueryParameter String cesUrl) {
+			return getBuilderDescriptor().doFillCesURLItems(cesUrl);
+		}
+
+		public ListBoxModel doFillConnectionIdItems(@AncestorInPath Jenkins context, @QueryParameter String connectionId,
+				@AncestorInPath Item project) {
+			return getBuilderDescriptor().doFillConnectionIdItems(context, connectionId, project);
+		}
+
+		public ListBoxModel doFillCredentialsIdItems(@AncestorInPath final Jenkins context, @QueryParameter final String credentialsId,
+				@AncestorInPath final Item project) {
+			return getBuilderDescriptor().doFillCredentialsIdItems(context, credentialsId, project);
+		}
+
+		public FormValidation doCheckExecutionTimeout(@QueryParameter String value) {
+			return getBuilderDescriptor().doCheckExecutionTimeOut(value);
+		}
+
+		public FormValidation doCheckCommunicationManagerPort(@QueryParameter String value) {
+			return getBuilderDescriptor().doCheckCommunicationManagerPort(value);
+		}
+
+		public FormValidation doCheckExecutionServerPort(@QueryParameter String value) {
+			return getBuilderDescriptor().doCheckExecutionServerPort(value);
+		}
+	}
+
+}
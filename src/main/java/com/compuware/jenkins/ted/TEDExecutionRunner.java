@@ -16,9 +16,26 @@
  */
 package com.compuware.jenkins.ted;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
+import com.cloudbees.plugins.credentials.common.StandardUsernamePasswordCredentials;
 import com.compuware.jenkins.common.configuration.CpwrGlobalConfiguration;
 import com.compuware.jenkins.common.configuration.HostConnection;
 import com.google.common.base.Strings;
@@ -26,10 +43,17 @@ import com.google.common.base.Strings;
 import hudson.EnvVars;
 import hudson.FilePath;
 import hudson.Launcher;
+import hudson.Util;
+import hudson.model.Computer;
+import hudson.model.Node;
+import hudson.model.Result;
 import hudson.model.Run;
 import hudson.model.TaskListener;
 import hudson.remoting.VirtualChannel;
+import hudson.slaves.WorkspaceList;
 import hudson.util.ArgumentListBuilder;
+import jenkins.util.SystemProperties;
+import jenkins.util.Timer;
 
 /**
  *
@@ -38,11 +62,29 @@ public class TEDExecutionRunner implements IExecutionCommandArguments {
 	
 	private static final String TED_CLI_BAT = "TedCLI.bat";
 	private static final String TED_CLI_SH = "TedCLI.sh";
+	private static final int COMPARE_TOP_KEYS = 10;
+	private static final long CHECKPOINT_INTERVAL = SystemProperties.getLong(TEDExecutionRunner.class.getName() + ".checkpointInterval", //$NON-NLS-1$
+			TimeUnit.SECONDS.toMillis(10));
 	
 	private final TEDExecutionBuilder tedBuilder;
+	private final ITEDConnectionSettings settings;
 
 	private Run<?, ?> build;
 	private String remoteFileSeparator;
+	private Launcher launcher;
+	private EnvVars env;
+	private FilePath workDir;
+	private FilePath cliDirectory;
+	private Node node;
+	private FilePath cliScriptPath;
+	private String nodeName;
+	private String executionContextPath;
+	private ISpecificationSource specificationSource;
+	private final List<SpecificationResult> results = new ArrayList<>();
+	private TEDExecutionAction executionAction;
+	private SecretMaskingOutputStream.Matcher secretMatcher;
+	private long checkpointedAt;
+	private ScheduledFuture<?> pendingCheckpoint;
 
 	/**
 	 * Constructor
@@ -51,8 +93,20 @@ public class TEDExecutionRunner implements IExecutionCommandArguments {
 	 * 			  An instance of <code>TEDExecutionBuilder</code> containing the arguments.
 	 */
 	public TEDExecutionRunner(TEDExecutionBuilder tedBuilder) {
+		this(tedBuilder, tedBuilder);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param tedBuilder
+	 * 			  An instance of <code>TEDExecutionBuilder</code> containing the arguments.
+	 * @param settings
+	 * 			  The connection settings, of the builder or of its execution profile.
+	 */
+	public TEDExecutionRunner(TEDExecutionBuilder tedBuilder, ITEDConnectionSettings settings) {
 		this.tedBuilder = tedBuilder;
-		
+		this.settings = settings;
 	}
 	
 	/**
@@ -77,25 +131,50 @@ public class TEDExecutionRunner implements IExecutionCommandArguments {
 		}
 		
 		this.build = build;
+		this.launcher = launcher;
+		this.env = env;
 		Properties remoteProperties = vChannel.call(new RemoteSystemProperties());
 		remoteFileSeparator = remoteProperties.getProperty("file.separator");
 		String osScriptFile = launcher.isUnix() ? TED_CLI_SH : TED_CLI_BAT;
 
 		TEDExecutionRunnerUtils.logJenkinsAndPluginVersion(listener);
 
-		FilePath cliScriptPath = TEDExecutionRunnerUtils.getCLIScriptPath(launcher, listener, remoteFileSeparator, osScriptFile);
+		Computer computer = workspaceFilePath.toComputer();
+		nodeName = computer != null ? computer.getName() : ""; //$NON-NLS-1$
+
+		node = computer != null ? computer.getNode() : null;
+		cliDirectory = TEDExecutionRunnerUtils.getCLIDirectory(launcher, node, listener,
+				CLIVersionRange.parse(env.expand(tedBuilder.getCliVersionRange())));
+		cliScriptPath = TEDExecutionRunnerUtils.getCLIScriptPath(cliDirectory, listener, osScriptFile, TEDExecutionRunnerUtils.TED_MINIMUM_CLI_VERSION);
 		args.add(cliScriptPath.getRemote());
-		
-		addArguments(args, launcher, listener, remoteFileSeparator);
 
-		FilePath workDir = new FilePath (vChannel, workspaceFilePath.getRemote());
+		workDir = new FilePath (vChannel, workspaceFilePath.getRemote());
 		workDir.mkdirs();
 
-		listener.getLogger().println("----------------------------------");
-		listener.getLogger().println("Now executing Enterprise Data Execution CLI and printing out the execution log...");
-		listener.getLogger().println("----------------------------------\n\n");
+		if (!Strings.isNullOrEmpty(settings.getExecutionContext())) {
+			executionContextPath = ExecutionContextResolver.resolve(vChannel, nodeName, cliDirectory.getRemote(),
+					remoteFileSeparator, workDir.getRemote(), settings.getExecutionContext());
+		}
+
+		if (tedBuilder.getDryRun()) {
+			dryRun(args, listener);
+			return true;
+		}
+
+		executionAction = TEDExecutionAction.getOrCreate(build);
+		executionAction.setConfigurationDigest(getConfigurationDigest());
 
-		int exitValue = launcher.launch().cmds(args).envs(env).stdout(listener.getLogger()).pwd(workDir).join();
+		int exitValue;
+		try {
+			if (isPlannedExecution()) {
+				exitValue = runPlan(listener);
+			} else {
+				exitValue = runCommand(args, listener);
+			}
+		} finally {
+			recordResults(listener);
+		}
+		summarizeCompareResults(listener);
 
 		listener.getLogger().println(osScriptFile + " exited with exit value = " + exitValue);
 		listener.getLogger().println("\n\n----------------------------------");
@@ -103,6 +182,7 @@ public class TEDExecutionRunner implements IExecutionCommandArguments {
 		listener.getLogger().println("----------------------------------\n\n");
 
 		if (exitValue != 0) {
+			printFailureSummary(listener);
 			if (!tedBuilder.getHaltPipelineOnFailure()) {
 				// Don't fail the build so the pipeline can continue.
 				listener.getLogger().println("Test result failed but build continues (\"" + tedBuilder.getHaltPipelineTitle() + "\" is false)");
@@ -115,6 +195,730 @@ public class TEDExecutionRunner implements IExecutionCommandArguments {
 		return (exitValue == 0);
 	}
 	
+	/**
+	 * Returns if the specifications are executed according to an <code>ExecutionPlan</code>, with a CLI launch per
+	 * specification, rather than with a single CLI launch.
+	 * 
+	 * @return <code>boolean</code>
+	 */
+	private boolean isPlannedExecution() {
+		return !tedBuilder.isSingleSpecExecution() && tedBuilder.getParallelExecution();
+	}
+
+	/**
+	 * Executes the configured specification, or specification list, with a single CLI launch.
+	 * 
+	 * @param args
+	 *            The argument list, holding the CLI script.
+	 * @param listener
+	 *            Build listener
+	 * 
+	 * @return The exit value of the CLI
+	 * 
+	 * @throws IOException
+	 * @throws InterruptedException
+	 */
+	private int runCommand(final ArgumentListBuilder args, final TaskListener listener) throws IOException, InterruptedException {
+		ArgumentListBuilder cliArgs = new ArgumentListBuilder();
+		addArguments(cliArgs, launcher, listener, remoteFileSeparator);
+
+		FilePath argumentFile = null;
+		if (tedBuilder.getUseArgumentFile()) {
+			argumentFile = writeArgumentFile(workDir, cliArgs);
+			listener.getLogger().println("Execution arguments written to argument file: " + argumentFile.getRemote()); //$NON-NLS-1$
+			args.add(ARGUMENT_FILE[1]).add(argumentFile.getRemote());
+			TEDExecutionRunnerUtils.appendArguments(args, cliArgs, true);
+		} else {
+			TEDExecutionRunnerUtils.appendArguments(args, cliArgs, false);
+		}
+
+		printExecutionHeader(listener);
+
+		SpecificationResult result;
+		if (tedBuilder.isSingleSpecExecution()) {
+			result = new SpecificationResult(tedBuilder.getSpecificationName(), SpecificationType.fromValue(tedBuilder.getSpecificationType()));
+		} else {
+			result = new SpecificationResult(tedBuilder.getSpecificationList(), null);
+		}
+		addResult(result);
+
+		try (CommunicationManagerSessions.Session session = openCommunicationManagerSession(listener.getLogger());
+				ExecutionOutputParser parser = new ExecutionOutputParser(listener.getLogger(), result, getNodeCharset())) {
+			return launch(args, parser, listener.getLogger(), result);
+		} finally {
+			if (argumentFile != null) {
+				deleteArgumentFile(argumentFile, listener);
+			}
+		}
+	}
+
+	/**
+	 * Executes the selected specifications according to an <code>ExecutionPlan</code>, launching the CLI for every
+	 * specification. Every specification is started as soon as the specifications it depends on have succeeded.
+	 * 
+	 * @param listener
+	 *            Build listener
+	 * 
+	 * @return <code>0</code> if all the specifications succeeded, otherwise the exit value of a failed specification
+	 * 
+	 * @throws IOException
+	 * @throws InterruptedException
+	 */
+	private int runPlan(final TaskListener listener) throws IOException, InterruptedException {
+		PrintStream logger = listener.getLogger();
+		checkTemporaryDatasetNames();
+		ExecutionPlan plan = getRemainingPlan(createPlan(logger), logger, true);
+		int maxParallel = getMaxParallelExecutions();
+
+		// every specification gets its own temporary dataset suffix, see launchSpecification
+		final ArgumentListBuilder executionArgs = new ArgumentListBuilder();
+		addExecutionArguments(executionArgs, launcher, false);
+
+		final Map<Specification, SpecificationResult> planResults = new LinkedHashMap<>();
+		for (Specification specification : plan.getSpecifications()) {
+			SpecificationResult result = new SpecificationResult(specification);
+			planResults.put(specification, result);
+			addResult(result);
+		}
+
+		printExecutionHeader(listener);
+
+		ExecutorService executor = TEDExecutors.newSpecificationExecutor(Math.min(maxParallel, plan.size()),
+				"TED specification execution", logger); //$NON-NLS-1$
+		try {
+			SpecificationGraphExecutor graphExecutor = new SpecificationGraphExecutor(plan, executor, tedBuilder.getExitOnFailure(), logger);
+			graphExecutor.setStatusListener((specification, status) -> {
+				planResults.get(specification).setStatus(status);
+				saveCheckpoint(logger);
+			});
+			graphExecutor.setErrorListener((specification, error) -> {
+				SpecificationResult result = planResults.get(specification);
+				result.setErrorOutput(error);
+				if (result.getStatus() == SpecificationStatus.RUNNING) {
+					result.finished(SpecificationGraphExecutor.EXCEPTION_EXIT_VALUE);
+				}
+			});
+			return graphExecutor.execute(specification -> launchSpecification(specification, planResults.get(specification), executionArgs, listener));
+		} finally {
+			executor.shutdownNow();
+			flushCheckpoint(logger);
+		}
+	}
+
+	/**
+	 * Returns the plan of the specifications of a plan still to execute, which are those which did not complete in the
+	 * resumed build, see <code>TEDResumeMarker</code>, or those which did not succeed in the previous build when only
+	 * those are rerun.
+	 * 
+	 * @param plan
+	 *            The plan of the specification list.
+	 * @param logger
+	 *            The logger of the build.
+	 * @param record
+	 *            If the marker of a rerun is kept with the build, which a dry run does not.
+	 * 
+	 * @return <code>ExecutionPlan</code>
+	 */
+	private ExecutionPlan getRemainingPlan(final ExecutionPlan plan, final PrintStream logger, final boolean record) {
+		TEDResumeMarker resume = build.getAction(TEDResumeMarker.class);
+		if (resume != null) {
+			logger.println("Resuming build #" + resume.getSourceBuild()); //$NON-NLS-1$
+			return resume.apply(plan, getConfigurationDigest(), logger);
+		}
+		if (tedBuilder.getRerunFailedOnly()) {
+			return getFailedPlan(plan, logger, record);
+		}
+		return plan;
+	}
+
+	/**
+	 * Returns the plan of the specifications of a plan which did not succeed in the previous completed build, or the plan
+	 * itself when the previous build has nothing to rerun.
+	 * 
+	 * @param plan
+	 *            The plan of the specification list.
+	 * @param logger
+	 *            The logger of the build.
+	 * @param record
+	 *            If the marker of the rerun is kept with the build.
+	 * 
+	 * @return <code>ExecutionPlan</code>
+	 */
+	private ExecutionPlan getFailedPlan(final ExecutionPlan plan, final PrintStream logger, final boolean record) {
+		Run<?, ?> previous = build.getPreviousCompletedBuild();
+		if (previous == null || !TEDResumeAction.isResumable(previous)) {
+			logger.println("The previous build has no specifications to rerun, executing all the specifications."); //$NON-NLS-1$
+			return plan;
+		}
+
+		logger.println("Rerunning the specifications which did not succeed in build #" + previous.getNumber()); //$NON-NLS-1$
+		// kept with the build, so the next rerun or resume also leaves out what succeeded before the previous build
+		TEDResumeMarker marker = TEDResumeMarker.of(previous);
+		if (record) {
+			build.addAction(marker);
+		}
+		return marker.apply(plan, getConfigurationDigest(), logger);
+	}
+
+	/**
+	 * Returns the digest of the configuration deciding what the specifications of a plan execute, so a build is only
+	 * resumed with the configuration of the resumed build, see <code>TEDResumeMarker</code>. The data privacy overrides
+	 * and the credentials are left out, since they can hold secrets.
+	 * 
+	 * @return <code>String</code>
+	 */
+	private String getConfigurationDigest() {
+		List<Object> values = Arrays.asList(tedBuilder.getRepositoryName(), tedBuilder.getResultsRepositoryName(),
+				tedBuilder.getCliVersionRange(), tedBuilder.getSpecificationList(), tedBuilder.getSpecificationDependencies(),
+				settings.getExecutionContext(), settings.getDefineCES(), settings.getCesURL(), settings.getUseCloudCES(),
+				settings.getCloudCustomerNo(), settings.getCloudSiteID(), settings.getDefineManager(), settings.getCommunicationManager(),
+				settings.getCommunicationManagerPort(), settings.getDefineServer(), settings.getExecutionServer(),
+				settings.getExecutionServerPort(), settings.getDefineHost(), settings.getConnectionId(), settings.getDefineJobcard(),
+				settings.getJclJobcardLine1(), settings.getJclJobcardLine2(), settings.getJclJobcardLine3(), settings.getJclJobcardLine4(),
+				settings.getJclJobcardLine5(), settings.getDefineQualifiers(), settings.getDatasetHighLevelQualifier(),
+				settings.getTemporaryDatasetPrefix(), settings.getTemporaryDatasetSuffix());
+		return Util.getDigestOf(values.toString());
+	}
+
+	/**
+	 * Saves the build, and with it the results of its specifications, so the build can be resumed from its last
+	 * checkpoint, see <code>TEDResumeAction</code>. The build is saved at most once per <code>checkpointInterval</code>,
+	 * the changes made meanwhile being saved together once the interval has passed.
+	 * 
+	 * @param logger
+	 *            The logger of the build.
+	 */
+	private synchronized void saveCheckpoint(final PrintStream logger) {
+		long wait = checkpointedAt + CHECKPOINT_INTERVAL - System.currentTimeMillis();
+		if (wait <= 0) {
+			writeCheckpoint(logger);
+		} else if (pendingCheckpoint == null) {
+			pendingCheckpoint = Timer.get().schedule(() -> {
+				synchronized (this) {
+					pendingCheckpoint = null;
+					writeCheckpoint(logger);
+				}
+			}, wait, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Saves the changes not saved yet by <code>saveCheckpoint</code>.
+	 * 
+	 * @param logger
+	 *            The logger of the build.
+	 */
+	private synchronized void flushCheckpoint(final PrintStream logger) {
+		if (pendingCheckpoint != null) {
+			pendingCheckpoint.cancel(false);
+			pendingCheckpoint = null;
+			writeCheckpoint(logger);
+		}
+	}
+
+	private void writeCheckpoint(final PrintStream logger) {
+		checkpointedAt = System.currentTimeMillis();
+		try {
+			build.save();
+		} catch (IOException e) {
+			logger.println("Warning: the execution checkpoint could not be saved: " + e.getMessage()); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Selects the specifications of the specification list and plans their execution, printing the plan.
+	 * 
+	 * @param logger
+	 *            The logger of the build.
+	 * 
+	 * @return <code>ExecutionPlan</code>
+	 * 
+	 * @throws IOException
+	 * @throws InterruptedException
+	 */
+	private ExecutionPlan createPlan(final PrintStream logger) throws IOException, InterruptedException {
+		SpecificationSelector selector = new SpecificationSelector(tedBuilder.getRepositoryName(), getSpecificationSource());
+		ExecutionPlan plan = new ExecutionPlan(selector.select(tedBuilder.getSpecificationList(), logger),
+				ExecutionPlan.parseDependencies(tedBuilder.getSpecificationDependencies()));
+		plan.print(logger, getMaxParallelExecutions());
+		return plan;
+	}
+
+	/**
+	 * Resolves and prints everything an execution would launch, without launching the CLI: the command with its
+	 * arguments, and for a planned execution the schedule of the specifications with their estimated durations. The
+	 * repository is only listed, by the CLI, when the specification list holds wildcards or tags.
+	 * 
+	 * @param args
+	 *            The argument list, holding the CLI script.
+	 * @param listener
+	 *            Build listener
+	 * 
+	 * @throws IOException
+	 * @throws InterruptedException
+	 */
+	private void dryRun(final ArgumentListBuilder args, final TaskListener listener) throws IOException, InterruptedException {
+		PrintStream logger = listener.getLogger();
+		logger.println("Dry run, the CLI is not launched."); //$NON-NLS-1$
+		ExecutionEstimator estimator = new ExecutionEstimator(build.getParent());
+
+		if (isPlannedExecution()) {
+			ExecutionPlan plan = getRemainingPlan(createPlan(logger), logger, false);
+			estimator.printSchedule(plan, getMaxParallelExecutions(), logger);
+
+			ArgumentListBuilder executionArgs = new ArgumentListBuilder();
+			addExecutionArguments(executionArgs, launcher, false);
+			if (plan.size() > 0) {
+				Specification first = plan.getSpecifications().get(0);
+				checkTemporaryDatasetNames();
+				String temporaryDatasetSuffix = DatasetResourceScheduler.newTemporaryDatasetSuffix(
+						settings.getDefineQualifiers() ? Util.fixEmptyAndTrim(settings.getTemporaryDatasetSuffix()) : null);
+				logger.println("Command of " + first + ": " + getSpecificationArguments(first, executionArgs, temporaryDatasetSuffix)); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		} else {
+			ArgumentListBuilder cliArgs = new ArgumentListBuilder();
+			addArguments(cliArgs, launcher, listener, remoteFileSeparator);
+			TEDExecutionRunnerUtils.appendArguments(args, cliArgs, false);
+			logger.println("Command: " + args); //$NON-NLS-1$
+
+			Long estimate = tedBuilder.isSingleSpecExecution()
+					? estimator.estimate(tedBuilder.getSpecificationName(), SpecificationType.fromValue(tedBuilder.getSpecificationType()))
+					: estimator.estimate(tedBuilder.getSpecificationList(), null);
+			logger.println("Estimated duration: " //$NON-NLS-1$
+					+ (estimate != null ? Util.getTimeSpanString(estimate) : "unknown, not executed successfully yet.")); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Returns the CLI arguments to execute a single specification of an execution plan.
+	 * 
+	 * @param specification
+	 *            The specification to execute.
+	 * @param executionArgs
+	 *            The execution arguments shared by all the specifications.
+	 * @param temporaryDatasetSuffix
+	 *            The temporary dataset suffix of the specification.
+	 * 
+	 * @return <code>ArgumentListBuilder</code>
+	 */
+	private ArgumentListBuilder getSpecificationArguments(final Specification specification, final ArgumentListBuilder executionArgs,
+			final String temporaryDatasetSuffix) {
+		ArgumentListBuilder args = new ArgumentListBuilder(cliScriptPath.getRemote());
+		addRepositoryArguments(args);
+		args.add(SPECIFICATION[1]).add(TEDExecutionRunnerUtils.escapeForScript(specification.getName()));
+		args.add(SPECIFICATION_TYPE[1]).add(specification.getType().getValue());
+		TEDExecutionRunnerUtils.appendArguments(args, executionArgs, false);
+		args.add(TEMP_DATASET_SUFFIX[1]).add(TEDExecutionRunnerUtils.escapeForScript(temporaryDatasetSuffix));
+		return args;
+	}
+
+	/**
+	 * Launches the CLI for a single specification of an execution plan.
+	 * 
+	 * @param specification
+	 *            The specification to execute.
+	 * @param result
+	 *            The result to record the execution in.
+	 * @param executionArgs
+	 *            The execution arguments shared by all the specifications.
+	 * @param listener
+	 *            Build listener
+	 * 
+	 * @return The exit value of the CLI
+	 * 
+	 * @throws IOException
+	 * @throws InterruptedException
+	 */
+	private int launchSpecification(final Specification specification, final SpecificationResult result, final ArgumentListBuilder executionArgs,
+			final TaskListener listener) throws IOException, InterruptedException {
+		String temporaryDatasetSuffix = DatasetResourceScheduler.newTemporaryDatasetSuffix(
+				settings.getDefineQualifiers() ? Util.fixEmptyAndTrim(settings.getTemporaryDatasetSuffix()) : null);
+		String temporaryDatasetPrefix = settings.getDefineQualifiers() ? Util.fixEmptyAndTrim(settings.getTemporaryDatasetPrefix()) : null;
+		result.setTemporaryDatasets(temporaryDatasetPrefix, temporaryDatasetSuffix);
+
+		ArgumentListBuilder args = getSpecificationArguments(specification, executionArgs, temporaryDatasetSuffix);
+
+		PrintStream logger = listener.getLogger();
+		int exitValue;
+
+		try (DatasetResourceScheduler.Lease lease = DatasetResourceScheduler.acquire(getResourceKey(specification), specification, logger);
+				CommunicationManagerSessions.Session session = openCommunicationManagerSession(logger)) {
+			logger.println("Starting specification " + specification + " with temporary dataset " //$NON-NLS-1$ //$NON-NLS-2$
+					+ (temporaryDatasetPrefix != null ? "prefix " + temporaryDatasetPrefix + " and " : "") + "suffix " + temporaryDatasetSuffix //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+					+ ", the datasets are not deleted by the build"); //$NON-NLS-1$
+
+			try (ExecutionOutputParser parser = new ExecutionOutputParser(logger, result, getNodeCharset());
+					SpecificationLogOutputStream out = new SpecificationLogOutputStream(parser, specification);
+					SpecificationLogOutputStream err = new SpecificationLogOutputStream(logger, specification)) {
+				exitValue = launch(args, out, err, result);
+			}
+		}
+
+		logger.println("Specification " + specification + " finished with exit value = " + exitValue + " after " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ Util.getTimeSpanString(result.getDuration()));
+		return exitValue;
+	}
+
+	/**
+	 * Launches the CLI, masking secrets in its output and error output, which are captured separately and pumped
+	 * concurrently. The tail of the error output is kept in the result.
+	 * 
+	 * @param args
+	 *            The CLI arguments.
+	 * @param stdout
+	 *            The stream to write the output to.
+	 * @param stderr
+	 *            The stream to write the error output to.
+	 * @param result
+	 *            The result to record the execution in.
+	 * 
+	 * @return The exit value of the CLI
+	 * 
+	 * @throws IOException
+	 * @throws InterruptedException
+	 */
+	private int launch(final ArgumentListBuilder args, final OutputStream stdout, final OutputStream stderr, final SpecificationResult result)
+			throws IOException, InterruptedException {
+		ErrorOutputBuffer errorBuffer = new ErrorOutputBuffer(stderr);
+		int exitValue;
+
+		try (ScratchDirectoryPool.Lease scratch = tedBuilder.getIsolateExecutions() ? ScratchDirectoryPool.acquire(getNode()) : null;
+				SecretMaskingOutputStream out = new SecretMaskingOutputStream(stdout, getSecretMatcher());
+				SecretMaskingOutputStream err = new SecretMaskingOutputStream(errorBuffer, getSecretMatcher())) {
+			ArgumentListBuilder launchArgs = args;
+			EnvVars launchEnv = env;
+			if (scratch != null) {
+				launchArgs = args.clone();
+				launchArgs.add(DATA[1]).add(TEDExecutionRunnerUtils.escapeForScript(scratch.getDataDirectory().getRemote()));
+				launchEnv = scratch.getEnvironment(env);
+			}
+
+			result.started();
+			if (CompressedOutputLauncher.isApplicable(launcher)) {
+				exitValue = CompressedOutputLauncher.launch(launcher, launchArgs, launchEnv, workDir.getRemote(), out, err);
+			} else {
+				exitValue = launcher.launch().cmds(launchArgs).envs(launchEnv).stdout(out).stderr(err).pwd(workDir).join();
+			}
+		}
+
+		result.finished(exitValue);
+		if (!errorBuffer.isEmpty()) {
+			result.setErrorOutput(errorBuffer.getTail(getNodeCharset()));
+		}
+		return exitValue;
+	}
+
+	/**
+	 * Prints the error output of the failed specifications, so the cause of a failure can be found without going
+	 * through the whole build log.
+	 * 
+	 * @param listener
+	 *            Build listener
+	 */
+	private void printFailureSummary(final TaskListener listener) {
+		PrintStream logger = listener.getLogger();
+		for (SpecificationResult result : results) {
+			if (result.getStatus() == SpecificationStatus.FAILED) {
+				logger.println("Specification " + result.getName() + " failed with exit value = " + result.getExitValue() //$NON-NLS-1$ //$NON-NLS-2$
+						+ (result.getErrorOutput() != null ? ", error output:" : ", no error output.")); //$NON-NLS-1$ //$NON-NLS-2$
+				if (result.getErrorOutput() != null) {
+					logger.println(result.getErrorOutput());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the values to mask in the output of the CLI, which are the host password and the data privacy overrides,
+	 * as given and as passed to the CLI, compiled once for all the launches of the build.
+	 * 
+	 * @return The <code>SecretMaskingOutputStream.Matcher</code>
+	 */
+	private synchronized SecretMaskingOutputStream.Matcher getSecretMatcher() {
+		if (secretMatcher == null) {
+			List<String> values = new ArrayList<>();
+			if (settings.getIncludeCred() && !Strings.isNullOrEmpty(settings.getCredentialsId())) {
+				StandardUsernamePasswordCredentials credentials = TEDExecutionRunnerUtils.getLoginInformation(build.getParent(),
+						settings.getCredentialsId());
+				if (credentials != null) {
+					values.add(credentials.getPassword().getPlainText());
+				}
+			}
+			if (settings.getDefineDataprivacyOverride()) {
+				values.add(settings.getDpOverrideFADEBUG());
+				values.add(settings.getDpOverrideFAEXPATH());
+				values.add(settings.getDpOverrideFAIPADDR());
+				values.add(settings.getDpOverrideFAJOPTS());
+				values.add(settings.getDpOverrideFAJPATH());
+			}
+
+			Set<String> secrets = new LinkedHashSet<>();
+			for (String value : values) {
+				if (!Strings.isNullOrEmpty(value)) {
+					secrets.add(value);
+					secrets.add(TEDExecutionRunnerUtils.escapeForScript(value));
+				}
+			}
+			secretMatcher = SecretMaskingOutputStream.Matcher.compile(secrets, getNodeCharset());
+		}
+		return secretMatcher;
+	}
+
+	/**
+	 * Adds the result of a specification about to be executed to the <code>TEDExecutionAction</code> of the build, so
+	 * its progress is visible while it executes.
+	 * 
+	 * @param result
+	 *            The result to add.
+	 */
+	private void addResult(final SpecificationResult result) {
+		results.add(result);
+		executionAction.addResult(result);
+	}
+
+	/**
+	 * Records the results of the execution in the <code>TEDExecutionIndex</code>. Specifications left running or queued
+	 * by an aborted execution are recorded as failed or skipped. Failing to record the results does not fail the build.
+	 * 
+	 * @param listener
+	 *            Build listener
+	 */
+	private void recordResults(final TaskListener listener) {
+		if (results.isEmpty()) {
+			return;
+		}
+
+		for (SpecificationResult result : results) {
+			if (result.getStatus() == SpecificationStatus.RUNNING) {
+				result.setStatus(SpecificationStatus.FAILED);
+			} else if (result.getStatus() == SpecificationStatus.QUEUED) {
+				result.setStatus(SpecificationStatus.SKIPPED);
+			}
+		}
+
+		checkRegressions(listener);
+
+		try {
+			TEDExecutionIndex.record(build, results);
+		} catch (IOException e) {
+			listener.getLogger().println("Warning: the execution summary could not be recorded: " + e.getMessage()); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Checks the throughput and the record counts of the specifications against their baseline, marking the build
+	 * unstable on a regression. The results must not be recorded in the index yet.
+	 * 
+	 * @param listener
+	 *            Build listener
+	 */
+	private void checkRegressions(final TaskListener listener) {
+		PrintStream logger = listener.getLogger();
+		try {
+			RegressionGate gate = new RegressionGate(build.getParent(), RegressionGate.parsePercentage(tedBuilder.getThroughputDropThreshold()),
+					RegressionGate.parsePercentage(tedBuilder.getRecordCountChangeThreshold()));
+			if (!gate.isEnabled()) {
+				return;
+			}
+			List<String> regressions = gate.check(results);
+			for (String regression : regressions) {
+				logger.println("Regression: " + regression); //$NON-NLS-1$
+			}
+			if (!regressions.isEmpty()) {
+				build.setResult(Result.UNSTABLE);
+			}
+		} catch (NumberFormatException e) {
+			logger.println("Warning: the regression thresholds are not percentages, regressions are not checked"); //$NON-NLS-1$
+		} catch (IOException e) {
+			logger.println("Warning: the regressions could not be checked: " + e.getMessage()); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Summarizes the Compare result reports of the workspace, on the node of the workspace.
+	 * 
+	 * @param listener
+	 *            Build listener
+	 * 
+	 * @throws InterruptedException
+	 */
+	private void summarizeCompareResults(final TaskListener listener) throws InterruptedException {
+		String includes = Util.fixEmptyAndTrim(env.expand(tedBuilder.getCompareResultsPath()));
+		if (includes == null) {
+			return;
+		}
+
+		try {
+			CompareSummary summary = workDir.act(new CompareResultSummarizer(includes, COMPARE_TOP_KEYS, build.getCharset()));
+			summary.print(listener.getLogger());
+			executionAction.setCompareSummary(summary);
+		} catch (IOException e) {
+			listener.getLogger().println("Warning: the Compare results could not be summarized: " + e.getMessage()); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Acquires a session to the Communication Manager, see <code>CommunicationManagerSessions</code>.
+	 * 
+	 * @param logger
+	 *            The logger of the build.
+	 * 
+	 * @return The <code>CommunicationManagerSessions.Session</code>, or <code>null</code> if the Communication Manager is
+	 *         defined by the execution context or its sessions are neither bounded nor checked
+	 * 
+	 * @throws InterruptedException
+	 */
+	private CommunicationManagerSessions.Session openCommunicationManagerSession(final PrintStream logger) throws InterruptedException {
+		String host = settings.getDefineManager() ? Util.fixEmptyAndTrim(settings.getCommunicationManager()) : null;
+		String portValue = settings.getDefineManager() ? Util.fixEmptyAndTrim(settings.getCommunicationManagerPort()) : null;
+		if (host == null || portValue == null) {
+			return null;
+		}
+
+		int port;
+		try {
+			port = Integer.parseInt(portValue);
+		} catch (NumberFormatException e) {
+			return null;
+		}
+
+		return CommunicationManagerSessions.acquire(launcher.getChannel(), nodeName, host, port, logger);
+	}
+
+	/**
+	 * Returns the key of the output datasets of a specification, see <code>DatasetResourceScheduler</code>.
+	 * 
+	 * @param specification
+	 *            The specification.
+	 * 
+	 * @return <code>String</code>
+	 */
+	/**
+	 * Checks that the temporary datasets of the planned executions have valid names, see
+	 * <code>DatasetResourceScheduler.checkTemporaryDatasetNames</code>.
+	 */
+	private void checkTemporaryDatasetNames() {
+		if (settings.getDefineQualifiers()) {
+			DatasetResourceScheduler.checkTemporaryDatasetNames(Util.fixEmptyAndTrim(settings.getDatasetHighLevelQualifier()),
+					Util.fixEmptyAndTrim(settings.getTemporaryDatasetPrefix()), Util.fixEmptyAndTrim(settings.getTemporaryDatasetSuffix()));
+		}
+	}
+
+	private String getResourceKey(final Specification specification) {
+		String datasetScope;
+		if (settings.getDefineQualifiers() && !Strings.isNullOrEmpty(settings.getDatasetHighLevelQualifier())) {
+			datasetScope = settings.getDatasetHighLevelQualifier().trim();
+		} else {
+			// the high level qualifier is defined by the execution context
+			datasetScope = "context:" + Strings.nullToEmpty(settings.getExecutionContext()); //$NON-NLS-1$
+		}
+		String connectionId = settings.getDefineHost() ? settings.getConnectionId() : null;
+
+		return DatasetResourceScheduler.getResourceKey(connectionId, datasetScope, tedBuilder.getRepositoryName(), specification);
+	}
+
+	/**
+	 * Returns the node the CLI runs on.
+	 * 
+	 * @return <code>Node</code>
+	 * 
+	 * @throws IOException
+	 *             If the node is no longer available.
+	 */
+	private Node getNode() throws IOException {
+		if (node == null) {
+			throw new IOException("The node " + nodeName + " is no longer available"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return node;
+	}
+
+	/**
+	 * Returns the maximum number of specifications executed in parallel.
+	 * 
+	 * @return <code>int</code>
+	 */
+	private int getMaxParallelExecutions() {
+		try {
+			return Math.max(1, Integer.parseInt(tedBuilder.getMaxParallelExecutions()));
+		} catch (NumberFormatException e) {
+			return Integer.parseInt(TEDExecutionBuilder.DescriptorImpl.defaultMaxParallelExecutions);
+		}
+	}
+
+	/**
+	 * Prints the header preceding the execution log of the CLI.
+	 * 
+	 * @param listener
+	 *            Build listener
+	 */
+	private static void printExecutionHeader(final TaskListener listener) {
+		listener.getLogger().println("----------------------------------");
+		listener.getLogger().println("Now executing Enterprise Data Execution CLI and printing out the execution log...");
+		listener.getLogger().println("----------------------------------\n\n");
+	}
+
+	/**
+	 * Writes the non-secret arguments to an argument file in the workspace temporary directory, one argument per line.
+	 * <p>
+	 * The file is written through the remote stream of the <code>FilePath</code>, so the content, which can hold a
+	 * specification list of several thousand entries, is never assembled as a whole in memory. Masked arguments, along
+	 * with the option preceding them, are left out and have to be passed on the command line. No shell reads the file,
+	 * so the arguments are written as they were before being escaped for the script, in the charset and with the line
+	 * separator of the node.
+	 * 
+	 * @param workDir
+	 *            The working directory of the execution.
+	 * @param cliArgs
+	 *            The CLI arguments.
+	 * 
+	 * @return The <code>FilePath</code> of the argument file
+	 * 
+	 * @throws IOException
+	 * @throws InterruptedException
+	 */
+	private FilePath writeArgumentFile(final FilePath workDir, final ArgumentListBuilder cliArgs) throws IOException, InterruptedException {
+		FilePath tempDir = WorkspaceList.tempDir(workDir);
+		if (tempDir == null) {
+			tempDir = workDir;
+		}
+		tempDir.mkdirs();
+
+		FilePath argumentFile = tempDir.createTempFile("ted-arguments", ".txt"); //$NON-NLS-1$ //$NON-NLS-2$
+		List<String> arguments = cliArgs.toList();
+		boolean[] mask = cliArgs.toMaskArray();
+		String lineSeparator = launcher.isUnix() ? "\n" : "\r\n"; //$NON-NLS-1$ //$NON-NLS-2$
+
+		try (Writer writer = new BufferedWriter(new OutputStreamWriter(argumentFile.write(), getNodeCharset()))) {
+			for (int i = 0; i < arguments.size(); i++) {
+				if (!TEDExecutionRunnerUtils.isSecretArgument(mask, i)) {
+					writer.write(TEDExecutionRunnerUtils.unescapeForScript(arguments.get(i)));
+					writer.write(lineSeparator);
+				}
+			}
+		}
+
+		return argumentFile;
+	}
+
+	/**
+	 * Deletes the argument file once the CLI has finished. The file is deleted before the build goes on, rather than in
+	 * the background, so its content is never left behind in the workspace.
+	 * 
+	 * @param argumentFile
+	 *            The argument file to delete.
+	 * @param listener
+	 *            Build listener
+	 * 
+	 * @throws InterruptedException
+	 */
+	private void deleteArgumentFile(final FilePath argumentFile, final TaskListener listener) throws InterruptedException {
+		try {
+			argumentFile.delete();
+		} catch (IOException e) {
+			listener.getLogger().println("Warning: Unable to delete argument file " + argumentFile.getRemote() + ": " + e.getMessage()); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
 	/**
 	 * Adds an arguments to the argument list.
 	 * 
@@ -130,22 +934,17 @@ public class TEDExecutionRunner implements IExecutionCommandArguments {
 	 * @throws IOException 
 	 */
 	private void addArguments(final ArgumentListBuilder args, final Launcher launcher, final TaskListener listener, final String remoteFileSeparator) throws IOException, InterruptedException {
-		boolean min200903 = TEDExecutionRunnerUtils.isMinimumRelease(launcher, listener, remoteFileSeparator, TEDExecutionRunnerUtils.TTT_CLI_200903);
+		boolean min200903 = TEDExecutionRunnerUtils.isMinimumRelease(cliDirectory, TEDExecutionRunnerUtils.TTT_CLI_200903);
 		
 		if(!min200903) {
 			return;
 		}
 
-		args.add(COMMAND[1]).add("execute");
+		addRepositoryArguments(args);
 		
-		if(!Strings.isNullOrEmpty(tedBuilder.getRepositoryName())) {
-			args.add(REPOSITORY[1]).add(TEDExecutionRunnerUtils.escapeForScript(tedBuilder.getRepositoryName()));
-		}
-		if(!Strings.isNullOrEmpty(tedBuilder.getResultsRepositoryName())) {
-			args.add(RESULTS_REPOSITORY[1]).add(TEDExecutionRunnerUtils.escapeForScript(tedBuilder.getResultsRepositoryName()));
-		}
 		if(tedBuilder.isSingleSpecExecution()) {
 			if(!Strings.isNullOrEmpty(tedBuilder.getSpecificationName())) {
+				checkSpecificationExists(tedBuilder.getSpecificationName(), tedBuilder.getSpecificationType());
 				args.add(SPECIFICATION[1]).add(TEDExecutionRunnerUtils.escapeForScript(tedBuilder.getSpecificationName()));
 			}
 			if(!Strings.isNullOrEmpty(tedBuilder.getSpecificationType())) {
@@ -153,46 +952,190 @@ public class TEDExecutionRunner implements IExecutionCommandArguments {
 			}
 		} else {
 			if(!Strings.isNullOrEmpty(tedBuilder.getSpecificationList())) {
-				args.add(SPECIFICATION_LIST[1]).add(TEDExecutionRunnerUtils.escapeForScript(tedBuilder.getSpecificationList()));
+				String specificationList = resolveSpecificationList(tedBuilder.getSpecificationList(), listener);
+				args.add(SPECIFICATION_LIST[1]).add(TEDExecutionRunnerUtils.escapeForScript(specificationList));
 			}
 			args.add(EXIT_ON_FAILURE[1]).add(tedBuilder.getExitOnFailure()?"true":"false");
 		}
-		if(!Strings.isNullOrEmpty(tedBuilder.getExecutionTimeout())) {
-			args.add(EXECUTION_TIMEOUT[1]).add(tedBuilder.getExecutionTimeout());
+		
+		addExecutionArguments(args, launcher, true);
+	}
+
+	/**
+	 * Adds the execute command and the repository arguments.
+	 * 
+	 * @param args
+	 *		  The argument list to add to.
+	 */
+	private void addRepositoryArguments(final ArgumentListBuilder args) {
+		args.add(COMMAND[1]).add("execute");
+		
+		if(!Strings.isNullOrEmpty(tedBuilder.getRepositoryName())) {
+			args.add(REPOSITORY[1]).add(TEDExecutionRunnerUtils.escapeForScript(tedBuilder.getRepositoryName()));
+		}
+		if(!Strings.isNullOrEmpty(tedBuilder.getResultsRepositoryName())) {
+			args.add(RESULTS_REPOSITORY[1]).add(TEDExecutionRunnerUtils.escapeForScript(tedBuilder.getResultsRepositoryName()));
 		}
-		if(!Strings.isNullOrEmpty(tedBuilder.getExecutionContext())) {
-			String exContext = tedBuilder.getExecutionContext();
-			
-			if(!exContext.contains("/") && !exContext.contains("\\")) {
-				StringBuilder sb = new StringBuilder(TEDExecutionRunnerUtils.getTopaWorkbenchCLIPath(launcher));
-				sb.append(remoteFileSeparator).append("EnterpriseData").append(remoteFileSeparator).append(exContext);
-				exContext =  sb.toString(); 
-			}
-			
-			args.add(EXECUTION_CONTEXT[1]).add(TEDExecutionRunnerUtils.escapeForScript(exContext));
+	}
+
+	/**
+	 * Adds the arguments following the specification arguments, which are the same for every specification.
+	 * 
+	 * @param args
+	 *		  The argument list to add to.
+	 * @param launcher
+	 *            The machine that the files will be checked out.
+	 * @param includeTemporaryDatasetSuffix
+	 *            <code>false</code> if the temporary dataset suffix is added per specification.
+	 */
+	private void addExecutionArguments(final ArgumentListBuilder args, final Launcher launcher, final boolean includeTemporaryDatasetSuffix) {
+		if(!Strings.isNullOrEmpty(settings.getExecutionTimeout())) {
+			args.add(EXECUTION_TIMEOUT[1]).add(settings.getExecutionTimeout());
+		}
+		
+		addConnectionArguments(args, launcher);
+		addJobArguments(args, includeTemporaryDatasetSuffix);
+	}
+
+	/**
+	 * Adds the arguments the CLI needs to connect to the execution server and the execution host.
+	 * 
+	 * @param args
+	 *		  The argument list to add to.
+	 * @param launcher
+	 *            The machine that the files will be checked out.
+	 */
+	private void addConnectionArguments(final ArgumentListBuilder args, final Launcher launcher) {
+		if(executionContextPath != null) {
+			args.add(EXECUTION_CONTEXT[1]).add(TEDExecutionRunnerUtils.escapeForScript(executionContextPath));
 		}
 		
 		addCESArguments(args);		
 		addCommunicationManagerArguments(args);
 		addExecutionServerArguments(args);
-		addMainframeSpecificArguments(args);
+		addHostConnectionInfoArguments(args);
+		addHostCredentialsArguments(args);
+	}
+
+	/**
+	 * Returns the source to list the specifications of the repository from, creating it on first use.
+	 * 
+	 * @return <code>ISpecificationSource</code>
+	 */
+	private ISpecificationSource getSpecificationSource() {
+		if (specificationSource == null) {
+			ArgumentListBuilder connectionArgs = new ArgumentListBuilder();
+			addConnectionArguments(connectionArgs, launcher);
+			specificationSource = new CLISpecificationSource(launcher, cliScriptPath, connectionArgs, env, workDir, getCatalogScope(),
+					getNodeCharset(), TEDExecutionRunnerUtils.isMinimumRelease(cliDirectory, CLISpecificationSource.MINIMUM_RELEASE));
+		}
+		return specificationSource;
+	}
+
+	/**
+	 * Returns the charset of the node the CLI runs on, which the CLI reads and writes text in. The output of the CLI,
+	 * its listings and its argument files all use it.
+	 * 
+	 * @return <code>Charset</code>
+	 */
+	private Charset getNodeCharset() {
+		Computer computer = workDir.toComputer();
+		Charset charset = computer != null ? computer.getDefaultCharset() : null;
+		return charset != null ? charset : Charset.defaultCharset();
+	}
+
+	/**
+	 * Returns the scope under which the specification listings of this execution are cached.
+	 * 
+	 * @return <code>String</code>
+	 */
+	private String getCatalogScope() {
+		StringBuilder scope = new StringBuilder(Strings.nullToEmpty(settings.getExecutionContext()));
+		if (settings.getDefineManager()) {
+			scope.append('|').append(settings.getCommunicationManager()).append(':').append(settings.getCommunicationManagerPort());
+		}
+		if (settings.getDefineServer()) {
+			scope.append('|').append(settings.getExecutionServer()).append(':').append(settings.getExecutionServerPort());
+		}
+		return scope.toString();
+	}
+
+	/**
+	 * Fails fast if the specification is known not to exist in the repository.
+	 * <p>
+	 * Only a repository that has been listed before is checked, so no listing is done just for the check.
+	 * 
+	 * @param name
+	 *            The specification name.
+	 * @param typeValue
+	 *            The specification type value.
+	 * 
+	 * @throws IOException
+	 * @throws InterruptedException
+	 */
+	private void checkSpecificationExists(final String name, final String typeValue) throws IOException, InterruptedException {
+		SpecificationType type = SpecificationType.fromValue(typeValue);
+		Boolean exists;
+		try {
+			exists = type != null ? SpecificationCatalog.exists(tedBuilder.getRepositoryName(), name, type, getSpecificationSource()) : null;
+		} catch (ListingUnsupportedException e) {
+			// nothing to check against
+			exists = null;
+		}
+		if (Boolean.FALSE.equals(exists)) {
+			throw new IllegalArgumentException("Specification " + name + " of type " + type.getValue() + " does not exist in repository " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					+ tedBuilder.getRepositoryName() + '.');
+		}
+	}
+
+	/**
+	 * Resolves the specification list, expanding the patterns and tags into the selected specifications of the
+	 * repository. A list without any pattern or tag is returned as is, without listing the repository.
+	 * 
+	 * @param specificationList
+	 *            The specification list.
+	 * @param listener
+	 *            Build listener
+	 * 
+	 * @return The resolved specification list
+	 * 
+	 * @throws IOException
+	 * @throws InterruptedException
+	 * 
+	 * @see SpecificationSelector
+	 */
+	private String resolveSpecificationList(final String specificationList, final TaskListener listener) throws IOException, InterruptedException {
+		if (!SpecificationSelector.requiresListing(specificationList)) {
+			return specificationList;
+		}
+
+		SpecificationSelector selector = new SpecificationSelector(tedBuilder.getRepositoryName(), getSpecificationSource());
+		StringBuilder resolved = new StringBuilder();
+		for (Specification specification : selector.select(specificationList, listener.getLogger())) {
+			if (resolved.length() > 0) {
+				resolved.append(' ');
+			}
+			resolved.append(specification);
+		}
+
+		return resolved.toString();
 	}
 
 	/**
 	 * @param args
 	 */
 	private void addCESArguments(final ArgumentListBuilder args) {
-		if(tedBuilder.getDefineCES()) {
-			args.add(USE_CLOUD_CES[1]).add(tedBuilder.getUseCloudCES()?"true":"false");
+		if(settings.getDefineCES()) {
+			args.add(USE_CLOUD_CES[1]).add(settings.getUseCloudCES()?"true":"false");
 
-			if(!Strings.isNullOrEmpty(tedBuilder.getCesURL())) {
-				args.add(CES_URL[1]).add(TEDExecutionRunnerUtils.escapeForScript(tedBuilder.getCesURL()));
+			if(!Strings.isNullOrEmpty(settings.getCesURL())) {
+				args.add(CES_URL[1]).add(TEDExecutionRunnerUtils.escapeForScript(settings.getCesURL()));
 			}
-			if(!Strings.isNullOrEmpty(tedBuilder.getCloudCustomerNo())) {
-				args.add(CES_CUSTOMER_NUMBER[1]).add(tedBuilder.getCloudCustomerNo());
+			if(!Strings.isNullOrEmpty(settings.getCloudCustomerNo())) {
+				args.add(CES_CUSTOMER_NUMBER[1]).add(settings.getCloudCustomerNo());
 			}
-			if(!Strings.isNullOrEmpty(tedBuilder.getCloudSiteID())) {
-				args.add(CES_SITE_ID[1]).add(tedBuilder.getCloudSiteID());
+			if(!Strings.isNullOrEmpty(settings.getCloudSiteID())) {
+				args.add(CES_SITE_ID[1]).add(settings.getCloudSiteID());
 			}
 		}
 	}
@@ -201,12 +1144,12 @@ public class TEDExecutionRunner implements IExecutionCommandArguments {
 	 * @param args
 	 */
 	private void addCommunicationManagerArguments(final ArgumentListBuilder args) {
-		if(tedBuilder.getDefineManager()) {
-			if(!Strings.isNullOrEmpty(tedBuilder.getCommunicationManager())) {
-				args.add(COMM_MANAGER[1]).add(TEDExecutionRunnerUtils.escapeForScript(tedBuilder.getCommunicationManager()));
+		if(settings.getDefineManager()) {
+			if(!Strings.isNullOrEmpty(settings.getCommunicationManager())) {
+				args.add(COMM_MANAGER[1]).add(TEDExecutionRunnerUtils.escapeForScript(settings.getCommunicationManager()));
 			}
-			if(!Strings.isNullOrEmpty(tedBuilder.getCommunicationManagerPort())) {
-				args.add(COMM_MANAGER_PORT[1]).add(tedBuilder.getCommunicationManagerPort());
+			if(!Strings.isNullOrEmpty(settings.getCommunicationManagerPort())) {
+				args.add(COMM_MANAGER_PORT[1]).add(settings.getCommunicationManagerPort());
 			}
 		}
 	}
@@ -215,24 +1158,23 @@ public class TEDExecutionRunner implements IExecutionCommandArguments {
 	 * @param args
 	 */
 	private void addExecutionServerArguments(final ArgumentListBuilder args) {
-		if(tedBuilder.getDefineServer()) {
-			if(!Strings.isNullOrEmpty(tedBuilder.getExecutionServer())) {
-				args.add(EXECUTION_SERVER[1]).add(TEDExecutionRunnerUtils.escapeForScript(tedBuilder.getExecutionServer()));
+		if(settings.getDefineServer()) {
+			if(!Strings.isNullOrEmpty(settings.getExecutionServer())) {
+				args.add(EXECUTION_SERVER[1]).add(TEDExecutionRunnerUtils.escapeForScript(settings.getExecutionServer()));
 			}
-			if(!Strings.isNullOrEmpty(tedBuilder.getExecutionServerPort())) {
-				args.add(EXECUTION_SERVER_PORT[1]).add(tedBuilder.getExecutionServerPort());
+			if(!Strings.isNullOrEmpty(settings.getExecutionServerPort())) {
+				args.add(EXECUTION_SERVER_PORT[1]).add(settings.getExecutionServerPort());
 			}
 		}
 	}
 
 	/**
 	 * @param args
+	 * @param includeTemporaryDatasetSuffix
 	 */
-	private void addMainframeSpecificArguments(final ArgumentListBuilder args) {
-		addHostConnectionInfoArguments(args);
-		addHostCredentialsArguments(args);
+	private void addJobArguments(final ArgumentListBuilder args, final boolean includeTemporaryDatasetSuffix) {
 		addJCLJobcardArguments(args);
-		addDatasetQualifierArguments(args);
+		addDatasetQualifierArguments(args, includeTemporaryDatasetSuffix);
 		addDataPrivacyOverrideArguments(args);
 	}
 
@@ -240,12 +1182,12 @@ public class TEDExecutionRunner implements IExecutionCommandArguments {
 	 * @param args
 	 */
 	private void addHostConnectionInfoArguments(final ArgumentListBuilder args) {
-		if(tedBuilder.getDefineHost()  && !Strings.isNullOrEmpty(tedBuilder.getConnectionId())) {
+		if(settings.getDefineHost()  && !Strings.isNullOrEmpty(settings.getConnectionId())) {
 			HostConnection connection = null;
 			CpwrGlobalConfiguration globalConfig = CpwrGlobalConfiguration.get();
 	
 			if (globalConfig != null){
-				connection = globalConfig.getHostConnection(tedBuilder.getConnectionId());
+				connection = globalConfig.getHostConnection(settings.getConnectionId());
 			}
 			if (connection != null) {
 				args.add(EXECUTION_HOST[1]).add(connection.getHost());
@@ -259,8 +1201,8 @@ public class TEDExecutionRunner implements IExecutionCommandArguments {
 	 * @param args
 	 */
 	private void addHostCredentialsArguments(final ArgumentListBuilder args) {
-		if(tedBuilder.getIncludeCred()) {
-			String hostCreds = tedBuilder.getCredentialsId();
+		if(settings.getIncludeCred()) {
+			String hostCreds = settings.getCredentialsId();
 			if(!Strings.isNullOrEmpty(hostCreds)) {
 				args.add(HCI_USER_ID[1]).add(TEDExecutionRunnerUtils.getLoginInformation(build.getParent(), hostCreds).getUsername(), false);
 				args.add(HCI_PASSWORD[1]).add(TEDExecutionRunnerUtils.getLoginInformation(build.getParent(), hostCreds).getPassword(), true);
@@ -272,61 +1214,65 @@ public class TEDExecutionRunner implements IExecutionCommandArguments {
 	 * @param args
 	 */
 	private void addJCLJobcardArguments(final ArgumentListBuilder args) {
-		if(tedBuilder.getDefineJobcard()) {
-			if(!Strings.isNullOrEmpty(tedBuilder.getJclJobcardLine1())) {
-				args.add(JCL_JOBCARD1[1]).add(TEDExecutionRunnerUtils.escapeForScript(tedBuilder.getJclJobcardLine1()));
+		if(settings.getDefineJobcard()) {
+			if(!Strings.isNullOrEmpty(settings.getJclJobcardLine1())) {
+				args.add(JCL_JOBCARD1[1]).add(TEDExecutionRunnerUtils.escapeForScript(settings.getJclJobcardLine1()));
 			}
-			if(!Strings.isNullOrEmpty(tedBuilder.getJclJobcardLine2())) {
-				args.add(JCL_JOBCARD2[1]).add(TEDExecutionRunnerUtils.escapeForScript(tedBuilder.getJclJobcardLine2()));
+			if(!Strings.isNullOrEmpty(settings.getJclJobcardLine2())) {
+				args.add(JCL_JOBCARD2[1]).add(TEDExecutionRunnerUtils.escapeForScript(settings.getJclJobcardLine2()));
 			}
-			if(!Strings.isNullOrEmpty(tedBuilder.getJclJobcardLine3())) {
-				args.add(JCL_JOBCARD3[1]).add(TEDExecutionRunnerUtils.escapeForScript(tedBuilder.getJclJobcardLine3()));
+			if(!Strings.isNullOrEmpty(settings.getJclJobcardLine3())) {
+				args.add(JCL_JOBCARD3[1]).add(TEDExecutionRunnerUtils.escapeForScript(settings.getJclJobcardLine3()));
 			}
-			if(!Strings.isNullOrEmpty(tedBuilder.getJclJobcardLine4())) {
-				args.add(JCL_JOBCARD4[1]).add(TEDExecutionRunnerUtils.escapeForScript(tedBuilder.getJclJobcardLine4()));
+			if(!Strings.isNullOrEmpty(settings.getJclJobcardLine4())) {
+				args.add(JCL_JOBCARD4[1]).add(TEDExecutionRunnerUtils.escapeForScript(settings.getJclJobcardLine4()));
 			}
-			if(!Strings.isNullOrEmpty(tedBuilder.getJclJobcardLine5())) {
-				args.add(JCL_JOBCARD5[1]).add(TEDExecutionRunnerUtils.escapeForScript(tedBuilder.getJclJobcardLine5()));
+			if(!Strings.isNullOrEmpty(settings.getJclJobcardLine5())) {
+				args.add(JCL_JOBCARD5[1]).add(TEDExecutionRunnerUtils.escapeForScript(settings.getJclJobcardLine5()));
 			}
 		}
 	}
 
 	/**
 	 * @param args
+	 * @param includeTemporaryDatasetSuffix
 	 */
-	private void addDatasetQualifierArguments(final ArgumentListBuilder args) {
-		if(tedBuilder.getDefineQualifiers()) {
-			if(!Strings.isNullOrEmpty(tedBuilder.getDatasetHighLevelQualifier())) {
-				args.add(DATASET_HLQ[1]).add(TEDExecutionRunnerUtils.escapeForScript(tedBuilder.getDatasetHighLevelQualifier()));
+	private void addDatasetQualifierArguments(final ArgumentListBuilder args, final boolean includeTemporaryDatasetSuffix) {
+		if(settings.getDefineQualifiers()) {
+			if(!Strings.isNullOrEmpty(settings.getDatasetHighLevelQualifier())) {
+				args.add(DATASET_HLQ[1]).add(TEDExecutionRunnerUtils.escapeForScript(settings.getDatasetHighLevelQualifier()));
 			}
-			if(!Strings.isNullOrEmpty(tedBuilder.getTemporaryDatasetPrefix())) {
-				args.add(TEMP_DATASET_PREFIX[1]).add(TEDExecutionRunnerUtils.escapeForScript(tedBuilder.getTemporaryDatasetPrefix()));
+			if(!Strings.isNullOrEmpty(settings.getTemporaryDatasetPrefix())) {
+				args.add(TEMP_DATASET_PREFIX[1]).add(TEDExecutionRunnerUtils.escapeForScript(settings.getTemporaryDatasetPrefix()));
 			}
-			if(!Strings.isNullOrEmpty(tedBuilder.getTemporaryDatasetSuffix())) {
-				args.add(TEMP_DATASET_SUFFIX[1]).add(TEDExecutionRunnerUtils.escapeForScript(tedBuilder.getTemporaryDatasetSuffix()));
+			if(includeTemporaryDatasetSuffix && !Strings.isNullOrEmpty(settings.getTemporaryDatasetSuffix())) {
+				args.add(TEMP_DATASET_SUFFIX[1]).add(TEDExecutionRunnerUtils.escapeForScript(settings.getTemporaryDatasetSuffix()));
 			}
 		}
 	}
 
 	/**
+	 * Adds the data privacy overrides, masked like the password since they can hold secrets, so they are neither
+	 * echoed nor written to the argument file.
+	 * 
 	 * @param args
 	 */
 	private void addDataPrivacyOverrideArguments(final ArgumentListBuilder args) {
-		if(tedBuilder.getDefineDataprivacyOverride()) {
-			if(!Strings.isNullOrEmpty(tedBuilder.getDpOverrideFADEBUG())) {
-				args.add(FADEBUG[1]).add(TEDExecutionRunnerUtils.escapeForScript(tedBuilder.getDpOverrideFADEBUG()));
+		if(settings.getDefineDataprivacyOverride()) {
+			if(!Strings.isNullOrEmpty(settings.getDpOverrideFADEBUG())) {
+				args.add(FADEBUG[1]).add(TEDExecutionRunnerUtils.escapeForScript(settings.getDpOverrideFADEBUG()), true);
 			}
-			if(!Strings.isNullOrEmpty(tedBuilder.getDpOverrideFAEXPATH())) {
-				args.add(FAEXPATH[1]).add(TEDExecutionRunnerUtils.escapeForScript(tedBuilder.getDpOverrideFAEXPATH()));
+			if(!Strings.isNullOrEmpty(settings.getDpOverrideFAEXPATH())) {
+				args.add(FAEXPATH[1]).add(TEDExecutionRunnerUtils.escapeForScript(settings.getDpOverrideFAEXPATH()), true);
 			}
-			if(!Strings.isNullOrEmpty(tedBuilder.getDpOverrideFAIPADDR())) {
-				args.add(FAIPADDR[1]).add(TEDExecutionRunnerUtils.escapeForScript(tedBuilder.getDpOverrideFAIPADDR()));
+			if(!Strings.isNullOrEmpty(settings.getDpOverrideFAIPADDR())) {
+				args.add(FAIPADDR[1]).add(TEDExecutionRunnerUtils.escapeForScript(settings.getDpOverrideFAIPADDR()), true);
 			}
-			if(!Strings.isNullOrEmpty(tedBuilder.getDpOverrideFAJOPTS())) {
-				args.add(FAJOPTS[1]).add(TEDExecutionRunnerUtils.escapeForScript(tedBuilder.getDpOverrideFAJOPTS()));
+			if(!Strings.isNullOrEmpty(settings.getDpOverrideFAJOPTS())) {
+				args.add(FAJOPTS[1]).add(TEDExecutionRunnerUtils.escapeForScript(settings.getDpOverrideFAJOPTS()), true);
 			}
-			if(!Strings.isNullOrEmpty(tedBuilder.getDpOverrideFAJPATH())) {
-				args.add(FAJPATH[1]).add(TEDExecutionRunnerUtils.escapeForScript(tedBuilder.getDpOverrideFAJPATH()));
+			if(!Strings.isNullOrEmpty(settings.getDpOverrideFAJPATH())) {
+				args.add(FAJPATH[1]).add(TEDExecutionRunnerUtils.escapeForScript(settings.getDpOverrideFAJPATH()), true);
 			}
 		}
 	}
@@ -34,9 +34,11 @@ import hudson.FilePath;
 import hudson.Launcher;
 import hudson.Plugin;
 import hudson.model.Item;
+import hudson.model.Node;
 import hudson.model.TaskListener;
 import hudson.remoting.VirtualChannel;
 import hudson.security.ACL;
+import hudson.util.ArgumentListBuilder;
 import jenkins.model.Jenkins;
 
 public class TEDExecutionRunnerUtils {
@@ -143,6 +145,112 @@ public class TEDExecutionRunnerUtils {
 		return cliScriptPath;
 	}
 
+	/**
+	 * Returns the directory of the Topaz Workbench CLI on a node: the CLI location
+	 * defined in the global Jenkins' System settings if it exists on the node and
+	 * its version is in the requested range, otherwise a CLI installation of the
+	 * Topaz for Enterprise Data global configuration, see
+	 * <code>TEDCLIInstaller.select</code>, installed on the node if needed.
+	 * 
+	 * @param launcher An instance <code>Launcher</code> for launching the script.
+	 * @param node     The node the CLI runs on.
+	 * @param listener An instance of <code>TaskListener</code> for the task.
+	 * @param range    The range of CLI versions, or <code>null</code> for any
+	 *                 version.
+	 * 
+	 * @return An instance of <code>FilePath</code> for the CLI directory
+	 * 
+	 * @throws IOException          If the CLI directory does not exist and cannot
+	 *                              be installed.
+	 * @throws InterruptedException If unable to get CLI directory.
+	 */
+	public static FilePath getCLIDirectory(final Launcher launcher, final Node node, final TaskListener listener,
+			final CLIVersionRange range) throws IOException, InterruptedException {
+		String cliDirectoryName = getTopaWorkbenchCLIPath(launcher);
+		FilePath cliDirectory = cliDirectoryName != null ? new FilePath(launcher.getChannel(), cliDirectoryName) : null;
+		if (cliDirectory != null && cliDirectory.exists()) {
+			if (range == null) {
+				return cliDirectory;
+			}
+			String cliVersion = CLIVersionUtils.getCLIVersion(cliDirectory, TED_MINIMUM_CLI_VERSION);
+			if (node != null) {
+				TEDCLIInstaller.addVersion(node, cliVersion);
+			}
+			if (range.matches(cliVersion)) {
+				return cliDirectory;
+			}
+			listener.getLogger().println("Topaz Workbench CLI " + cliVersion + " at " + cliDirectory.getRemote() //$NON-NLS-1$ //$NON-NLS-2$
+					+ " is not in the requested version range " + range); //$NON-NLS-1$
+		}
+
+		TEDGlobalConfiguration tedConfig = TEDGlobalConfiguration.get();
+		TEDCLIInstallation installation = node != null && tedConfig != null
+				? TEDCLIInstaller.select(tedConfig.getCliInstallations(), range, node)
+				: null;
+		if (installation != null) {
+			return TEDCLIInstaller.install(installation, node, listener);
+		}
+
+		if (range != null) {
+			throw new FileNotFoundException("ERROR: No Topaz Workbench CLI in the version range " + range //$NON-NLS-1$
+					+ " is available. Check the CLI installations of the 'Topaz for Enterprise Data' section under 'Configure System'"); //$NON-NLS-1$
+		}
+		if (cliDirectory == null) {
+			throw new FileNotFoundException(
+					"ERROR: Topaz Workench CLI location was not specified. Check 'Compuware Configuration' section under 'Configure System'"); //$NON-NLS-1$
+		}
+		throw new FileNotFoundException("ERROR: Topaz Workench CLI location does not exist. Location: " //$NON-NLS-1$
+				+ cliDirectory.getRemote() + ". Check 'Compuware Configuration' section under 'Configure System'"); // NOSONAR //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the path to the script to execute TED CLI in a CLI directory, checking
+	 * the version of the CLI.
+	 * 
+	 * @param cliDirectory  The CLI directory, see <code>getCLIDirectory</code>.
+	 * @param listener      An instance of <code>TaskListener</code> for the task.
+	 * @param osScriptFile  The name of the operating system dependent script file
+	 *                      to run.
+	 * @param minCLIRelease The minimum CLI release required to run the script.
+	 * 
+	 * @return An instance of <code>FilePath</code> for the CLI script
+	 * 
+	 * @throws IOException          If the CLI version cannot be read.
+	 * @throws InterruptedException If unable to get CLI version.
+	 */
+	public static FilePath getCLIScriptPath(final FilePath cliDirectory, final TaskListener listener, final String osScriptFile,
+			final String minCLIRelease) throws IOException, InterruptedException {
+		FilePath cliScriptPath = cliDirectory.child(osScriptFile);
+		listener.getLogger().println("Topaz for Enterprise Data CLI script path: " + cliScriptPath.getRemote()); //$NON-NLS-1$
+
+		String cliVersion = CLIVersionUtils.getCLIVersion(cliDirectory, TED_MINIMUM_CLI_VERSION);
+		CLIVersionUtils.checkCLICompatibility(cliVersion, minCLIRelease);
+
+		return cliScriptPath;
+	}
+
+	/**
+	 * Returns if the TED CLI of a CLI directory is greater or equal to the passed
+	 * version.
+	 * 
+	 * @param cliDirectory  The CLI directory, see <code>getCLIDirectory</code>.
+	 * @param versionNumber The minimum TED CLI version number to check against.
+	 * 
+	 * @return <code>true</code> if the CLI is at least of the version, otherwise
+	 *         <code>false</code>.
+	 */
+	public static boolean isMinimumRelease(final FilePath cliDirectory, final String versionNumber) {
+		try {
+			CLIVersionUtils.checkCLICompatibility(CLIVersionUtils.getCLIVersion(cliDirectory, TED_MINIMUM_CLI_VERSION), versionNumber);
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		} catch (Exception e) {
+			return false;
+		}
+	}
+
 	/**
 	 * Returns the path of the Topaz Workbench CLI, as defined in the global
 	 * Jenkins' System settings.
@@ -250,6 +358,41 @@ public class TEDExecutionRunnerUtils {
 		return isminimumRelease;
 	}
 	
+	/**
+	 * Appends the arguments of one argument list to another, keeping the masking of the arguments.
+	 * 
+	 * @param target
+	 *            The argument list to add to.
+	 * @param source
+	 *            The argument list to add from.
+	 * @param secretsOnly
+	 *            <code>true</code> if only the masked arguments, and the options preceding them, are to be added.
+	 */
+	public static void appendArguments(final ArgumentListBuilder target, final ArgumentListBuilder source, final boolean secretsOnly) {
+		List<String> arguments = source.toList();
+		boolean[] mask = source.toMaskArray();
+
+		for (int i = 0; i < arguments.size(); i++) {
+			if (!secretsOnly || isSecretArgument(mask, i)) {
+				target.add(arguments.get(i), mask[i]);
+			}
+		}
+	}
+
+	/**
+	 * Returns if the argument at the given index is masked, or is the option of a masked argument.
+	 * 
+	 * @param mask
+	 *            The mask array of the argument list.
+	 * @param index
+	 *            The index of the argument.
+	 * 
+	 * @return <code>true</code> if the argument is secret, otherwise <code>false</code>.
+	 */
+	public static boolean isSecretArgument(final boolean[] mask, final int index) {
+		return mask[index] || (index + 1 < mask.length && mask[index + 1]);
+	}
+
 	/**
 	 * Returns an escaped version of the given input String for a Batch or Shell script.
 	 * 
@@ -268,4 +411,23 @@ public class TEDExecutionRunnerUtils {
 
 		return output;
 	}
+
+	/**
+	 * Returns the String escaped by <code>escapeForScript</code> as it was before, for arguments not passed through
+	 * a Batch or Shell script.
+	 * 
+	 * @param input
+	 *            the escaped <code>String</code>
+	 * 
+	 * @return the unescaped <code>String</code>
+	 */
+	public static String unescapeForScript(final String input) {
+		String output = null;
+
+		if (input != null) {
+			output = StringUtils.replace(input, DOUBLE_QUOTE_ESCAPED, DOUBLE_QUOTE);
+		}
+
+		return output;
+	}
 }
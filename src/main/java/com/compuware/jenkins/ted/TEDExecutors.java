@@ -0,0 +1,101 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import hudson.util.NamingThreadFactory;
+import jenkins.util.SystemProperties;
+
+/**
+ * Creates the executors the specifications of a planned execution are launched and waited for on. Specifications are
+ * not retried, the dependents of a failed specification are skipped, see <code>SpecificationGraphExecutor</code>.
+ * <p>
+ * An execution spends nearly all its time waiting for the CLI, so when the JVM of the controller supports virtual
+ * threads, Java 21 or later, the specifications are executed on virtual threads and executing hundreds of them across
+ * builds costs no more than the waiting itself. Otherwise they are executed on platform threads, at most
+ * <code>maxPlatformThreads</code> per execution. Virtual threads can be turned off with the
+ * <code>virtualThreads</code> system property.
+ */
+public final class TEDExecutors {
+
+	private static final boolean VIRTUAL_THREADS = SystemProperties.getBoolean(TEDExecutors.class.getName() + ".virtualThreads", true); //$NON-NLS-1$
+	private static final int MAX_PLATFORM_THREADS = SystemProperties.getInteger(TEDExecutors.class.getName() + ".maxPlatformThreads", 32); //$NON-NLS-1$
+
+	private static final ThreadFactory VIRTUAL_THREAD_FACTORY = VIRTUAL_THREADS ? createVirtualThreadFactory() : null;
+
+	private TEDExecutors() {
+	}
+
+	/**
+	 * Returns if the specifications are executed on virtual threads.
+	 * 
+	 * @return <code>boolean</code>
+	 */
+	public static boolean isVirtual() {
+		return VIRTUAL_THREAD_FACTORY != null;
+	}
+
+	/**
+	 * Creates an executor executing at most the given number of specifications at the same time.
+	 * 
+	 * @param parallelism
+	 *            The maximum number of parallel executions.
+	 * @param name
+	 *            The name of the threads.
+	 * @param logger
+	 *            The logger to report a reduced parallelism to.
+	 * 
+	 * @return <code>ExecutorService</code> to shut down once the executions have finished
+	 */
+	public static ExecutorService newSpecificationExecutor(int parallelism, String name, PrintStream logger) {
+		int threads = Math.max(1, parallelism);
+		if (VIRTUAL_THREAD_FACTORY != null) {
+			// the pool bounds the number of parallel executions, its threads are virtual
+			return Executors.newFixedThreadPool(threads, new NamingThreadFactory(VIRTUAL_THREAD_FACTORY, name));
+		}
+
+		if (threads > MAX_PLATFORM_THREADS) {
+			logger.println("Executing at most " + MAX_PLATFORM_THREADS + " specifications in parallel, virtual threads are not available"); //$NON-NLS-1$ //$NON-NLS-2$
+			threads = MAX_PLATFORM_THREADS;
+		}
+		return Executors.newFixedThreadPool(threads, new NamingThreadFactory(Executors.defaultThreadFactory(), name));
+	}
+
+	/**
+	 * Looks up the factory of virtual threads of the JVM, which the plugin cannot reference directly as it is compiled
+	 * for Java 8.
+	 * 
+	 * @return <code>ThreadFactory</code>, or <code>null</code> if the JVM does not support virtual threads
+	 */
+	private static ThreadFactory createVirtualThreadFactory() {
+		try {
+			Method ofVirtual = Thread.class.getMethod("ofVirtual"); //$NON-NLS-1$
+			Object builder = ofVirtual.invoke(null);
+			Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory"); //$NON-NLS-1$ //$NON-NLS-2$
+			return (ThreadFactory) factory.invoke(builder);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			// before Java 21, or Java 19 and 20 without preview features enabled
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,112 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jenkinsci.Symbol;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.StaplerRequest;
+
+import hudson.Extension;
+import hudson.Util;
+import jenkins.model.GlobalConfiguration;
+import net.sf.json.JSONObject;
+
+/**
+ * Global configuration of the Enterprise Data executions, holding the execution profiles shared by the jobs and the
+ * CLI installations provisioned to the nodes.
+ */
+@Symbol("topazForEnterpriseData")
+@Extension
+public class TEDGlobalConfiguration extends GlobalConfiguration {
+
+	private List<TEDExecutionProfile> profiles = new ArrayList<>();
+	private List<TEDCLIInstallation> cliInstallations = new ArrayList<>();
+
+	/**
+	 * Constructor
+	 */
+	public TEDGlobalConfiguration() {
+		load();
+	}
+
+	/**
+	 * Returns the global configuration.
+	 * 
+	 * @return <code>TEDGlobalConfiguration</code>
+	 */
+	public static TEDGlobalConfiguration get() {
+		return GlobalConfiguration.all().getInstance(TEDGlobalConfiguration.class);
+	}
+
+	public List<TEDExecutionProfile> getProfiles() {
+		return Collections.unmodifiableList(profiles);
+	}
+
+	@DataBoundSetter
+	public void setProfiles(List<TEDExecutionProfile> profiles) {
+		this.profiles = profiles != null ? new ArrayList<>(profiles) : new ArrayList<>();
+	}
+
+	/**
+	 * Returns the CLI installations, installed on the nodes whose configured CLI location does not exist.
+	 * 
+	 * @return <code>List</code> of <code>TEDCLIInstallation</code>
+	 */
+	public List<TEDCLIInstallation> getCliInstallations() {
+		return cliInstallations != null ? Collections.unmodifiableList(cliInstallations) : Collections.emptyList();
+	}
+
+	@DataBoundSetter
+	public void setCliInstallations(List<TEDCLIInstallation> cliInstallations) {
+		this.cliInstallations = cliInstallations != null ? new ArrayList<>(cliInstallations) : new ArrayList<>();
+	}
+
+	/**
+	 * Returns the profile with the given id.
+	 * 
+	 * @param id
+	 *            The profile id.
+	 * 
+	 * @return The <code>TEDExecutionProfile</code>, or <code>null</code> if there is none
+	 */
+	public TEDExecutionProfile getProfile(String id) {
+		String profileId = Util.fixEmptyAndTrim(id);
+		if (profileId != null) {
+			for (TEDExecutionProfile profile : profiles) {
+				if (profileId.equals(profile.getId())) {
+					return profile;
+				}
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public boolean configure(StaplerRequest req, JSONObject json) throws FormException {
+		// an empty list is not submitted
+		profiles = new ArrayList<>();
+		cliInstallations = new ArrayList<>();
+		req.bindJSON(this, json);
+		save();
+		return true;
+	}
+
+}
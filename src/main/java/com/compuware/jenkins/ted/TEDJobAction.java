@@ -0,0 +1,114 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.StaplerResponse;
+
+import hudson.Extension;
+import hudson.model.Action;
+import hudson.model.Item;
+import hudson.model.Job;
+import jenkins.model.TransientActionFactory;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+
+/**
+ * Serves the index of the Enterprise Data executions of a job, see <code>TEDExecutionIndex</code>, at
+ * <code>job/&lt;name&gt;/ted/</code>.
+ */
+public class TEDJobAction implements Action {
+
+	private final Job<?, ?> job;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param job
+	 *            The job.
+	 */
+	public TEDJobAction(Job<?, ?> job) {
+		this.job = job;
+	}
+
+	@Override
+	public String getIconFileName() {
+		return null;
+	}
+
+	@Override
+	public String getDisplayName() {
+		return "Enterprise Data Executions"; //$NON-NLS-1$
+	}
+
+	@Override
+	public String getUrlName() {
+		return "ted"; //$NON-NLS-1$
+	}
+
+	/**
+	 * Writes the index of the job as a JSON array, latest execution last.
+	 * 
+	 * @param limit
+	 *            The maximum number of executions to return, all of them if <code>0</code>.
+	 * @param rsp
+	 *            The response.
+	 * 
+	 * @throws IOException
+	 */
+	public void doIndex(@QueryParameter int limit, StaplerResponse rsp) throws IOException {
+		job.checkPermission(Item.READ);
+
+		List<JSONObject> entries = TEDExecutionIndex.read(job);
+		if (limit > 0 && limit < entries.size()) {
+			entries = entries.subList(entries.size() - limit, entries.size());
+		}
+		JSONArray json = new JSONArray();
+		json.addAll(entries);
+
+		rsp.setContentType("application/json;charset=UTF-8"); //$NON-NLS-1$
+		json.write(rsp.getWriter());
+	}
+
+	/**
+	 * Adds the <code>TEDJobAction</code> to every job having an index.
+	 */
+	@SuppressWarnings("rawtypes")
+	@Extension
+	public static class Factory extends TransientActionFactory<Job> {
+
+		@Override
+		public Class<Job> type() {
+			return Job.class;
+		}
+
+		@Override
+		public Collection<? extends Action> createFor(Job target) {
+			if (!new File(target.getRootDir(), TEDExecutionIndex.INDEX_FILE).isFile()) {
+				return Collections.emptySet();
+			}
+			return Collections.singleton(new TEDJobAction(target));
+		}
+	}
+
+}
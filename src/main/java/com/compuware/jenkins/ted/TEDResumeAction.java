@@ -0,0 +1,203 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.HttpResponses;
+import org.kohsuke.stapler.interceptor.RequirePOST;
+
+import hudson.Extension;
+import hudson.model.Action;
+import hudson.model.Cause;
+import hudson.model.CauseAction;
+import hudson.model.Item;
+import hudson.model.Job;
+import hudson.model.ParametersAction;
+import hudson.model.Run;
+import jenkins.model.ParameterizedJobMixIn;
+import jenkins.model.TransientActionFactory;
+
+/**
+ * Resumes the planned execution of a finished build which did not complete all its specifications, at
+ * <code>&lt;build&gt;/ted-resume/</code>. The resuming build is scheduled with the parameters of the build and a
+ * <code>TEDResumeMarker</code>, and only executes the specifications which did not complete. The progress of a running
+ * build is saved with the build every time a specification changes status, so a build which was aborted, or whose
+ * controller was restarted, can be resumed as well.
+ */
+public class TEDResumeAction implements Action {
+
+	private final Run<?, ?> run;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param run
+	 *            The build to resume.
+	 */
+	public TEDResumeAction(Run<?, ?> run) {
+		this.run = run;
+	}
+
+	@Override
+	public String getIconFileName() {
+		return run.getParent().hasPermission(Item.BUILD) ? "redo.png" : null; //$NON-NLS-1$
+	}
+
+	@Override
+	public String getDisplayName() {
+		return "Resume Enterprise Data Execution"; //$NON-NLS-1$
+	}
+
+	@Override
+	public String getUrlName() {
+		return "ted-resume"; //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the build to resume.
+	 * 
+	 * @return <code>Run</code>
+	 */
+	public Run<?, ?> getRun() {
+		return run;
+	}
+
+	/**
+	 * Returns the results of the specifications which did not complete.
+	 * 
+	 * @return <code>List</code> of <code>SpecificationResult</code>
+	 */
+	public List<SpecificationResult> getRemaining() {
+		return getRemaining(run);
+	}
+
+	/**
+	 * Schedules the resuming build.
+	 * 
+	 * @return <code>HttpResponse</code>
+	 */
+	@RequirePOST
+	public HttpResponse doResume() {
+		Job<?, ?> job = run.getParent();
+		job.checkPermission(Item.BUILD);
+
+		List<Action> actions = new ArrayList<>();
+		actions.add(new CauseAction(new Cause.UserIdCause(), new ResumeCause(run.getNumber())));
+		actions.add(TEDResumeMarker.of(run));
+		ParametersAction parameters = run.getAction(ParametersAction.class);
+		if (parameters != null) {
+			actions.add(new ParametersAction(parameters.getParameters()));
+		}
+		ParameterizedJobMixIn.scheduleBuild2(job, 0, actions.toArray(new Action[0]));
+
+		return HttpResponses.redirectTo("../../"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns if a build has planned specifications which did not complete.
+	 * 
+	 * @param run
+	 *            The build.
+	 * 
+	 * @return <code>boolean</code>
+	 */
+	public static boolean isResumable(Run<?, ?> run) {
+		return !getRemaining(run).isEmpty();
+	}
+
+	/**
+	 * Returns the results of the planned specifications of a build which did not complete.
+	 * 
+	 * @param run
+	 *            The build.
+	 * 
+	 * @return <code>List</code> of <code>SpecificationResult</code>
+	 */
+	private static List<SpecificationResult> getRemaining(Run<?, ?> run) {
+		List<SpecificationResult> remaining = new ArrayList<>();
+		TEDExecutionAction action = run.getAction(TEDExecutionAction.class);
+		if (action != null) {
+			for (SpecificationResult result : action.getResults()) {
+				// only the specifications of a planned execution can be resumed one by one
+				if (result.getType() != null && result.getStatus() != SpecificationStatus.SUCCEEDED) {
+					remaining.add(result);
+				}
+			}
+		}
+		return remaining;
+	}
+
+	/**
+	 * Cause of a build resuming another build.
+	 */
+	public static class ResumeCause extends Cause {
+
+		private final int sourceBuild;
+
+		/**
+		 * Constructor
+		 * 
+		 * @param sourceBuild
+		 *            The number of the resumed build.
+		 */
+		public ResumeCause(int sourceBuild) {
+			this.sourceBuild = sourceBuild;
+		}
+
+		/**
+		 * Returns the number of the resumed build.
+		 * 
+		 * @return <code>int</code>
+		 */
+		public int getSourceBuild() {
+			return sourceBuild;
+		}
+
+		@Override
+		public String getShortDescription() {
+			return "Resumed the Enterprise Data execution of build #" + sourceBuild; //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Adds the <code>TEDResumeAction</code> to every finished build which did not complete its planned specifications.
+	 */
+	@SuppressWarnings("rawtypes")
+	@Extension
+	public static class Factory extends TransientActionFactory<Run> {
+
+		@Override
+		public Class<Run> type() {
+			return Run.class;
+		}
+
+		@Override
+		public Collection<? extends Action> createFor(Run target) {
+			if (target.isBuilding() || !(target.getParent() instanceof ParameterizedJobMixIn.ParameterizedJob)
+					|| !isResumable(target)) {
+				return Collections.emptySet();
+			}
+			return Collections.singleton(new TEDResumeAction(target));
+		}
+	}
+
+}
@@ -0,0 +1,170 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import hudson.model.InvisibleAction;
+import hudson.model.Run;
+
+/**
+ * Marks a build resuming the planned execution of a previous build, see <code>TEDResumeAction</code>. The marker holds
+ * the specifications which completed in the previous build, and in the builds that one resumed, so those are left out of
+ * the plan of the resuming build.
+ * <p>
+ * Specifications are told apart by name and type only, so the marker also holds the digest of the configuration of the
+ * resumed build. When the resuming build executes with another configuration, nothing is left out of its plan.
+ */
+public class TEDResumeMarker extends InvisibleAction {
+
+	private final int sourceBuild;
+	private final Set<String> completed;
+	private final String configurationDigest;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param sourceBuild
+	 *            The number of the resumed build.
+	 * @param completed
+	 *            The keys of the completed specifications, see <code>getKey</code>.
+	 * @param configurationDigest
+	 *            The digest of the configuration of the resumed build, <code>null</code> if unknown.
+	 */
+	public TEDResumeMarker(int sourceBuild, Set<String> completed, String configurationDigest) {
+		this.sourceBuild = sourceBuild;
+		this.completed = new LinkedHashSet<>(completed);
+		this.configurationDigest = configurationDigest;
+	}
+
+	/**
+	 * Returns the marker resuming a build, holding every specification which completed in that build or in the builds
+	 * it resumed.
+	 * 
+	 * @param run
+	 *            The resumed build.
+	 * 
+	 * @return <code>TEDResumeMarker</code>
+	 */
+	public static TEDResumeMarker of(Run<?, ?> run) {
+		Set<String> completed = new LinkedHashSet<>();
+		TEDExecutionAction action = run.getAction(TEDExecutionAction.class);
+		String configurationDigest = action != null ? action.getConfigurationDigest() : null;
+		TEDResumeMarker previous = run.getAction(TEDResumeMarker.class);
+		if (previous != null && previous.matches(configurationDigest)) {
+			completed.addAll(previous.getCompleted());
+		}
+		if (action != null) {
+			for (SpecificationResult result : action.getResults()) {
+				if (result.getType() != null && result.getStatus() == SpecificationStatus.SUCCEEDED) {
+					completed.add(getKey(result.getName(), result.getType()));
+				}
+			}
+		}
+		return new TEDResumeMarker(run.getNumber(), completed, configurationDigest);
+	}
+
+	/**
+	 * Returns the key of a specification.
+	 * 
+	 * @param name
+	 *            The name of the specification.
+	 * @param type
+	 *            The type of the specification.
+	 * 
+	 * @return <code>String</code>
+	 */
+	public static String getKey(String name, SpecificationType type) {
+		return name + '|' + type.getValue();
+	}
+
+	/**
+	 * Returns the number of the resumed build.
+	 * 
+	 * @return <code>int</code>
+	 */
+	public int getSourceBuild() {
+		return sourceBuild;
+	}
+
+	/**
+	 * Returns the keys of the completed specifications.
+	 * 
+	 * @return <code>Set</code>
+	 */
+	public Set<String> getCompleted() {
+		return Collections.unmodifiableSet(completed);
+	}
+
+	/**
+	 * Returns the digest of the configuration of the resumed build.
+	 * 
+	 * @return <code>String</code>, <code>null</code> if unknown
+	 */
+	public String getConfigurationDigest() {
+		return configurationDigest;
+	}
+
+	/**
+	 * Returns if a configuration is the one of the resumed build, which is assumed when either digest is unknown.
+	 * 
+	 * @param digest
+	 *            The digest of the configuration.
+	 * 
+	 * @return <code>boolean</code>
+	 */
+	public boolean matches(String digest) {
+		return configurationDigest == null || digest == null || Objects.equals(configurationDigest, digest);
+	}
+
+	/**
+	 * Returns the plan of the specifications of a plan which did not complete in the resumed builds, or the plan itself
+	 * when the resuming build executes with another configuration than the resumed build.
+	 * 
+	 * @param plan
+	 *            The plan of the resuming build.
+	 * @param digest
+	 *            The digest of the configuration of the resuming build.
+	 * @param logger
+	 *            The logger of the build.
+	 * 
+	 * @return <code>ExecutionPlan</code>
+	 */
+	public ExecutionPlan apply(ExecutionPlan plan, String digest, PrintStream logger) {
+		if (!matches(digest)) {
+			logger.println("Warning: the configuration has changed since build #" + sourceBuild //$NON-NLS-1$
+					+ ", executing all the specifications."); //$NON-NLS-1$
+			return plan;
+		}
+
+		List<Specification> done = new ArrayList<>();
+		for (Specification specification : plan.getSpecifications()) {
+			if (completed.contains(getKey(specification.getName(), specification.getType()))) {
+				done.add(specification);
+			}
+		}
+		logger.println("Skipping " + done.size() + " specification(s) completed in build #" + sourceBuild + ": " + done); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		return plan.without(done);
+	}
+
+}
@@ -0,0 +1,107 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+public class CLIVersionRangeTest {
+
+	private static void assertInvalid(String text) {
+		try {
+			CLIVersionRange.parse(text);
+			fail("Accepted " + text); //$NON-NLS-1$
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void parsesRanges() {
+		assertNull(CLIVersionRange.parse(null));
+		assertNull(CLIVersionRange.parse(" ")); //$NON-NLS-1$
+		assertEquals(">=20.09, <21", CLIVersionRange.parse(" >=20.09, <21 ").toString()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertInvalid("latest"); //$NON-NLS-1$
+		assertInvalid(">=20.*"); //$NON-NLS-1$
+		assertInvalid(">=20.09,,<21"); //$NON-NLS-1$
+	}
+
+	@Test
+	public void comparesPartByPart() {
+		assertEquals(0, CLIVersionRange.compare("21", "21.00.00")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(0, CLIVersionRange.compare("20.09.03", "20.9.3")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(CLIVersionRange.compare("20.10", "20.9") > 0); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(CLIVersionRange.compare("20.09.03", "20.09.03.1") < 0); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void comparesNumbersOfAnyLength() {
+		assertTrue(CLIVersionRange.compare("20.99999999999999999999", "20.99999999999999999998") > 0); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(CLIVersionRange.compare("20.9", "20.10000000000000000000") < 0); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(0, CLIVersionRange.compare("20.0000000000000000000009", "20.9")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(CLIVersionRange.parse(">=20.09").matches("20.99999999999999999999")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void comparesMixedPartsRunByRun() {
+		assertTrue(CLIVersionRange.compare("20.1a", "20.1b") < 0); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(CLIVersionRange.compare("20.1b", "20.10") < 0); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(CLIVersionRange.compare("20.rc2", "20.rc10") < 0); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(CLIVersionRange.compare("20.1a", "20.1") > 0); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(0, CLIVersionRange.compare("20.01a", "20.1a")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void matchesOperators() {
+		assertTrue(CLIVersionRange.parse(">=20.09.03").matches("20.09.03")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse(CLIVersionRange.parse(">20.09.03").matches("20.09.03")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(CLIVersionRange.parse(">20.09").matches("20.09.01")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(CLIVersionRange.parse("<=21.01").matches("21.01.00")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse(CLIVersionRange.parse("<21").matches("21.00.00")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(CLIVersionRange.parse("20.09.03").matches("20.09.03")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(CLIVersionRange.parse("=20.09.03").matches("20.9.3")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse(CLIVersionRange.parse("20.09.03").matches("20.09.04")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse(CLIVersionRange.parse(">=20.09").matches(null)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void matchesAllConditions() {
+		CLIVersionRange range = CLIVersionRange.parse(">=20.09.03, <21"); //$NON-NLS-1$
+		assertTrue(range.matches("20.09.03")); //$NON-NLS-1$
+		assertTrue(range.matches("20.12.01")); //$NON-NLS-1$
+		assertFalse(range.matches("20.09.02")); //$NON-NLS-1$
+		assertFalse(range.matches("21.01.00")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void matchesPrefixes() {
+		CLIVersionRange range = CLIVersionRange.parse("20.09.*"); //$NON-NLS-1$
+		assertTrue(range.matches("20.09")); //$NON-NLS-1$
+		assertTrue(range.matches("20.09.03")); //$NON-NLS-1$
+		assertTrue(range.matches("20.9.3-1")); //$NON-NLS-1$
+		assertFalse(range.matches("20.10.01")); //$NON-NLS-1$
+		assertFalse(range.matches("20")); //$NON-NLS-1$
+		assertTrue(CLIVersionRange.parse("21.*").matches("21.01.00")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse(CLIVersionRange.parse("21.*").matches("20.12.00")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+}
@@ -0,0 +1,61 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.compuware.jenkins.ted.CompareResultSummarizer.Status;
+
+public class CompareResultSummarizerTest {
+
+	@Test
+	public void classifiesStatuses() {
+		assertEquals(Status.MATCHED, CompareResultSummarizer.classify("Matched")); //$NON-NLS-1$
+		assertEquals(Status.MATCHED, CompareResultSummarizer.classify("EQUAL")); //$NON-NLS-1$
+		assertEquals(Status.MISMATCHED, CompareResultSummarizer.classify("MISMATCH")); //$NON-NLS-1$
+		assertEquals(Status.MISMATCHED, CompareResultSummarizer.classify("Changed")); //$NON-NLS-1$
+		assertEquals(Status.MISSING, CompareResultSummarizer.classify("ONLY IN BASE")); //$NON-NLS-1$
+		assertEquals(Status.MISSING, CompareResultSummarizer.classify("Missing")); //$NON-NLS-1$
+		assertNull(CompareResultSummarizer.classify("PENDING")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void classifiesNegatedStatuses() {
+		assertEquals(Status.MATCHED, CompareResultSummarizer.classify("UNCHANGED")); //$NON-NLS-1$
+		assertEquals(Status.MATCHED, CompareResultSummarizer.classify("NO DIFFERENCES")); //$NON-NLS-1$
+		assertEquals(Status.MATCHED, CompareResultSummarizer.classify("not_changed")); //$NON-NLS-1$
+		assertEquals(Status.MISMATCHED, CompareResultSummarizer.classify("UNMATCHED")); //$NON-NLS-1$
+		assertEquals(Status.MISMATCHED, CompareResultSummarizer.classify("NOT MATCHED")); //$NON-NLS-1$
+		assertEquals(Status.MISMATCHED, CompareResultSummarizer.classify("NOT EQUAL")); //$NON-NLS-1$
+		assertEquals(Status.MISMATCHED, CompareResultSummarizer.classify("Non-matching")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void matchesWholeColumnNames() {
+		List<String> columns = Arrays.asList("KEYCOUNT", "Key", "STATUS_TEXT", "Status"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		assertEquals(1, CompareResultSummarizer.indexOf(columns, "KEY")); //$NON-NLS-1$
+		assertEquals(3, CompareResultSummarizer.indexOf(columns, "STATUS", "RESULT")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(-1, CompareResultSummarizer.indexOf(columns, "TABLE")); //$NON-NLS-1$
+	}
+
+}
@@ -0,0 +1,115 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class DatasetResourceSchedulerTest {
+
+	private static final Specification EXTRACT_A = new Specification("EXTRACTA", SpecificationType.EXTRACT); //$NON-NLS-1$
+	private static final Specification EXTRACT_B = new Specification("EXTRACTB", SpecificationType.EXTRACT); //$NON-NLS-1$
+
+	private final ExecutorService executor = Executors.newSingleThreadExecutor();
+	private final PrintStream logger = new PrintStream(new ByteArrayOutputStream(), true);
+
+	@After
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void foldsTheUniquePartIntoTheLastQualifier() {
+		assertTrue(DatasetResourceScheduler.newTemporaryDatasetSuffix(null).matches("T[0-9A-Z]{7}")); //$NON-NLS-1$
+		assertTrue(DatasetResourceScheduler.newTemporaryDatasetSuffix("TMP").matches("TMP[0-9A-Z]{5}")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(DatasetResourceScheduler.newTemporaryDatasetSuffix("RUN.LONGQUAL").matches("RUN\\.LONG[0-9A-Z]{4}")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(DatasetResourceScheduler.newTemporaryDatasetSuffix("RUN.").matches("RUN\\.T[0-9A-Z]{7}")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void suffixesAreUnique() {
+		Set<String> suffixes = new HashSet<>();
+		for (int i = 0; i < 10000; i++) {
+			assertTrue(suffixes.add(DatasetResourceScheduler.newTemporaryDatasetSuffix("LONGQUAL"))); //$NON-NLS-1$
+		}
+	}
+
+	@Test
+	public void checksTheLengthOfTheDatasetNames() {
+		// 12 + 1 + 22 + 1 + 8 = 44 characters
+		DatasetResourceScheduler.checkTemporaryDatasetNames("HLQ.TESTDATA", "PREFIX01.PREFIX02.PREF", "SUF"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		DatasetResourceScheduler.checkTemporaryDatasetNames(null, null, null);
+		try {
+			DatasetResourceScheduler.checkTemporaryDatasetNames("HLQ.TESTDATA", "PREFIX01.PREFIX02.PREFI", "SUF"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			fail("Accepted a 45 character dataset name"); //$NON-NLS-1$
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void keysIgnoreTheCaseOfTheHighLevelQualifier() {
+		assertEquals(DatasetResourceScheduler.getResourceKey("conn", "hlq.test", "REPO", EXTRACT_A), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				DatasetResourceScheduler.getResourceKey("conn", "HLQ.TEST", "REPO", EXTRACT_A)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertFalse(DatasetResourceScheduler.getResourceKey("conn", "HLQ", "REPO", EXTRACT_A) //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				.equals(DatasetResourceScheduler.getResourceKey("conn", "HLQ", "REPO", EXTRACT_B))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	@Test
+	public void serializesExecutionsOfTheSameKeyOnly() throws Exception {
+		String key = DatasetResourceScheduler.getResourceKey("conn", "HLQ", "REPO", EXTRACT_A); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		String otherKey = DatasetResourceScheduler.getResourceKey("conn", "HLQ", "REPO", EXTRACT_B); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+		try (DatasetResourceScheduler.Lease lease = DatasetResourceScheduler.acquire(key, EXTRACT_A, logger)) {
+			Future<?> other = executor.submit(() -> {
+				DatasetResourceScheduler.acquire(otherKey, EXTRACT_B, logger).close();
+				return null;
+			});
+			other.get(10, TimeUnit.SECONDS);
+
+			Future<?> same = executor.submit(() -> {
+				DatasetResourceScheduler.acquire(key, EXTRACT_A, logger).close();
+				return null;
+			});
+			try {
+				same.get(200, TimeUnit.MILLISECONDS);
+				fail("Acquired the datasets held by another execution"); //$NON-NLS-1$
+			} catch (TimeoutException e) {
+				// expected
+			}
+
+			lease.close();
+			same.get(10, TimeUnit.SECONDS);
+		}
+	}
+
+}
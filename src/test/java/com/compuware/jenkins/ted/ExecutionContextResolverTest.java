@@ -0,0 +1,90 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class ExecutionContextResolverTest {
+
+	private final File workspace = createDirectory();
+
+	private final File contextDirectory = new File(workspace, "contexts"); //$NON-NLS-1$
+
+	private final File context = new File(contextDirectory, "test.properties"); //$NON-NLS-1$
+
+	@After
+	public void delete() {
+		context.delete();
+		contextDirectory.delete();
+		workspace.delete();
+	}
+
+	private static File createDirectory() {
+		try {
+			return Files.createTempDirectory("ted-workspace").toFile(); //$NON-NLS-1$
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private void writeContext() throws IOException {
+		contextDirectory.mkdirs();
+		Files.write(context.toPath(), Collections.singletonList("FAJPATH=/usr/bin"), StandardCharsets.UTF_8); //$NON-NLS-1$
+	}
+
+	@Test
+	public void tellsNamesFromPaths() {
+		assertTrue(ExecutionContextResolver.isContextName("test.properties")); //$NON-NLS-1$
+		assertFalse(ExecutionContextResolver.isContextName("contexts/test.properties")); //$NON-NLS-1$
+		assertFalse(ExecutionContextResolver.isContextName("contexts\\test.properties")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void resolvesRelativePathsAgainstTheWorkspace() throws IOException {
+		writeContext();
+		String path = "contexts" + File.separator + "test.properties"; //$NON-NLS-1$ //$NON-NLS-2$
+		assertNull(new ExecutionContextResolver.ContextCheck(path, workspace.getPath()).call());
+		assertNotNull(new ExecutionContextResolver.ContextCheck(path, contextDirectory.getPath()).call());
+	}
+
+	@Test
+	public void checksAbsolutePathsAsGiven() throws IOException {
+		writeContext();
+		assertNull(new ExecutionContextResolver.ContextCheck(context.getAbsolutePath(), contextDirectory.getPath()).call());
+		assertNull(new ExecutionContextResolver.ContextCheck(context.getAbsolutePath(), null).call());
+	}
+
+	@Test
+	public void reportsMissingContexts() throws IOException {
+		String error = new ExecutionContextResolver.ContextCheck("contexts/missing.properties", workspace.getPath()).call(); //$NON-NLS-1$
+		assertNotNull(error);
+		assertTrue(error, error.contains(workspace.getPath()));
+	}
+
+}
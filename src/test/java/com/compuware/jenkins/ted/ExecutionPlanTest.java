@@ -0,0 +1,98 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class ExecutionPlanTest {
+
+	private static final Specification EXTRACT_A = new Specification("EXTRACTA", SpecificationType.EXTRACT); //$NON-NLS-1$
+	private static final Specification EXTRACT_B = new Specification("EXTRACTB", SpecificationType.EXTRACT); //$NON-NLS-1$
+	private static final Specification CONVERT_A = new Specification("CONVERTA", SpecificationType.CONVERT); //$NON-NLS-1$
+	private static final Specification LOAD_A = new Specification("LOADA", SpecificationType.LOAD); //$NON-NLS-1$
+	private static final Specification COMPARE_A = new Specification("COMPAREA", SpecificationType.COMPARE); //$NON-NLS-1$
+
+	@Test
+	public void ordersByPhase() {
+		ExecutionPlan plan = new ExecutionPlan(Arrays.asList(COMPARE_A, LOAD_A, EXTRACT_A, CONVERT_A, EXTRACT_B));
+
+		assertEquals(Arrays.asList(EXTRACT_A, EXTRACT_B, CONVERT_A, LOAD_A, COMPARE_A), plan.getSpecifications());
+		assertEquals(new HashSet<>(Arrays.asList(EXTRACT_A, EXTRACT_B)), new HashSet<>(plan.getDependencies(CONVERT_A)));
+		assertEquals(Collections.singletonList(LOAD_A), plan.getDependents(CONVERT_A));
+		assertTrue(plan.getDependencies(EXTRACT_A).isEmpty());
+	}
+
+	@Test
+	public void skipsMissingPhases() {
+		ExecutionPlan plan = new ExecutionPlan(Arrays.asList(COMPARE_A, EXTRACT_A));
+
+		assertEquals(Arrays.asList(EXTRACT_A, COMPARE_A), plan.getSpecifications());
+		assertEquals(Collections.singletonList(EXTRACT_A), plan.getDependencies(COMPARE_A));
+	}
+
+	@Test
+	public void followsDeclaredDependencies() {
+		Map<String, List<String>> dependencies = ExecutionPlan.parseDependencies("EXTRACTA: COMPAREA\n\nLOADA: EXTRACTA, EXTRACTB"); //$NON-NLS-1$
+		ExecutionPlan plan = new ExecutionPlan(Arrays.asList(EXTRACT_A, EXTRACT_B, LOAD_A, COMPARE_A), dependencies);
+
+		List<Specification> order = plan.getSpecifications();
+		assertTrue(order.indexOf(COMPARE_A) < order.indexOf(EXTRACT_A));
+		assertTrue(order.indexOf(EXTRACT_A) < order.indexOf(LOAD_A));
+		assertTrue(order.indexOf(EXTRACT_B) < order.indexOf(LOAD_A));
+		assertEquals(Arrays.asList(EXTRACT_A, EXTRACT_B), new ArrayList<>(plan.getDependencies(LOAD_A)));
+	}
+
+	@Test
+	public void rejectsInvalidDependencies() {
+		for (String dependencies : Arrays.asList("EXTRACTA: UNKNOWN", "EXTRACTA: LOADA\nLOADA: EXTRACTA", "EXTRACTA LOADA")) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			try {
+				new ExecutionPlan(Arrays.asList(EXTRACT_A, LOAD_A), ExecutionPlan.parseDependencies(dependencies));
+				fail("Accepted " + dependencies); //$NON-NLS-1$
+			} catch (IllegalArgumentException e) {
+				// expected
+			}
+		}
+	}
+
+	@Test
+	public void withoutCompletedSpecifications() {
+		ExecutionPlan plan = new ExecutionPlan(Arrays.asList(EXTRACT_A, EXTRACT_B, LOAD_A, COMPARE_A));
+
+		ExecutionPlan remaining = plan.without(Arrays.asList(EXTRACT_A, EXTRACT_B));
+
+		assertEquals(Arrays.asList(LOAD_A, COMPARE_A), remaining.getSpecifications());
+		assertTrue(remaining.getDependencies(LOAD_A).isEmpty());
+		assertEquals(Collections.singletonList(LOAD_A), new ArrayList<>(remaining.getDependencies(COMPARE_A)));
+		assertEquals(Collections.singletonList(COMPARE_A), new ArrayList<>(remaining.getDependents(LOAD_A)));
+
+		ExecutionPlan partial = plan.without(Collections.singletonList(EXTRACT_A));
+		assertEquals(Collections.singletonList(EXTRACT_B), new ArrayList<>(partial.getDependencies(LOAD_A)));
+		assertEquals(4, plan.size());
+	}
+
+}
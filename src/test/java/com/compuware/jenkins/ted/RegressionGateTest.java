@@ -0,0 +1,122 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import net.sf.json.JSONObject;
+
+public class RegressionGateTest {
+
+	private static final String SPECIFICATION = "EXTRACTA (Extract)"; //$NON-NLS-1$
+
+	/**
+	 * A previous result, as recorded in the index.
+	 */
+	private static JSONObject previous(SpecificationStatus status, long records, long duration) {
+		JSONObject json = new JSONObject();
+		json.element("status", status.name()); //$NON-NLS-1$
+		json.element("duration", duration); //$NON-NLS-1$
+		json.element("recordsRead", records); //$NON-NLS-1$
+		json.element("recordsWritten", 0L); //$NON-NLS-1$
+		return json;
+	}
+
+	private static List<JSONObject> history(long... records) {
+		List<JSONObject> history = new ArrayList<>();
+		for (long count : records) {
+			// one record per millisecond, 1000 records per second
+			history.add(previous(SpecificationStatus.SUCCEEDED, count, count));
+		}
+		return history;
+	}
+
+	@Test
+	public void takesTheMedianOfOddAndEvenCounts() {
+		assertNull(RegressionGate.median(new ArrayList<>()));
+		assertEquals(3.0, RegressionGate.median(new ArrayList<>(Arrays.asList(5.0, 1.0, 3.0))), 0);
+		assertEquals(2.5, RegressionGate.median(new ArrayList<>(Arrays.asList(4.0, 1.0, 3.0, 2.0))), 0);
+		assertEquals(7.0, RegressionGate.median(new ArrayList<>(Collections.singletonList(7.0))), 0);
+	}
+
+	@Test
+	public void parsesPercentages() {
+		assertNull(RegressionGate.parsePercentage(null));
+		assertNull(RegressionGate.parsePercentage(" ")); //$NON-NLS-1$
+		assertEquals(12.5, RegressionGate.parsePercentage(" 12.5 "), 0); //$NON-NLS-1$
+		try {
+			RegressionGate.parsePercentage("-1"); //$NON-NLS-1$
+			fail("Accepted a negative percentage"); //$NON-NLS-1$
+		} catch (NumberFormatException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void isDisabledWithoutThresholds() {
+		RegressionGate gate = new RegressionGate(null, null, null);
+		assertFalse(gate.isEnabled());
+		assertTrue(gate.check(SPECIFICATION, 10, 1000, history(1000, 1000, 1000)).isEmpty());
+	}
+
+	@Test
+	public void checksTheThroughputDrop() {
+		RegressionGate gate = new RegressionGate(null, 20.0, null);
+		// baseline of 1000 records per second, a drop of 20% is allowed
+		assertTrue(gate.check(SPECIFICATION, 800, 1000, history(1000, 2000, 3000)).isEmpty());
+		assertEquals(1, gate.check(SPECIFICATION, 799, 1000, history(1000, 2000, 3000)).size());
+		// faster is never a regression
+		assertTrue(gate.check(SPECIFICATION, 5000, 1000, history(1000, 2000, 3000)).isEmpty());
+		// no baseline yet
+		assertTrue(gate.check(SPECIFICATION, 1, 1000, history()).isEmpty());
+	}
+
+	@Test
+	public void checksTheRecordCountChangeBothWays() {
+		RegressionGate gate = new RegressionGate(null, null, 10.0);
+		// median of an even number of counts, 1000
+		List<JSONObject> history = history(900, 1100, 800, 1200);
+		assertTrue(gate.check(SPECIFICATION, 1100, 1100, history).isEmpty());
+		assertTrue(gate.check(SPECIFICATION, 900, 900, history).isEmpty());
+		assertEquals(1, gate.check(SPECIFICATION, 1101, 1101, history).size());
+		assertEquals(1, gate.check(SPECIFICATION, 899, 899, history).size());
+	}
+
+	@Test
+	public void baselinesOnTheLatestSuccessfulResults() {
+		RegressionGate gate = new RegressionGate(null, null, 10.0);
+		List<JSONObject> history = new ArrayList<>();
+		history.add(previous(SpecificationStatus.FAILED, 1, 1));
+		history.addAll(history(100, 100, 100, 100, 100));
+		// older than the latest five successful results
+		history.addAll(history(5000, 5000, 5000));
+		assertTrue(gate.check(SPECIFICATION, 100, 100, history).isEmpty());
+		assertEquals(1, gate.check(SPECIFICATION, 5000, 5000, history).size());
+	}
+
+}
@@ -0,0 +1,93 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class SecretMaskingOutputStreamTest {
+
+	private static String mask(String text, int chunkSize, String... secrets) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (SecretMaskingOutputStream masking = new SecretMaskingOutputStream(out, Arrays.asList(secrets), StandardCharsets.UTF_8)) {
+			byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+			for (int i = 0; i < bytes.length; i += chunkSize) {
+				masking.write(bytes, i, Math.min(chunkSize, bytes.length - i));
+			}
+		}
+		return new String(out.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	private static void assertMasked(String expected, String text, String... secrets) throws IOException {
+		// in a single write, and split across writes at every possible size
+		for (int chunkSize = text.length(); chunkSize >= 1; chunkSize--) {
+			assertEquals("chunk size " + chunkSize, expected, mask(text, chunkSize, secrets)); //$NON-NLS-1$
+		}
+	}
+
+	@Test
+	public void masksSecrets() throws IOException {
+		assertMasked("user **** logged on\n", "user secret logged on\n", "secret"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertMasked("ab****, ****", "ababc, abc", "abc"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	@Test
+	public void ignoresShortSecrets() throws IOException {
+		assertMasked("a ab abc", "a ab abc", "ab"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	@Test
+	public void longestOverlappingSecretWins() throws IOException {
+		assertMasked("[****]", "[abcdef]", "abc", "abcdef"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		assertMasked("[****]", "[abcdef]", "abcdef", "abc"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		assertMasked("[****]", "[abcdef]", "cde", "abcdef"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		assertMasked("[****de]", "[abcde]", "abc", "abcdef"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		assertMasked("[****]", "[abcdefghi]", "bcd", "fgh", "abcdefghi"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		assertMasked("[a****e****i]", "[abcdefghi]", "bcd", "fgh", "abcdefghx"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+	}
+
+	@Test
+	public void masksRepeatedSecretsAsOneRun() throws IOException {
+		assertMasked("x****y", "xaaaaaaaay", "aaa"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertMasked("****", "abcabc", "abc"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	@Test
+	public void sharesTheMatcherBetweenStreams() throws IOException {
+		SecretMaskingOutputStream.Matcher matcher = SecretMaskingOutputStream.Matcher.compile(Arrays.asList("secret", "other"), //$NON-NLS-1$ //$NON-NLS-2$
+				StandardCharsets.UTF_8);
+		ByteArrayOutputStream first = new ByteArrayOutputStream();
+		ByteArrayOutputStream second = new ByteArrayOutputStream();
+		try (SecretMaskingOutputStream out = new SecretMaskingOutputStream(first, matcher);
+				SecretMaskingOutputStream err = new SecretMaskingOutputStream(second, matcher)) {
+			// interleaved writes, each stream keeping its own state
+			out.write("a sec".getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+			err.write("an oth".getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+			out.write("ret".getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+			err.write("er".getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+		}
+		assertEquals("a ****", new String(first.toByteArray(), StandardCharsets.UTF_8)); //$NON-NLS-1$
+		assertEquals("an ****", new String(second.toByteArray(), StandardCharsets.UTF_8)); //$NON-NLS-1$
+	}
+
+}
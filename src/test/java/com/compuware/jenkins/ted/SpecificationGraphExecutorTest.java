@@ -0,0 +1,127 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class SpecificationGraphExecutorTest {
+
+	private static final Specification EXTRACT_A = new Specification("EXTRACTA", SpecificationType.EXTRACT); //$NON-NLS-1$
+	private static final Specification EXTRACT_B = new Specification("EXTRACTB", SpecificationType.EXTRACT); //$NON-NLS-1$
+	private static final Specification LOAD_A = new Specification("LOADA", SpecificationType.LOAD); //$NON-NLS-1$
+	private static final Specification COMPARE_A = new Specification("COMPAREA", SpecificationType.COMPARE); //$NON-NLS-1$
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(2);
+	private final ByteArrayOutputStream log = new ByteArrayOutputStream();
+	private final PrintStream logger = new PrintStream(log, true);
+
+	@After
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * LOADA depends on EXTRACTA, COMPAREA on LOADA, and EXTRACTB on nothing.
+	 */
+	private static ExecutionPlan newPlan() {
+		Map<String, List<String>> dependencies = ExecutionPlan.parseDependencies("LOADA: EXTRACTA\nCOMPAREA: LOADA"); //$NON-NLS-1$
+		return new ExecutionPlan(Arrays.asList(EXTRACT_A, EXTRACT_B, LOAD_A, COMPARE_A), dependencies);
+	}
+
+	@Test
+	public void executesAllSpecifications() throws Exception {
+		SpecificationGraphExecutor graphExecutor = new SpecificationGraphExecutor(newPlan(), executor, false, logger);
+
+		assertEquals(0, graphExecutor.execute(specification -> 0));
+		for (Specification specification : newPlan().getSpecifications()) {
+			assertEquals(SpecificationStatus.SUCCEEDED, graphExecutor.getStatuses().get(specification));
+		}
+	}
+
+	@Test
+	public void failureSkipsOnlyDependents() throws Exception {
+		SpecificationGraphExecutor graphExecutor = new SpecificationGraphExecutor(newPlan(), executor, false, logger);
+
+		int exitValue = graphExecutor.execute(specification -> specification.equals(EXTRACT_A) ? 8 : 0);
+
+		assertEquals(8, exitValue);
+		assertEquals(SpecificationStatus.FAILED, graphExecutor.getStatuses().get(EXTRACT_A));
+		assertEquals(SpecificationStatus.SKIPPED, graphExecutor.getStatuses().get(LOAD_A));
+		assertEquals(SpecificationStatus.SKIPPED, graphExecutor.getStatuses().get(COMPARE_A));
+		assertEquals(SpecificationStatus.SUCCEEDED, graphExecutor.getStatuses().get(EXTRACT_B));
+	}
+
+	@Test
+	public void exceptionFailsOnlyItsSpecification() throws Exception {
+		SpecificationGraphExecutor graphExecutor = new SpecificationGraphExecutor(newPlan(), executor, false, logger);
+		Map<Specification, String> errors = new HashMap<>();
+		graphExecutor.setErrorListener(errors::put);
+		Set<Specification> executed = ConcurrentHashMap.newKeySet();
+
+		int exitValue = graphExecutor.execute(specification -> {
+			executed.add(specification);
+			if (specification.equals(LOAD_A)) {
+				throw new IOException("Communication Manager unreachable"); //$NON-NLS-1$
+			}
+			return 0;
+		});
+
+		assertEquals(SpecificationGraphExecutor.EXCEPTION_EXIT_VALUE, exitValue);
+		assertEquals(SpecificationStatus.SUCCEEDED, graphExecutor.getStatuses().get(EXTRACT_A));
+		assertEquals(SpecificationStatus.SUCCEEDED, graphExecutor.getStatuses().get(EXTRACT_B));
+		assertEquals(SpecificationStatus.FAILED, graphExecutor.getStatuses().get(LOAD_A));
+		assertEquals(SpecificationStatus.SKIPPED, graphExecutor.getStatuses().get(COMPARE_A));
+		assertFalse(executed.contains(COMPARE_A));
+		assertEquals("Communication Manager unreachable", errors.get(LOAD_A)); //$NON-NLS-1$
+		assertTrue(new String(log.toByteArray(), StandardCharsets.UTF_8).contains("Communication Manager unreachable")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void exitOnFailureStartsNoFurtherSpecification() throws Exception {
+		ExecutionPlan plan = new ExecutionPlan(Arrays.asList(EXTRACT_A, LOAD_A, COMPARE_A),
+				ExecutionPlan.parseDependencies("LOADA: EXTRACTA\nCOMPAREA: LOADA")); //$NON-NLS-1$
+		SpecificationGraphExecutor graphExecutor = new SpecificationGraphExecutor(plan, executor, true, logger);
+
+		int exitValue = graphExecutor.execute(specification -> {
+			throw new IOException("Launch failed"); //$NON-NLS-1$
+		});
+
+		assertEquals(SpecificationGraphExecutor.EXCEPTION_EXIT_VALUE, exitValue);
+		assertEquals(SpecificationStatus.FAILED, graphExecutor.getStatuses().get(EXTRACT_A));
+		assertEquals(SpecificationStatus.SKIPPED, graphExecutor.getStatuses().get(LOAD_A));
+		assertEquals(SpecificationStatus.SKIPPED, graphExecutor.getStatuses().get(COMPARE_A));
+	}
+
+}
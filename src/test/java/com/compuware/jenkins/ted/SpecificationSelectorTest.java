@@ -0,0 +1,138 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class SpecificationSelectorTest {
+
+	private static final String REPOSITORY = "REPO"; //$NON-NLS-1$
+	private static final AtomicInteger SCOPES = new AtomicInteger();
+
+	private final PrintStream logger = new PrintStream(new ByteArrayOutputStream(), true);
+
+	/**
+	 * A source listing CUST_A and CUST_B as extracts, CUST_A and ORDERS as compares, with CUST_A compare and ORDERS
+	 * compare tagged nightly. Every test gets a scope of its own, as the catalog caches the listings.
+	 */
+	private static ISpecificationSource newSource() {
+		String scope = "test" + SCOPES.incrementAndGet(); //$NON-NLS-1$
+		return new ISpecificationSource() {
+			@Override
+			public String getScope() {
+				return scope;
+			}
+
+			@Override
+			public SpecificationListing list(String repositoryName, String revision) {
+				Map<SpecificationType, SortedSet<String>> specifications = new EnumMap<>(SpecificationType.class);
+				specifications.put(SpecificationType.EXTRACT, new TreeSet<>(Arrays.asList("CUST_A", "CUST_B"))); //$NON-NLS-1$ //$NON-NLS-2$
+				specifications.put(SpecificationType.COMPARE, new TreeSet<>(Arrays.asList("CUST_A", "ORDERS"))); //$NON-NLS-1$ //$NON-NLS-2$
+				Map<String, List<Specification>> tagged = new HashMap<>();
+				tagged.put("Nightly", Arrays.asList(new Specification("CUST_A", SpecificationType.COMPARE), //$NON-NLS-1$ //$NON-NLS-2$
+						new Specification("ORDERS", SpecificationType.COMPARE))); //$NON-NLS-1$
+				return new SpecificationListing(repositoryName, "1", specifications, tagged); //$NON-NLS-1$
+			}
+		};
+	}
+
+	private List<Specification> select(String selection) throws Exception {
+		return new SpecificationSelector(REPOSITORY, newSource()).select(selection, logger);
+	}
+
+	@Test
+	public void keepsLiteralNames() throws Exception {
+		assertEquals(Arrays.asList(new Specification("ANY", SpecificationType.LOAD)), select("ANY Load")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse(SpecificationSelector.requiresListing("ANY Load OTHER Extract")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void expandsWildcards() throws Exception {
+		assertEquals(Arrays.asList(new Specification("CUST_A", SpecificationType.EXTRACT), new Specification("CUST_B", SpecificationType.EXTRACT)), //$NON-NLS-1$ //$NON-NLS-2$
+				select("cust_* Extract")); //$NON-NLS-1$
+		assertEquals(3, select("CUST_? *").size()); //$NON-NLS-1$
+		assertEquals(Arrays.asList(new Specification("ORDERS", SpecificationType.COMPARE)), select("*DER? Compare")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(SpecificationSelector.requiresListing("CUST_* Extract")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void selectsTags() throws Exception {
+		assertEquals(Arrays.asList(new Specification("CUST_A", SpecificationType.COMPARE), new Specification("ORDERS", SpecificationType.COMPARE)), //$NON-NLS-1$ //$NON-NLS-2$
+				select("tag:nightly *")); //$NON-NLS-1$
+		assertTrue(SpecificationSelector.requiresListing("tag:nightly Compare")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void removesDuplicates() throws Exception {
+		assertEquals(Arrays.asList(new Specification("CUST_A", SpecificationType.COMPARE), new Specification("ORDERS", SpecificationType.COMPARE)), //$NON-NLS-1$ //$NON-NLS-2$
+				select("CUST_A Compare tag:nightly Compare")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void rejectsSelectionsWithoutMatch() throws Exception {
+		for (String selection : Arrays.asList("NONE_* Extract", "tag:weekly *", "CUST_A *", "CUST_A", "CUST_A Unknown")) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+			try {
+				select(selection);
+				fail("Selected " + selection); //$NON-NLS-1$
+			} catch (IllegalArgumentException e) {
+				// expected
+			}
+		}
+	}
+
+	@Test
+	public void keepsLiteralNamesWhenListingIsUnsupported() throws Exception {
+		ISpecificationSource unsupported = new ISpecificationSource() {
+			@Override
+			public String getScope() {
+				return "unsupported" + SCOPES.incrementAndGet(); //$NON-NLS-1$
+			}
+
+			@Override
+			public SpecificationListing list(String repositoryName, String revision) throws ListingUnsupportedException {
+				throw new ListingUnsupportedException("no list command"); //$NON-NLS-1$
+			}
+		};
+		SpecificationSelector selector = new SpecificationSelector(REPOSITORY, unsupported);
+
+		assertEquals(Collections.singletonList(new Specification("ANY", SpecificationType.LOAD)), selector.select("ANY Load", logger)); //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			selector.select("CUST_* Extract", logger); //$NON-NLS-1$
+			fail("Expanded a pattern without a listing"); //$NON-NLS-1$
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+}
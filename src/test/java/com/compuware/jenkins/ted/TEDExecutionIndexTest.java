@@ -0,0 +1,132 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+
+public class TEDExecutionIndexTest {
+
+	private final File directory = createDirectory();
+
+	private final File file = new File(directory, TEDExecutionIndex.INDEX_FILE);
+
+	@After
+	public void delete() {
+		file.delete();
+		directory.delete();
+	}
+
+	private static File createDirectory() {
+		try {
+			return Files.createTempDirectory("ted-index").toFile(); //$NON-NLS-1$
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static JSONObject newEntry(int build, String... names) {
+		JSONArray specifications = new JSONArray();
+		for (String name : names) {
+			JSONObject specification = new JSONObject();
+			specification.element("name", name); //$NON-NLS-1$
+			specification.element("type", SpecificationType.EXTRACT.getValue()); //$NON-NLS-1$
+			specification.element("build", build); //$NON-NLS-1$
+			specifications.add(specification);
+		}
+
+		JSONObject entry = new JSONObject();
+		entry.element("build", build); //$NON-NLS-1$
+		entry.element("specifications", specifications); //$NON-NLS-1$
+		return entry;
+	}
+
+	@Test
+	public void appendsEntries() throws IOException {
+		TEDExecutionIndex.append(file, newEntry(1, "EXTRACTA")); //$NON-NLS-1$
+		TEDExecutionIndex.append(file, newEntry(2, "EXTRACTA")); //$NON-NLS-1$
+
+		List<JSONObject> entries = TEDExecutionIndex.read(file);
+		assertEquals(2, entries.size());
+		assertEquals(1, entries.get(0).getInt("build")); //$NON-NLS-1$
+		assertEquals(2, entries.get(1).getInt("build")); //$NON-NLS-1$
+		assertEquals(2, Files.readAllLines(file.toPath(), StandardCharsets.UTF_8).size());
+	}
+
+	@Test
+	public void rotatesAtMaxEntries() throws IOException {
+		int builds = TEDExecutionIndex.MAX_ENTRIES + 10;
+		for (int build = 1; build <= builds; build++) {
+			TEDExecutionIndex.append(file, newEntry(build, "EXTRACTA")); //$NON-NLS-1$
+		}
+
+		List<JSONObject> entries = TEDExecutionIndex.read(file);
+		assertEquals(TEDExecutionIndex.MAX_ENTRIES, entries.size());
+		assertEquals(11, entries.get(0).getInt("build")); //$NON-NLS-1$
+		assertEquals(builds, entries.get(entries.size() - 1).getInt("build")); //$NON-NLS-1$
+
+		List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+		assertEquals(TEDExecutionIndex.MAX_ENTRIES, lines.size());
+		assertEquals(11, JSONObject.fromObject(lines.get(0)).getInt("build")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void readsEntriesWrittenByOthers() throws IOException {
+		TEDExecutionIndex.append(file, newEntry(1, "EXTRACTA")); //$NON-NLS-1$
+		assertEquals(1, TEDExecutionIndex.read(file).size());
+
+		Files.write(file.toPath(), Collections.singletonList(newEntry(2, "EXTRACTA").toString()), StandardCharsets.UTF_8, //$NON-NLS-1$
+				StandardOpenOption.APPEND);
+		assertEquals(2, TEDExecutionIndex.read(file).size());
+	}
+
+	@Test
+	public void returnsTheLatestHistoryFirst() throws IOException {
+		TEDExecutionIndex.append(file, newEntry(1, "EXTRACTA", "EXTRACTB")); //$NON-NLS-1$ //$NON-NLS-2$
+		TEDExecutionIndex.append(file, newEntry(2, "EXTRACTB")); //$NON-NLS-1$
+		TEDExecutionIndex.append(file, newEntry(3, "EXTRACTA")); //$NON-NLS-1$
+		TEDExecutionIndex.append(file, newEntry(4, "EXTRACTA")); //$NON-NLS-1$
+
+		List<JSONObject> history = TEDExecutionIndex.getHistory(file, "EXTRACTA", SpecificationType.EXTRACT, 10); //$NON-NLS-1$
+		assertEquals(3, history.size());
+		assertEquals(4, history.get(0).getInt("build")); //$NON-NLS-1$
+		assertEquals(3, history.get(1).getInt("build")); //$NON-NLS-1$
+		assertEquals(1, history.get(2).getInt("build")); //$NON-NLS-1$
+
+		history = TEDExecutionIndex.getHistory(file, "EXTRACTA", SpecificationType.EXTRACT, 2); //$NON-NLS-1$
+		assertEquals(2, history.size());
+		assertEquals(3, history.get(1).getInt("build")); //$NON-NLS-1$
+
+		assertEquals(0, TEDExecutionIndex.getHistory(file, "EXTRACTA", SpecificationType.LOAD, 10).size()); //$NON-NLS-1$
+		assertEquals(0, TEDExecutionIndex.getHistory(new File(directory, "missing.jsonl"), "EXTRACTA", SpecificationType.EXTRACT, 10) //$NON-NLS-1$ //$NON-NLS-2$
+				.size());
+	}
+
+}
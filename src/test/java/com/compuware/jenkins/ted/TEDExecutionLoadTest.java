@@ -0,0 +1,283 @@
+/**
+ * The MIT License (MIT)
+ * 
+ * (c) Copyright 2022 BMC Software, Inc.
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.ted;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import hudson.FilePath;
+import hudson.Util;
+import hudson.model.Computer;
+import hudson.model.Executor;
+import hudson.model.FreeStyleBuild;
+import hudson.model.FreeStyleProject;
+import hudson.model.Label;
+import hudson.model.Queue;
+import hudson.model.Result;
+import hudson.model.queue.QueueTaskFuture;
+import hudson.slaves.DumbSlave;
+import hudson.slaves.EnvironmentVariablesNodeProperty;
+
+/**
+ * Drives concurrent builds through the plugin against a stand-in for the CLI, <code>fake-cli/TedCLI.sh</code> or
+ * <code>TedCLI.bat</code>, and reports the controller CPU, the log throughput from the agents and the executor use in
+ * <code>target/ted-load-test.txt</code>. When the CLI executions exit with 0 and do not hang, every build has to
+ * succeed with the output of its execution in its log.
+ * <p>
+ * Skipped unless run with <code>-Dted.loadTest=true</code>, for instance:
+ * 
+ * <pre>
+ * mvn test -Dtest=TEDExecutionLoadTest -Dted.loadTest=true -Dted.loadTest.builds=500 -Dted.loadTest.latency=5
+ * </pre>
+ * 
+ * The load is set with the system properties:
+ * <ul>
+ * <li><code>ted.loadTest.builds</code>: the number of concurrent builds (200)</li>
+ * <li><code>ted.loadTest.agents</code>: the number of agents the builds run on (4)</li>
+ * <li><code>ted.loadTest.executors</code>: the number of executors per agent (50)</li>
+ * <li><code>ted.loadTest.latency</code>: the seconds each CLI execution takes (1)</li>
+ * <li><code>ted.loadTest.outputLines</code>: the lines of output of each CLI execution (100)</li>
+ * <li><code>ted.loadTest.exitCode</code>: the exit code of the CLI executions (0)</li>
+ * <li><code>ted.loadTest.hang</code>: <code>true</code> for CLI executions that never exit (false)</li>
+ * <li><code>ted.loadTest.timeout</code>: the minutes to wait for the builds before aborting them (30)</li>
+ * </ul>
+ */
+public class TEDExecutionLoadTest {
+
+	private static final String PROPERTY = "ted.loadTest"; //$NON-NLS-1$
+	private static final String CLI_VERSION = "20.09.03"; //$NON-NLS-1$
+	private static final String LABEL = "ted-load"; //$NON-NLS-1$
+	private static final String COMPLETE = "Execution complete"; //$NON-NLS-1$
+	private static final File REPORT = new File("target", "ted-load-test.txt"); //$NON-NLS-1$ //$NON-NLS-2$
+
+	@Rule
+	public JenkinsRule j = new JenkinsRule();
+
+	@Rule
+	public TemporaryFolder tmp = new TemporaryFolder();
+
+	{
+		// the builds are bounded by ted.loadTest.timeout
+		j.timeout = 0;
+	}
+
+	@Test
+	public void concurrentBuilds() throws Exception {
+		Assume.assumeTrue("Run with -D" + PROPERTY + "=true", Boolean.getBoolean(PROPERTY)); //$NON-NLS-1$ //$NON-NLS-2$
+
+		int builds = Integer.getInteger(PROPERTY + ".builds", 200); //$NON-NLS-1$
+		int agents = Integer.getInteger(PROPERTY + ".agents", 4); //$NON-NLS-1$
+		int executors = Integer.getInteger(PROPERTY + ".executors", 50); //$NON-NLS-1$
+		long timeout = Long.getLong(PROPERTY + ".timeout", 30); //$NON-NLS-1$
+		boolean expectSuccess = "0".equals(System.getProperty(PROPERTY + ".exitCode", "0")) //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				&& !Boolean.getBoolean(PROPERTY + ".hang"); //$NON-NLS-1$
+
+		installFakeCLI();
+		j.jenkins.getGlobalNodeProperties().add(new EnvironmentVariablesNodeProperty(
+				new EnvironmentVariablesNodeProperty.Entry("TED_FAKE_LATENCY", System.getProperty(PROPERTY + ".latency", "1")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				new EnvironmentVariablesNodeProperty.Entry("TED_FAKE_OUTPUT_LINES", System.getProperty(PROPERTY + ".outputLines", "100")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				new EnvironmentVariablesNodeProperty.Entry("TED_FAKE_EXIT_CODE", System.getProperty(PROPERTY + ".exitCode", "0")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				new EnvironmentVariablesNodeProperty.Entry("TED_FAKE_HANG", System.getProperty(PROPERTY + ".hang", "false")))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+		List<DumbSlave> nodes = new ArrayList<>();
+		for (int i = 0; i < agents; i++) {
+			DumbSlave agent = j.createSlave(Label.get(LABEL));
+			agent.setNumExecutors(executors);
+			j.jenkins.updateNode(agent);
+			nodes.add(agent);
+		}
+		for (DumbSlave agent : nodes) {
+			j.waitOnline(agent);
+		}
+
+		List<FreeStyleProject> projects = new ArrayList<>();
+		for (int i = 0; i < builds; i++) {
+			FreeStyleProject project = j.createFreeStyleProject("ted-load-" + i); //$NON-NLS-1$
+			project.setAssignedLabel(Label.get(LABEL));
+			project.getBuildersList().add(newBuilder("LOAD" + i)); //$NON-NLS-1$
+			projects.add(project);
+		}
+
+		AtomicLong samples = new AtomicLong();
+		AtomicLong busySamples = new AtomicLong();
+		ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+		sampler.scheduleAtFixedRate(() -> {
+			for (DumbSlave agent : nodes) {
+				Computer computer = agent.toComputer();
+				if (computer != null) {
+					samples.addAndGet(computer.getNumExecutors());
+					busySamples.addAndGet(computer.countBusy());
+				}
+			}
+		}, 0, 100, TimeUnit.MILLISECONDS);
+
+		long cpuStart = getProcessCpuTime();
+		long start = System.nanoTime();
+		List<QueueTaskFuture<FreeStyleBuild>> futures = new ArrayList<>();
+		for (FreeStyleProject project : projects) {
+			futures.add(project.scheduleBuild2(0));
+		}
+
+		Map<Result, Integer> results = new EnumMap<>(Result.class);
+		int aborted = 0;
+		int cancelled = 0;
+		long logBytes = 0;
+		List<String> failures = new ArrayList<>();
+		long deadline = start + TimeUnit.MINUTES.toNanos(timeout);
+		for (QueueTaskFuture<FreeStyleBuild> future : futures) {
+			FreeStyleBuild build;
+			try {
+				try {
+					build = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+				} catch (TimeoutException e) {
+					aborted += abortBuilds();
+					build = future.get();
+				}
+			} catch (CancellationException e) {
+				cancelled++;
+				continue;
+			}
+			results.merge(build.getResult(), 1, Integer::sum);
+			logBytes += build.getLogFile().length();
+			if (expectSuccess && (build.getResult() != Result.SUCCESS || !JenkinsRule.getLog(build).contains(COMPLETE))) {
+				failures.add(build.getFullDisplayName() + " " + build.getResult()); //$NON-NLS-1$
+			}
+		}
+		long elapsed = System.nanoTime() - start;
+		long cpu = getProcessCpuTime() - cpuStart;
+		sampler.shutdownNow();
+
+		double seconds = elapsed / 1e9;
+		REPORT.getParentFile().mkdirs();
+		try (PrintWriter report = new PrintWriter(Files.newBufferedWriter(REPORT.toPath(), StandardCharsets.UTF_8))) {
+			report.println("Topaz for Enterprise Data load test"); //$NON-NLS-1$
+			report.println(String.format("  builds:            %d on %d agent(s) with %d executor(s) each", builds, agents, executors)); //$NON-NLS-1$
+			report.println(String.format("  results:           %s, %d aborted and %d cancelled after %d minute(s)", results, aborted, cancelled, timeout)); //$NON-NLS-1$
+			report.println(String.format("  elapsed:           %.1f s, %.2f builds/s", seconds, builds / seconds)); //$NON-NLS-1$
+			report.println(String.format("  controller CPU:    %.1f s, %.0f%% of one core", cpu / 1e9, cpu / (double) elapsed * 100)); //$NON-NLS-1$
+			report.println(String.format("  log throughput:    %.1f KB/s, %d KB in total", logBytes / 1024.0 / seconds, logBytes / 1024)); //$NON-NLS-1$
+			report.println(String.format("  executor use:      %.0f%%", samples.get() > 0 ? busySamples.get() * 100.0 / samples.get() : 0.0)); //$NON-NLS-1$
+			for (String failure : failures) {
+				report.println("  failed:            " + failure); //$NON-NLS-1$
+			}
+		}
+
+		assertEquals(builds, cancelled + results.values().stream().mapToInt(Integer::intValue).sum());
+		if (expectSuccess) {
+			assertEquals("cancelled builds", 0, cancelled); //$NON-NLS-1$
+			assertTrue("Builds without a successful execution, see " + REPORT + ": " + failures, failures.isEmpty()); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/**
+	 * Packs the stand-in for the CLI into an archive and configures it as the CLI installation, so it is installed on
+	 * the agents by <code>TEDCLIInstaller</code>.
+	 */
+	private void installFakeCLI() throws Exception {
+		FilePath cli = new FilePath(tmp.newFolder("fake-cli")); //$NON-NLS-1$
+		new FilePath(new File(getClass().getResource("fake-cli").toURI())).copyRecursiveTo(cli); //$NON-NLS-1$
+		// the test resources lose the executable bit when copied by the build
+		cli.child("TedCLI.sh").chmod(0755); //$NON-NLS-1$
+
+		File archive = new File(tmp.getRoot(), "ted-cli.tar.gz"); //$NON-NLS-1$
+		try (OutputStream out = new GZIPOutputStream(new FileOutputStream(archive))) {
+			cli.tar(out, "**"); //$NON-NLS-1$
+		}
+
+		MessageDigest digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		try (InputStream in = new DigestInputStream(Files.newInputStream(archive.toPath()), digest)) {
+			byte[] buffer = new byte[8192];
+			while (in.read(buffer) >= 0) {
+				// digested while read
+			}
+		}
+
+		TEDGlobalConfiguration.get().setCliInstallations(Collections.singletonList(
+				new TEDCLIInstallation(CLI_VERSION, archive.getAbsolutePath(), Util.toHexString(digest.digest()))));
+	}
+
+	private static TEDExecutionBuilder newBuilder(String specificationName) {
+		return new TEDExecutionBuilder("LOADTEST", "LOADTEST", //$NON-NLS-1$ //$NON-NLS-2$
+				TEDExecutionBuilder.DescriptorImpl.selectSingleSpecExecutionValue, specificationName, SpecificationType.EXTRACT.getValue(),
+				null, false,
+				null, null,
+				false, null, false, null, null,
+				false, null, null,
+				false, null, null,
+				false, null, false, null,
+				false, null, null, null, null, null,
+				false, null, null, null,
+				false, null, null, null, null, null,
+				true);
+	}
+
+	/**
+	 * Cancels the queued builds and aborts the running ones, returning the number of builds aborted.
+	 */
+	private int abortBuilds() {
+		Queue queue = j.jenkins.getQueue();
+		for (Queue.Item item : queue.getItems()) {
+			queue.cancel(item);
+		}
+
+		int aborted = 0;
+		for (Computer computer : j.jenkins.getComputers()) {
+			for (Executor executor : computer.getExecutors()) {
+				if (executor.isBusy()) {
+					executor.interrupt(Result.ABORTED);
+					aborted++;
+				}
+			}
+		}
+		return aborted;
+	}
+
+	private static long getProcessCpuTime() {
+		// the agents are separate processes, so this is the CPU used by the controller
+		return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean()).getProcessCpuTime();
+	}
+
+}
@@ -0,0 +1,30 @@
+@echo off
+rem
+rem Stands in for the Topaz for Enterprise Data CLI in TEDExecutionLoadTest, without a mainframe.
+rem
+rem   TED_FAKE_LATENCY       seconds the execution takes (default 1)
+rem   TED_FAKE_OUTPUT_LINES  lines of output written during the execution (default 100)
+rem   TED_FAKE_EXIT_CODE     exit code of the execution (default 0)
+rem   TED_FAKE_HANG          true to never exit, like an execution waiting on the host
+rem
+setlocal
+if "%TED_FAKE_OUTPUT_LINES%"=="" set TED_FAKE_OUTPUT_LINES=100
+if "%TED_FAKE_LATENCY%"=="" set TED_FAKE_LATENCY=1
+if "%TED_FAKE_EXIT_CODE%"=="" set TED_FAKE_EXIT_CODE=0
+set /a HALF=TED_FAKE_OUTPUT_LINES / 2
+set /a NEXT=HALF + 1
+set /a PINGS=TED_FAKE_LATENCY + 1
+
+echo Topaz for Enterprise Data CLI stand-in, arguments: %*
+for /L %%i in (1,1,%HALF%) do echo Step %%i of %TED_FAKE_OUTPUT_LINES%: processing
+ping -n %PINGS% 127.0.0.1 > nul
+for /L %%i in (%NEXT%,1,%TED_FAKE_OUTPUT_LINES%) do echo Step %%i of %TED_FAKE_OUTPUT_LINES%: processing
+
+if /I not "%TED_FAKE_HANG%"=="true" goto done
+:hang
+ping -n 61 127.0.0.1 > nul
+goto hang
+
+:done
+echo Execution complete: %TED_FAKE_OUTPUT_LINES% records read, %TED_FAKE_OUTPUT_LINES% records written
+exit /b %TED_FAKE_EXIT_CODE%
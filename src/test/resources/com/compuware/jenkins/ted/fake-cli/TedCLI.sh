@@ -0,0 +1,33 @@
+#!/bin/sh
+#
+# Stands in for the Topaz for Enterprise Data CLI in TEDExecutionLoadTest, without a mainframe.
+#
+#   TED_FAKE_LATENCY       seconds the execution takes (default 1)
+#   TED_FAKE_OUTPUT_LINES  lines of output written during the execution (default 100)
+#   TED_FAKE_EXIT_CODE     exit code of the execution (default 0)
+#   TED_FAKE_HANG          true to never exit, like an execution waiting on the host
+#
+lines=${TED_FAKE_OUTPUT_LINES:-100}
+latency=${TED_FAKE_LATENCY:-1}
+half=$((lines / 2))
+
+echo "Topaz for Enterprise Data CLI stand-in, arguments: $*"
+i=1
+while [ $i -le $half ]; do
+	echo "Step $i of $lines: processing"
+	i=$((i + 1))
+done
+sleep "$latency"
+while [ $i -le $lines ]; do
+	echo "Step $i of $lines: processing"
+	i=$((i + 1))
+done
+
+if [ "$TED_FAKE_HANG" = "true" ]; then
+	while :; do
+		sleep 60
+	done
+fi
+
+echo "Execution complete: $lines records read, $lines records written"
+exit "${TED_FAKE_EXIT_CODE:-0}"